@@ -0,0 +1,76 @@
+package net.jbock.examples;
+
+import net.jbock.util.LazyExpansion;
+import net.jbock.util.ParseRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.jbock.examples.Inputs.repeat;
+
+/**
+ * Compares the byte-level tokenizer of {@link ParseRequest#expand()}
+ * with the reader-based tokenizer of {@link ParseRequest#expandLazily()},
+ * on an {@code @-file} that contains one ASCII path per line.
+ * In the {@code quoted} style, every path contains a space and is quoted.
+ * The {@code readBytes} benchmark is the cost of the I/O alone.
+ */
+@State(Scope.Benchmark)
+public class AtFileDecodingBenchmark {
+
+    @Param({"100000"})
+    public int lines;
+
+    @Param({"plain", "quoted"})
+    public String style;
+
+    private Path atFile;
+
+    private String[] args;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        atFile = Files.createTempFile("jbock-benchmark", ".args");
+        boolean quoted = style.equals("quoted");
+        Files.write(atFile, repeat(lines, i -> quoted ?
+                "'/data/" + (i % 100) + "/my file-" + i + ".txt'" :
+                "/data/" + (i % 100) + "/file-" + i + ".txt"));
+        args = new String[]{"@" + atFile};
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(atFile);
+    }
+
+    @Benchmark
+    public List<String> bytes() {
+        return ParseRequest.from(args).expand().getRight().orElseThrow();
+    }
+
+    @Benchmark
+    public List<String> chars() {
+        List<String> result = new ArrayList<>();
+        try (LazyExpansion tokens = ParseRequest.from(args).expandLazily()) {
+            while (tokens.hasNext()) {
+                result.add(tokens.next());
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] readBytes() throws IOException {
+        return Files.readAllBytes(atFile);
+    }
+}
@@ -0,0 +1,86 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.LazyExpansion;
+import net.jbock.util.ParseRequest;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static net.jbock.examples.Inputs.repeat;
+
+/**
+ * Compares eager, parallel and lazy {@code @-file} expansion of a file
+ * that contains one path per line.
+ * The {@code count} benchmarks only consume the tokens,
+ * the {@code parse} benchmarks also collect them into the command.
+ */
+@State(Scope.Benchmark)
+public class AtFileExpansionBenchmark {
+
+    @Param({"1000", "100000"})
+    public int lines;
+
+    private final AtFileArgumentsParser parser = new AtFileArgumentsParser();
+
+    private Path atFile;
+
+    private String[] args;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        atFile = Files.createTempFile("jbock-benchmark", ".args");
+        Files.write(atFile, repeat(lines, i -> "/data/" + (i % 100) + "/file-" + i + ".txt"));
+        args = new String[]{"@" + atFile, "-v"};
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(atFile);
+    }
+
+    @Benchmark
+    public int countEager() {
+        return ParseRequest.from(args).expand().getRight().orElseThrow().size();
+    }
+
+    @Benchmark
+    public int countParallel() {
+        return ParseRequest.from(args).expandParallel().getRight().orElseThrow().size();
+    }
+
+    @Benchmark
+    public int countLazy() {
+        int count = 0;
+        try (LazyExpansion tokens = ParseRequest.from(args).expandLazily()) {
+            while (tokens.hasNext()) {
+                tokens.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, AtFileArguments> parseEager() {
+        List<String> tokens = ParseRequest.from(args).expand().getRight().orElseThrow();
+        return parser.parse(tokens);
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, AtFileArguments> parseLazy() {
+        try (LazyExpansion tokens = ParseRequest.from(args).expandLazily()) {
+            return tokens.finish(parser.parse(tokens), parser::createModel);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package net.jbock.examples;
+
+import net.jbock.contrib.CachingConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.regex.Pattern;
+
+/**
+ * Measures cache hits of a {@link CachingConverter},
+ * with a single thread and under contention.
+ */
+@State(Scope.Benchmark)
+public class CachingConverterBenchmark {
+
+    private static final String[] TOKENS = {"a+b", "[0-9]+", "x*y?z", "(foo|bar)"};
+
+    private final CachingConverter<Pattern> converter = CachingConverter.create(Pattern::compile, 16);
+
+    private int next;
+
+    @Benchmark
+    public Pattern hit() {
+        return convert();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Pattern hitContended() {
+        return convert();
+    }
+
+    private Pattern convert() {
+        String token = TOKENS[next++ & 3]; // racy counter, any token will do
+        return converter.apply(token).getRight().orElseThrow();
+    }
+}
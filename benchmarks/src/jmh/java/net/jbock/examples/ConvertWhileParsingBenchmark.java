@@ -0,0 +1,53 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.concat;
+import static net.jbock.examples.Inputs.repeat;
+import static net.jbock.examples.Inputs.repeatOption;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Compares the generic two-pass parser with a parser that converts
+ * while parsing, on a long command line of integers.
+ * In the {@code earlyFailure} input, the first option argument is invalid.
+ */
+@State(Scope.Benchmark)
+public class ConvertWhileParsingBenchmark {
+
+    @Param({"valid", "earlyFailure"})
+    public String input;
+
+    private final AllIntegersArgumentsParser parser = new AllIntegersArgumentsParser();
+
+    private final ConvertingIntegersArgumentsParser convertingParser = new ConvertingIntegersArgumentsParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        String first = "valid".equals(input) ? "--obj=1" : "--obj=x";
+        tokens = concat(concat(
+                        tokens(first, "--prim=2", "--opti=3"),
+                        repeatOption(500, "-i", Integer::toString)),
+                repeat(500, Integer::toString));
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, AllIntegersArguments> parse() {
+        return parser.parse(tokens);
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, ConvertingIntegersArguments> parseConverting() {
+        return convertingParser.parse(tokens);
+    }
+}
@@ -0,0 +1,24 @@
+package net.jbock.examples;
+
+import net.jbock.contrib.StandardConverters;
+import net.jbock.util.StringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures lookups of a standard converter,
+ * with a single thread and under contention.
+ */
+public class ConverterLookupBenchmark {
+
+    @Benchmark
+    public StringConverter<Integer> asInteger() {
+        return StandardConverters.asInteger();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public StringConverter<Integer> asIntegerContended() {
+        return StandardConverters.asInteger();
+    }
+}
@@ -0,0 +1,62 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.REALISTIC;
+import static net.jbock.examples.Inputs.WORST_CASE;
+import static net.jbock.examples.Inputs.concat;
+import static net.jbock.examples.Inputs.repeat;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Parse throughput of a command with a varargs parameter and
+ * a repeatable option.
+ * The worst case consists mostly of {@code --name=value} tokens.
+ * The {@code parseSpecialized} benchmark uses a copy of the command
+ * with a specialized parser.
+ */
+@State(Scope.Benchmark)
+public class CurlArgumentsBenchmark {
+
+    @Param({REALISTIC, WORST_CASE})
+    public String input;
+
+    private final CurlArgumentsParser parser = new CurlArgumentsParser();
+
+    private final SpecializedCurlArgumentsParser specializedParser = new SpecializedCurlArgumentsParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        if (REALISTIC.equals(input)) {
+            tokens = tokens("-v", "-X", "POST",
+                    "-H", "Content-Type: application/json",
+                    "-H", "Accept: application/json",
+                    "https://example.com/api/v1/items");
+        } else {
+            tokens = concat(concat(
+                            tokens("-vi", "--request=PUT"),
+                            repeat(500, i -> "--header=X-Header-" + i + ": value-" + i)),
+                    repeat(500, i -> "https://example.com/api/v1/items/" + i));
+        }
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, CurlArguments> parse() {
+        return parser.parse(tokens);
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, SpecializedCurlArguments> parseSpecialized() {
+        return specializedParser.parse(tokens);
+    }
+}
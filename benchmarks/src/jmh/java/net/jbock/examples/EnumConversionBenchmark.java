@@ -0,0 +1,30 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.contrib.EnumConverter;
+import net.jbock.util.ConverterFailure;
+import net.jbock.util.StringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of an enum constant by its exact name,
+ * and in lower case.
+ */
+@State(Scope.Benchmark)
+public class EnumConversionBenchmark {
+
+    @Param({"MILLISECONDS", "milliseconds"})
+    public String token;
+
+    private final StringConverter<TimeUnit> converter = EnumConverter.create(TimeUnit.values());
+
+    @Benchmark
+    public Either<ConverterFailure, TimeUnit> convert() {
+        return converter.apply(token);
+    }
+}
@@ -0,0 +1,92 @@
+package net.jbock.examples;
+
+import net.jbock.contrib.StandardConverters;
+import net.jbock.model.ItemType;
+import net.jbock.parse.ParseSupport;
+import net.jbock.util.ExConvert;
+import net.jbock.util.StringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compares the existence check of the tokens of a repeatable {@code File} item,
+ * one token at a time or all tokens together,
+ * on a synthetic tree in a temporary directory.
+ * The {@code legacy} benchmark is the converter that was used
+ * before the batch check was added.
+ */
+@State(Scope.Benchmark)
+public class ExistingFilesBenchmark {
+
+    @Param({"1000", "50000"})
+    public int files;
+
+    @Param({"10", "1000"})
+    public int filesPerDirectory;
+
+    private final StringConverter<File> legacyConverter = StringConverter.create(token -> {
+        File file = Paths.get(token).toFile();
+        if (!file.exists()) {
+            throw new IllegalStateException("Path does not exist: " + token);
+        }
+        return file;
+    });
+
+    private final StringConverter<File> converter = StandardConverters.asExistingFile();
+
+    private Path root;
+
+    private List<String> tokens;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("jbock-benchmark");
+        tokens = new ArrayList<>(files);
+        for (int i = 0; i < files; i++) {
+            Path directory = root.resolve("d" + (i / filesPerDirectory));
+            if (i % filesPerDirectory == 0) {
+                Files.createDirectory(directory);
+            }
+            tokens.add(Files.createFile(directory.resolve("file-" + i + ".txt")).toString());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<File> legacy() throws ExConvert {
+        return ParseSupport.convertAll(legacyConverter, tokens, ItemType.PARAMETER, 0);
+    }
+
+    @Benchmark
+    public List<File> perToken() throws ExConvert {
+        return ParseSupport.convertAll(converter, tokens, ItemType.PARAMETER, 0);
+    }
+
+    @Benchmark
+    public List<File> batch() throws ExConvert {
+        return ParseSupport.convertAllExistingFiles(tokens, ItemType.PARAMETER, 0);
+    }
+}
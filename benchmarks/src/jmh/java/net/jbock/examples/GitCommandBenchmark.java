@@ -0,0 +1,53 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.REALISTIC;
+import static net.jbock.examples.Inputs.WORST_CASE;
+import static net.jbock.examples.Inputs.concat;
+import static net.jbock.examples.Inputs.repeat;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Parse throughput of a super command, followed by its subcommand.
+ * The worst case passes many paths to the subcommand.
+ */
+@State(Scope.Benchmark)
+public class GitCommandBenchmark {
+
+    @Param({REALISTIC, WORST_CASE})
+    public String input;
+
+    private final GitCommandParser gitParser = new GitCommandParser();
+    private final GitCommand_AddCommandParser addParser = new GitCommand_AddCommandParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        if (REALISTIC.equals(input)) {
+            tokens = tokens("add", "src/main/java/Foo.java", "README.md");
+        } else {
+            tokens = concat(tokens("add"), repeat(1000, i -> "src/main/java/net/jbock/Foo" + i + ".java"));
+        }
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, GitCommand> parseSuperCommand() {
+        return gitParser.parse(tokens);
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, GitCommand.AddCommand> parseSubcommand() {
+        return gitParser.parse(tokens)
+                .flatMap(git -> addParser.parse(git.rest()));
+    }
+}
@@ -0,0 +1,52 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.REALISTIC;
+import static net.jbock.examples.Inputs.WORST_CASE;
+import static net.jbock.examples.Inputs.concat;
+import static net.jbock.examples.Inputs.repeat;
+import static net.jbock.examples.Inputs.repeatOption;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Parse throughput of a command with every kind of item:
+ * optional, repeatable and nullary options, a positional parameter,
+ * and a varargs parameter.
+ */
+@State(Scope.Benchmark)
+public class GradleArgumentsBenchmark {
+
+    @Param({REALISTIC, WORST_CASE})
+    public String input;
+
+    private final GradleArgumentsParser parser = new GradleArgumentsParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        if (REALISTIC.equals(input)) {
+            tokens = tokens("-cv", "--message=hello", "-f", "build.gradle", "--dir", "src", "build", "test");
+        } else {
+            tokens = concat(concat(concat(
+                                    tokens("-c", "--verbose", "--message", "hello", "--dir=src"),
+                                    repeatOption(500, "-f", i -> "file" + i + ".gradle")),
+                            tokens("assemble", "--")),
+                    repeat(500, i -> "-task" + i));
+        }
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, GradleArguments> parse() {
+        return parser.parse(tokens);
+    }
+}
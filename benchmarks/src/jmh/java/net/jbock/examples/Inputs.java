@@ -0,0 +1,46 @@
+package net.jbock.examples;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Helpers for building the token lists of the benchmarks.
+ */
+final class Inputs {
+
+    static final String REALISTIC = "realistic";
+    static final String WORST_CASE = "worstCase";
+
+    static List<String> tokens(String... tokens) {
+        return List.of(tokens);
+    }
+
+    static List<String> concat(List<String> head, List<String> tail) {
+        List<String> result = new ArrayList<>(head.size() + tail.size());
+        result.addAll(head);
+        result.addAll(tail);
+        return List.copyOf(result);
+    }
+
+    static List<String> repeat(int count, IntFunction<String> token) {
+        String[] result = new String[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = token.apply(i);
+        }
+        return Arrays.asList(result);
+    }
+
+    static List<String> repeatOption(int count, String name, IntFunction<String> argument) {
+        List<String> result = new ArrayList<>(2 * count);
+        for (int i = 0; i < count; i++) {
+            result.add(name);
+            result.add(argument.apply(i));
+        }
+        return result;
+    }
+
+    private Inputs() {
+    }
+}
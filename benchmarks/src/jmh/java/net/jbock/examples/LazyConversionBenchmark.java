@@ -0,0 +1,59 @@
+package net.jbock.examples;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.concat;
+import static net.jbock.examples.Inputs.repeat;
+import static net.jbock.examples.Inputs.repeatOption;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Compares eager conversion with conversion on first access,
+ * on a long command line of integers,
+ * when the program reads only one of the items.
+ * The {@code readAll} benchmarks read all items.
+ */
+@State(Scope.Benchmark)
+public class LazyConversionBenchmark {
+
+    private final AllIntegersArgumentsParser parser = new AllIntegersArgumentsParser();
+
+    private final LazyIntegersArgumentsParser lazyParser = new LazyIntegersArgumentsParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        tokens = concat(concat(
+                        tokens("--obj=1", "--prim=2", "--opti=3"),
+                        repeatOption(500, "-i", Integer::toString)),
+                repeat(500, Integer::toString));
+    }
+
+    @Benchmark
+    public int readOne() {
+        return parser.parse(tokens).getRight().orElseThrow().primitiveInt();
+    }
+
+    @Benchmark
+    public int readOneLazy() {
+        return lazyParser.parse(tokens).getRight().orElseThrow().primitiveInt();
+    }
+
+    @Benchmark
+    public int readAll() {
+        AllIntegersArguments arguments = parser.parse(tokens).getRight().orElseThrow();
+        return arguments.positional().size() + arguments.listOfIntegers().size() + arguments.primitiveInt();
+    }
+
+    @Benchmark
+    public int readAllLazy() {
+        LazyIntegersArguments arguments = lazyParser.parse(tokens).getRight().orElseThrow();
+        return arguments.positional().size() + arguments.listOfIntegers().size() + arguments.primitiveInt();
+    }
+}
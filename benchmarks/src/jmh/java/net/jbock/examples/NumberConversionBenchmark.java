@@ -0,0 +1,36 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.contrib.StandardConverters;
+import net.jbock.util.ConverterFailure;
+import net.jbock.util.StringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the conversion of valid and malformed numeric tokens.
+ * A malformed token should not be much slower than a valid one,
+ * because no exception is thrown.
+ */
+@State(Scope.Benchmark)
+public class NumberConversionBenchmark {
+
+    @Param({"12345", "12a45"})
+    public String token;
+
+    private final StringConverter<Integer> integerConverter = StandardConverters.asInteger();
+
+    private final StringConverter<Double> doubleConverter = StandardConverters.asDouble();
+
+    @Benchmark
+    public Either<ConverterFailure, Integer> integer() {
+        return integerConverter.apply(token);
+    }
+
+    @Benchmark
+    public Either<ConverterFailure, Double> floatingPoint() {
+        return doubleConverter.apply(token);
+    }
+}
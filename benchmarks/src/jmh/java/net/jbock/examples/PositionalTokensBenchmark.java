@@ -0,0 +1,52 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.concat;
+import static net.jbock.examples.Inputs.repeat;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Per-token cost of a large varargs parameter, as in {@code rm -rf FILE...}.
+ * The score is the number of tokens per second.
+ */
+@State(Scope.Benchmark)
+public class PositionalTokensBenchmark {
+
+    private static final int SIZE = 100_000;
+
+    /**
+     * The shape of the file names.
+     * Names that start with a dash must be classified more carefully.
+     */
+    @Param({"path", "dashed"})
+    public String input;
+
+    private final RmArgumentsParser parser = new RmArgumentsParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        if ("path".equals(input)) {
+            tokens = concat(tokens("-rf"), repeat(SIZE, i -> "/var/tmp/job/output/part-" + i + ".dat"));
+        } else {
+            tokens = concat(tokens("-rf"), repeat(SIZE, i -> "-part-" + i + ".dat"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Either<ParsingFailed, RmArguments> parse() {
+        return parser.parse(tokens);
+    }
+}
@@ -0,0 +1,50 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.REALISTIC;
+import static net.jbock.examples.Inputs.WORST_CASE;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Parse throughput of a command where each item is a required
+ * primitive option, so every token goes through a numeric converter.
+ */
+@State(Scope.Benchmark)
+public class PrimitiveArgumentsBenchmark {
+
+    @Param({REALISTIC, WORST_CASE})
+    public String input;
+
+    private final PrimitiveArgumentsParser parser = new PrimitiveArgumentsParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        if (REALISTIC.equals(input)) {
+            tokens = tokens(
+                    "-B1", "-S2", "-I3", "-L4", "-F5", "-D6", "-C7",
+                    "-b1", "-s2", "-i3", "-l4", "-f5", "-d6", "-c7", "-xtrue");
+        } else {
+            tokens = tokens(
+                    "--B=-128", "--S=-32768", "--I=-2147483648", "--L=-9223372036854775808",
+                    "--F=-3.4028235E38", "--D=-1.7976931348623157E308", "--C=Z",
+                    "--b=-128", "--s=-32768", "--i=-2147483648", "--l=-9223372036854775808",
+                    "--f=-3.4028235E38", "--d=-1.7976931348623157E308", "--c=Z", "--x=true");
+        }
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, PrimitiveArguments> parse() {
+        return parser.parse(tokens);
+    }
+}
@@ -0,0 +1,55 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Parse throughput and allocation rate of commands with
+ * {@code int}, {@code OptionalInt} and {@code double} options,
+ * which are converted without boxing.
+ * Compare {@code gc.alloc.rate.norm} of the {@code primitive}
+ * benchmarks with the {@code boxed} benchmarks,
+ * which use the same tokens for the corresponding wrapper types.
+ */
+@State(Scope.Benchmark)
+public class PrimitiveNumbersBenchmark {
+
+    private final AllIntegersArgumentsParser integersParser = new AllIntegersArgumentsParser();
+
+    private final AllDoublesArgumentsParser doublesParser = new AllDoublesArgumentsParser();
+
+    private final List<String> primitiveInts = tokens("--prim=12345", "--opti=-678", "--obj=1");
+
+    private final List<String> boxedInts = tokens("--prim=1", "--obj=12345", "--opt=-678");
+
+    private final List<String> primitiveDoubles = tokens("--prim=1.5e3", "--obj=1");
+
+    private final List<String> boxedDoubles = tokens("--prim=1", "--obj=1.5e3");
+
+    @Benchmark
+    public Either<ParsingFailed, AllIntegersArguments> primitiveInts() {
+        return integersParser.parse(primitiveInts);
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, AllIntegersArguments> boxedInts() {
+        return integersParser.parse(boxedInts);
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, AllDoublesArguments> primitiveDoubles() {
+        return doublesParser.parse(primitiveDoubles);
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, AllDoublesArguments> boxedDoubles() {
+        return doublesParser.parse(boxedDoubles);
+    }
+}
@@ -0,0 +1,56 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.REALISTIC;
+import static net.jbock.examples.Inputs.WORST_CASE;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Parse throughput of a command that consists of mode flags and
+ * a single required option.
+ * The realistic input is a unix cluster, the worst case spells
+ * out every option name in gnu style.
+ * The {@code parseSpecialized} benchmark uses a copy of the command
+ * with a specialized parser.
+ */
+@State(Scope.Benchmark)
+public class TarArgumentsBenchmark {
+
+    @Param({REALISTIC, WORST_CASE})
+    public String input;
+
+    private final TarArgumentsParser parser = new TarArgumentsParser();
+
+    private final SpecializedTarArgumentsParser specializedParser = new SpecializedTarArgumentsParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        if (REALISTIC.equals(input)) {
+            tokens = tokens("-xvzf", "archive.tar.gz");
+        } else {
+            tokens = tokens("--x", "--c", "--v", "--z",
+                    "--file=/var/tmp/backups/2021/12/31/archive-of-everything-" + "0".repeat(200) + ".tar.gz");
+        }
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, TarArguments> parse() {
+        return parser.parse(tokens);
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, SpecializedTarArguments> parseSpecialized() {
+        return specializedParser.parse(tokens);
+    }
+}
@@ -0,0 +1,58 @@
+package net.jbock.examples;
+
+import io.jbock.util.Either;
+import net.jbock.util.ParsingFailed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import static net.jbock.examples.Inputs.REALISTIC;
+import static net.jbock.examples.Inputs.WORST_CASE;
+import static net.jbock.examples.Inputs.concat;
+import static net.jbock.examples.Inputs.repeatOption;
+import static net.jbock.examples.Inputs.tokens;
+
+/**
+ * Parse throughput of a command with many items of different types,
+ * most of which are absent in the realistic input.
+ * The worst case adds long repeatable options.
+ */
+@State(Scope.Benchmark)
+public class VariousArgumentsBenchmark {
+
+    @Param({REALISTIC, WORST_CASE})
+    public String input;
+
+    private final VariousArgumentsParser parser = new VariousArgumentsParser();
+
+    private List<String> tokens;
+
+    @Setup
+    public void setup() {
+        List<String> required = tokens(
+                "--bigDecimal", "3.14159265358979323846264338327950288419716939937510",
+                "--bigInteger", "60221407600000000000000",
+                "--path", "/home",
+                "--localDate", "2001-02-01",
+                "--uri", "http://localhost:8080",
+                "--pattern", "^[abc]*$",
+                "6.02214076e23");
+        if (REALISTIC.equals(input)) {
+            tokens = required;
+        } else {
+            tokens = concat(concat(
+                            required,
+                            repeatOption(200, "--bigIntegerList", Integer::toString)),
+                    repeatOption(200, "--localDateList", i -> "2001-02-" + (10 + i % 18)));
+        }
+    }
+
+    @Benchmark
+    public Either<ParsingFailed, VariousArguments> parse() {
+        return parser.parse(tokens);
+    }
+}
@@ -0,0 +1,164 @@
+package net.jbock.examples;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Measures the startup cost of the example commands.
+ * Each command is run in a fresh JVM via {@link StartupMain}.
+ * The report contains:
+ *
+ * <ul>
+ *   <li>the median wall time from process start until the first
+ *       successful {@code parseOrExit} has returned,</li>
+ *   <li>the number of loaded classes,</li>
+ *   <li>the number of lambda proxy classes, one per lambda or method
+ *       reference that was bootstrapped, and</li>
+ *   <li>the number of other classes that were spun to link
+ *       invokedynamic call sites, like string concatenation.</li>
+ * </ul>
+ *
+ * <p>The process exits with status {@code 1} if a value exceeds
+ * its budget in the budget file.
+ *
+ * <p>Usage: {@code StartupHarness <budget file> [runs]}
+ */
+final class StartupHarness {
+
+    private static final List<String> COMMANDS = List.of(
+            "GitCommand",
+            "CpArguments",
+            "TarArguments",
+            "NoInvokeDynamicArguments");
+
+    private final Path budgetFile;
+    private final Properties budgets;
+    private final int runs;
+    private final List<String> failures = new ArrayList<>();
+
+    private StartupHarness(Path budgetFile, Properties budgets, int runs) {
+        this.budgetFile = budgetFile;
+        this.budgets = budgets;
+        this.runs = runs;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path budgetFile = Path.of(args[0]);
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Properties budgets = new Properties();
+        try (Reader reader = Files.newBufferedReader(budgetFile)) {
+            budgets.load(reader);
+        }
+        StartupHarness harness = new StartupHarness(budgetFile, budgets, runs);
+        System.out.printf("%-24s %10s %8s %8s %8s%n", "command", "millis", "classes", "lambdas", "indy");
+        for (String command : COMMANDS) {
+            harness.measure(command);
+        }
+        if (!harness.failures.isEmpty()) {
+            System.out.println();
+            System.out.println("Startup budget exceeded, see " + budgetFile + ":");
+            harness.failures.forEach(failure -> System.out.println("  " + failure));
+            System.exit(1);
+        }
+    }
+
+    private void measure(String command) throws IOException, InterruptedException {
+        timeToFirstParse(command); // warm up the file system cache
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = timeToFirstParse(command);
+        }
+        Arrays.sort(millis);
+        long median = millis[runs / 2];
+        ClassCounts counts = countClasses(command);
+        System.out.printf("%-24s %10d %8d %8d %8d%n", command,
+                median, counts.classes, counts.lambdas, counts.indy);
+        check(command, "millis", median);
+        check(command, "classes", counts.classes);
+        check(command, "lambdas", counts.lambdas);
+        check(command, "indy", counts.indy);
+    }
+
+    private void check(String command, String metric, long value) {
+        String key = command + "." + metric;
+        String budget = budgets.getProperty(key);
+        if (budget == null) {
+            return;
+        }
+        if (value > Long.parseLong(budget.trim())) {
+            failures.add(key + " = " + value + ", budget " + budget.trim());
+        }
+    }
+
+    private long timeToFirstParse(String command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = startChild(List.of(), command);
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(
+                process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line = out.readLine();
+            long elapsed = System.nanoTime() - start;
+            if (!StartupMain.DONE.equals(line)) {
+                throw new IllegalStateException(command + ": unexpected output: " + line);
+            }
+            awaitSuccess(command, process);
+            return elapsed / 1_000_000;
+        }
+    }
+
+    private ClassCounts countClasses(String command) throws IOException, InterruptedException {
+        Path log = Files.createTempFile("startup-" + command, ".log");
+        try {
+            Process process = startChild(List.of("-Xlog:class+load=info:file=" + log), command);
+            process.getInputStream().transferTo(OutputStream.nullOutputStream());
+            awaitSuccess(command, process);
+            ClassCounts counts = new ClassCounts();
+            for (String line : Files.readAllLines(log)) {
+                counts.classes++;
+                if (line.contains("$$Lambda")) {
+                    counts.lambdas++;
+                } else if (line.contains("LambdaForm$") || line.contains("$Species_")) {
+                    counts.indy++;
+                }
+            }
+            return counts;
+        } finally {
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private static Process startChild(List<String> jvmOptions, String command) throws IOException {
+        List<String> commandLine = new ArrayList<>();
+        commandLine.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        commandLine.addAll(jvmOptions);
+        commandLine.add("-cp");
+        commandLine.add(System.getProperty("java.class.path"));
+        commandLine.add(StartupMain.class.getName());
+        commandLine.add(command);
+        return new ProcessBuilder(commandLine)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    private static void awaitSuccess(String command, Process process) throws InterruptedException {
+        int status = process.waitFor();
+        if (status != 0) {
+            throw new IllegalStateException(command + ": exit status " + status);
+        }
+    }
+
+    private static final class ClassCounts {
+        long classes;
+        long lambdas;
+        long indy;
+    }
+}
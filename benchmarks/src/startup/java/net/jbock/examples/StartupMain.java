@@ -0,0 +1,36 @@
+package net.jbock.examples;
+
+/**
+ * Entry point of the child JVM that is started by {@link StartupHarness}.
+ * It calls {@code parseOrExit} once on a typical input, then prints
+ * {@link #DONE} so the harness can take the time.
+ * This class should not load anything that the command itself
+ * would not load, so it avoids lambdas and string concatenation.
+ */
+final class StartupMain {
+
+    static final String DONE = "done";
+
+    public static void main(String[] args) {
+        Object result;
+        switch (args[0]) {
+            case "GitCommand":
+                result = new GitCommandParser().parseOrExit(new String[]{"add", "-p", "src/main"});
+                break;
+            case "CpArguments":
+                result = new CpArgumentsParser().parseOrExit(new String[]{"-r", "--backup", "NUMBERED", "a.txt", "b.txt"});
+                break;
+            case "TarArguments":
+                result = new TarArgumentsParser().parseOrExit(new String[]{"-xvzf", "archive.tar.gz"});
+                break;
+            case "NoInvokeDynamicArguments":
+                result = new NoInvokeDynamicArgumentsParser().parseOrExit(new String[]{"-r", "--backup", "NUMBERED", "-l3", "a.txt", "b.txt"});
+                break;
+            default:
+                throw new IllegalArgumentException(args[0]);
+        }
+        if (result != null) {
+            System.out.println(DONE);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import io.jbock.javapoet.TypeName;
 import io.jbock.util.Either;
 import io.jbock.util.Eithers;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,6 +19,8 @@ public final class Constants {
 
     public static final TypeName LIST_OF_STRING = ParameterizedTypeName.get(ClassName.get(List.class), STRING);
 
+    public static final TypeName ITERATOR_OF_STRING = ParameterizedTypeName.get(ClassName.get(Iterator.class), STRING);
+
     public static final ClassName EITHER = ClassName.get(Either.class);
 
     public static final ClassName EITHERS = ClassName.get(Eithers.class);
@@ -7,6 +7,8 @@ import net.jbock.annotated.Item;
 import net.jbock.convert.match.Match;
 import net.jbock.model.Multiplicity;
 
+import javax.lang.model.type.TypeMirror;
+
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -25,14 +27,23 @@ public final class Mapping<M extends Item> {
     private final CodeBlock createConverterExpression;
     private final Match<M> match;
     private final boolean nullary;
+    private final Optional<PrimitiveConversion> primitiveConversion;
+    private final boolean enumConverter;
+    private final Optional<String> convertAllMethod;
 
     private Mapping(
             CodeBlock createConverterExpression,
             Match<M> match,
-            boolean nullary) {
+            boolean nullary,
+            Optional<PrimitiveConversion> primitiveConversion,
+            boolean enumConverter,
+            Optional<String> convertAllMethod) {
         this.createConverterExpression = createConverterExpression;
         this.match = match;
         this.nullary = nullary;
+        this.primitiveConversion = primitiveConversion;
+        this.enumConverter = enumConverter;
+        this.convertAllMethod = convertAllMethod;
     }
 
     public static <M extends Item>
@@ -47,15 +58,76 @@ public final class Mapping<M extends Item> {
             CodeBlock createConverterExpression,
             Match<M> match,
             boolean nullary) {
-        return new Mapping<>(createConverterExpression, match, nullary);
+        return new Mapping<>(createConverterExpression, match, nullary, Optional.empty(), false, Optional.empty());
+    }
+
+    public static <M extends Item>
+    Mapping<M> createPrimitive(
+            CodeBlock createConverterExpression,
+            PrimitiveConversion primitiveConversion,
+            Match<M> match) {
+        return new Mapping<>(createConverterExpression, match, false, Optional.of(primitiveConversion), false, Optional.empty());
+    }
+
+    public static <M extends Item>
+    Mapping<M> createEnum(
+            CodeBlock createConverterExpression,
+            Match<M> match) {
+        return new Mapping<>(createConverterExpression, match, false, Optional.empty(), true, Optional.empty());
+    }
+
+    public static <M extends Item>
+    Mapping<M> createConvertAll(
+            CodeBlock createConverterExpression,
+            String convertAllMethod,
+            Match<M> match) {
+        return new Mapping<>(createConverterExpression, match, false, Optional.empty(), false, Optional.of(convertAllMethod));
     }
 
     public CodeBlock createConverterExpression() {
         return createConverterExpression;
     }
 
-    public Optional<CodeBlock> extractExpr() {
-        return match.extractExpr();
+    /**
+     * Returns the conversion that does not box its result,
+     * if the item has a primitive type, or a primitive optional type.
+     *
+     * @return a primitive conversion, or an empty {@code Optional}
+     */
+    public Optional<PrimitiveConversion> primitiveConversion() {
+        return primitiveConversion;
+    }
+
+    /**
+     * Returns {@code true} if the base type is an enum, and there is no custom converter.
+     * The converter of an enum type is stored in a static field,
+     * which is shared by all items of this type.
+     *
+     * @return {@code true} if this is an enum mapping
+     */
+    public boolean isEnumConverter() {
+        return enumConverter;
+    }
+
+    /**
+     * Returns the name of a method that converts all tokens of a repeatable item at once,
+     * if there is one for the base type.
+     * It is used instead of converting each token separately.
+     * {@code ParseSupport}, {@code ConcurrentConversion} and {@code LazyValue}
+     * each have a method of this name.
+     *
+     * @return a method name, or an empty {@code Optional}
+     */
+    public Optional<String> convertAllMethod() {
+        return convertAllMethod;
+    }
+
+    public Optional<CodeBlock> extractMethod() {
+        return match.extractMethod();
+    }
+
+    public TypeMirror baseType() {
+        return match.baseType();
     }
 
     public Multiplicity multiplicity() {
@@ -0,0 +1,40 @@
+package net.jbock.convert;
+
+import io.jbock.javapoet.CodeBlock;
+import net.jbock.parse.ParseSupport;
+
+import javax.lang.model.type.TypeKind;
+
+/**
+ * A conversion of a standard number type that does not box its result.
+ * It is used for required {@code int}, {@code long} and {@code double} items,
+ * and for items of type {@code OptionalInt}, {@code OptionalLong} and {@code OptionalDouble}.
+ */
+public enum PrimitiveConversion {
+
+    INT(TypeKind.INT, "convertRequiredInt", "convertOptionalInt"),
+    LONG(TypeKind.LONG, "convertRequiredLong", "convertOptionalLong"),
+    DOUBLE(TypeKind.DOUBLE, "convertRequiredDouble", "convertOptionalDouble");
+
+    private final TypeKind kind;
+    private final String requiredMethod;
+    private final String optionalMethod;
+
+    PrimitiveConversion(TypeKind kind, String requiredMethod, String optionalMethod) {
+        this.kind = kind;
+        this.requiredMethod = requiredMethod;
+        this.optionalMethod = optionalMethod;
+    }
+
+    public TypeKind kind() {
+        return kind;
+    }
+
+    public CodeBlock requiredMethod() {
+        return CodeBlock.of("$T.$L", ParseSupport.class, requiredMethod);
+    }
+
+    public CodeBlock optionalMethod() {
+        return CodeBlock.of("$T.$L", ParseSupport.class, optionalMethod);
+    }
+}
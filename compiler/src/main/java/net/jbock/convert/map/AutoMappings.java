@@ -6,7 +6,9 @@ import net.jbock.annotated.Item;
 import net.jbock.common.TypeTool;
 import net.jbock.contrib.StandardConverters;
 import net.jbock.convert.Mapping;
+import net.jbock.convert.PrimitiveConversion;
 import net.jbock.convert.match.Match;
+import net.jbock.model.Multiplicity;
 
 import javax.lang.model.type.TypeMirror;
 import java.io.File;
@@ -36,35 +38,82 @@ public final class AutoMappings {
         TypeMirror baseType = match.baseType();
         for (AutoMapping conversion : mappings) {
             if (tool.isSameType(baseType, conversion.qualifiedName)) {
-                Mapping<M> mapping = Mapping.create(conversion.createConverterExpression, match);
+                if (match.multiplicity() == Multiplicity.REPEATABLE && conversion.convertAllMethod.isPresent()) {
+                    return Optional.of(Mapping.createConvertAll(conversion.createConverterExpression,
+                            conversion.convertAllMethod.orElseThrow(), match));
+                }
+                Mapping<M> mapping = conversion.primitiveConversion
+                        .filter(primitive -> isPrimitive(match, primitive))
+                        .map(primitive -> Mapping.createPrimitive(conversion.createConverterExpression, primitive, match))
+                        .orElseGet(() -> Mapping.create(conversion.createConverterExpression, match));
                 return Optional.of(mapping);
             }
         }
         return Optional.empty();
     }
 
+    /* true if the item returns a primitive type, like int,
+     * or a primitive optional type, like OptionalInt
+     */
+    private static boolean isPrimitive(Match<?> match, PrimitiveConversion primitive) {
+        switch (match.multiplicity()) {
+            case REQUIRED:
+                return match.item().returnType().getKind() == primitive.kind();
+            case OPTIONAL:
+                return match.extractMethod().isPresent();
+            default:
+                return false;
+        }
+    }
+
     private static AutoMapping create(
             Class<?> autoType,
             String methodName) {
+        return create(autoType, methodName, Optional.empty());
+    }
+
+    private static AutoMapping create(
+            Class<?> autoType,
+            String methodName,
+            PrimitiveConversion primitiveConversion) {
+        return create(autoType, methodName, Optional.of(primitiveConversion));
+    }
+
+    private static AutoMapping create(
+            Class<?> autoType,
+            String methodName,
+            Optional<PrimitiveConversion> primitiveConversion) {
+        String canonicalName = autoType.getCanonicalName();
+        CodeBlock createConverterExpression = CodeBlock.of("$T.$L()", StandardConverters.class, methodName);
+        return new AutoMapping(canonicalName, createConverterExpression, primitiveConversion, Optional.empty());
+    }
+
+    /* The tokens of a repeatable item are converted together,
+     * by a method of ParseSupport, ConcurrentConversion or LazyValue.
+     */
+    private static AutoMapping createConvertAll(
+            Class<?> autoType,
+            String methodName,
+            String convertAllMethod) {
         String canonicalName = autoType.getCanonicalName();
         CodeBlock createConverterExpression = CodeBlock.of("$T.$L()", StandardConverters.class, methodName);
-        return new AutoMapping(canonicalName, createConverterExpression);
+        return new AutoMapping(canonicalName, createConverterExpression, Optional.empty(), Optional.of(convertAllMethod));
     }
 
     private static List<AutoMapping> autoMappings() {
         return List.of(
                 create(String.class, "asString"),
-                create(Integer.class, "asInteger"),
+                create(Integer.class, "asInteger", PrimitiveConversion.INT),
                 create(Path.class, "asPath"),
-                create(File.class, "asExistingFile"),
+                createConvertAll(File.class, "asExistingFile", "convertAllExistingFiles"),
                 create(URI.class, "asURI"),
                 create(Pattern.class, "asPattern"),
                 create(LocalDate.class, "asLocalDate"),
-                create(Long.class, "asLong"),
+                create(Long.class, "asLong", PrimitiveConversion.LONG),
                 create(Short.class, "asShort"),
                 create(Byte.class, "asByte"),
                 create(Float.class, "asFloat"),
-                create(Double.class, "asDouble"),
+                create(Double.class, "asDouble", PrimitiveConversion.DOUBLE),
                 create(Character.class, "asCharacter"),
                 create(BigInteger.class, "asBigInteger"),
                 create(BigDecimal.class, "asBigDecimal"));
@@ -73,10 +122,18 @@ public final class AutoMappings {
     private static final class AutoMapping {
         final String qualifiedName;
         final CodeBlock createConverterExpression;
+        final Optional<PrimitiveConversion> primitiveConversion;
+        final Optional<String> convertAllMethod;
 
-        AutoMapping(String qualifiedName, CodeBlock createConverterExpression) {
+        AutoMapping(
+                String qualifiedName,
+                CodeBlock createConverterExpression,
+                Optional<PrimitiveConversion> primitiveConversion,
+                Optional<String> convertAllMethod) {
             this.qualifiedName = qualifiedName;
             this.createConverterExpression = createConverterExpression;
+            this.primitiveConversion = primitiveConversion;
+            this.convertAllMethod = convertAllMethod;
         }
     }
 }
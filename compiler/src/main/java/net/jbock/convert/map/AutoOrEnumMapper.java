@@ -46,9 +46,9 @@ public final class AutoOrEnumMapper {
                 .flatMap(TypeTool.AS_TYPE_ELEMENT::visit)
                 .filter(element -> element.getKind() == ElementKind.ENUM)
                 .map(enumType -> {
-                    CodeBlock mapper = CodeBlock.of("$1T.create($2T::valueOf, $2T::values)",
+                    CodeBlock mapper = CodeBlock.of("$T.create($T.values())",
                             EnumConverter.class, enumType.asType());
-                    return Mapping.create(mapper, match);
+                    return Mapping.createEnum(mapper, match);
                 });
     }
 
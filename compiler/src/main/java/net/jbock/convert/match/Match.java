@@ -18,27 +18,30 @@ public final class Match<M extends Item> {
      * baseType (int) == Integer
      */
     private final TypeMirror baseType;
-    private final Optional<CodeBlock> extractExpr;
+    /* Static method that takes the Optional result of the conversion,
+     * like ParseSupport.toOptionalInt
+     */
+    private final Optional<CodeBlock> extractMethod;
     private final Multiplicity multiplicity;
     private final M item;
 
     private Match(
             TypeMirror baseType,
             Multiplicity multiplicity,
-            Optional<CodeBlock> extractExpr,
+            Optional<CodeBlock> extractMethod,
             M item) {
         this.baseType = baseType;
         this.multiplicity = multiplicity;
-        this.extractExpr = extractExpr;
+        this.extractMethod = extractMethod;
         this.item = item;
     }
 
     static <M extends Item>
     Match<M> createWithExtract(
             TypeMirror baseType,
-            CodeBlock extractExpr,
+            CodeBlock extractMethod,
             M item) {
-        return new Match<>(baseType, OPTIONAL, Optional.of(extractExpr), item);
+        return new Match<>(baseType, OPTIONAL, Optional.of(extractMethod), item);
     }
 
     static <M extends Item>
@@ -65,7 +68,7 @@ public final class Match<M extends Item> {
         return item().fail(message);
     }
 
-    public Optional<CodeBlock> extractExpr() {
-        return extractExpr;
+    public Optional<CodeBlock> extractMethod() {
+        return extractMethod;
     }
 }
@@ -47,11 +47,11 @@ final class OptionalMatcher extends Matcher {
             TypeMirror type) {
         for (OptionalPrimitive optionalPrimitive : OptionalPrimitive.values()) {
             if (tool.isSameType(type, optionalPrimitive.type())) {
-                CodeBlock extractExpr = optionalPrimitive.extractExpr();
+                CodeBlock extractMethod = optionalPrimitive.extractMethod();
                 return elements.getTypeElement(optionalPrimitive.numberType())
                         .map(TypeElement::asType)
                         .map(numberType ->
-                                createWithExtract(numberType, extractExpr, item));
+                                createWithExtract(numberType, extractMethod, item));
             }
         }
         return Optional.empty();
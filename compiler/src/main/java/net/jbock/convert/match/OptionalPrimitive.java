@@ -1,6 +1,7 @@
 package net.jbock.convert.match;
 
 import io.jbock.javapoet.CodeBlock;
+import net.jbock.parse.ParseSupport;
 
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
@@ -8,20 +9,22 @@ import java.util.OptionalLong;
 
 enum OptionalPrimitive {
 
-    INT(OptionalInt.class, Integer.class),
-    LONG(OptionalLong.class, Long.class),
-    DOUBLE(OptionalDouble.class, Double.class);
+    INT(OptionalInt.class, Integer.class, "toOptionalInt"),
+    LONG(OptionalLong.class, Long.class, "toOptionalLong"),
+    DOUBLE(OptionalDouble.class, Double.class, "toOptionalDouble");
 
     private final Class<?> type;
     private final String numberType;
+    private final String extractMethod;
 
-    OptionalPrimitive(Class<?> type, Class<? extends Number> numberType) {
+    OptionalPrimitive(Class<?> type, Class<? extends Number> numberType, String extractMethod) {
         this.type = type;
         this.numberType = numberType.getCanonicalName();
+        this.extractMethod = extractMethod;
     }
 
-    CodeBlock extractExpr() {
-        return CodeBlock.of(".map($1T::of).orElse($1T.empty())", type);
+    CodeBlock extractMethod() {
+        return CodeBlock.of("$T.$L", ParseSupport.class, extractMethod);
     }
 
     String type() {
@@ -104,6 +104,42 @@ public final class SourceElement {
                     SuperCommand::enableAtFileExpansion);
         }
 
+        boolean isLazyAtFileExpansion() {
+            return command.fold(
+                    Command::lazyAtFileExpansion,
+                    SuperCommand::lazyAtFileExpansion);
+        }
+
+        boolean isSpecializedParser() {
+            return command.fold(
+                    Command::specializedParser,
+                    SuperCommand::specializedParser);
+        }
+
+        boolean isConvertWhileParsing() {
+            return command.fold(
+                    Command::convertWhileParsing,
+                    SuperCommand::convertWhileParsing);
+        }
+
+        boolean isNoInvokeDynamic() {
+            return command.fold(
+                    Command::noInvokeDynamic,
+                    SuperCommand::noInvokeDynamic);
+        }
+
+        boolean isConcurrentConversion() {
+            return command.fold(
+                    Command::concurrentConversion,
+                    SuperCommand::concurrentConversion);
+        }
+
+        boolean isLazyConversion() {
+            return command.fold(
+                    Command::lazyConversion,
+                    SuperCommand::lazyConversion);
+        }
+
         String[] getDescription() {
             return command.fold(
                     Command::description,
@@ -170,4 +206,28 @@ public final class SourceElement {
     public boolean enableAtFileExpansion() {
         return command.isEnableAtFileExpansion();
     }
+
+    public boolean lazyAtFileExpansion() {
+        return command.isLazyAtFileExpansion();
+    }
+
+    public boolean specializedParser() {
+        return command.isSpecializedParser() || command.isConvertWhileParsing();
+    }
+
+    public boolean convertWhileParsing() {
+        return command.isConvertWhileParsing();
+    }
+
+    public boolean noInvokeDynamic() {
+        return command.isNoInvokeDynamic();
+    }
+
+    public boolean concurrentConversion() {
+        return command.isConcurrentConversion();
+    }
+
+    public boolean lazyConversion() {
+        return command.isLazyConversion();
+    }
 }
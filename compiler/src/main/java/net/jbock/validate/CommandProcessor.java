@@ -49,6 +49,7 @@ public final class CommandProcessor {
 
     public Either<List<ValidationFailure>, CommandRepresentation> generate() {
         return itemsFactory.createItems()
+                .filter(this::checkCommandAttributes)
                 .filter(this::checkDuplicateDescriptionKeys)
                 .flatMap(items -> {
                     Either<List<ValidationFailure>, List<Mapping<Parameter>>> a = parameterValidator.wrapPositionalParams(items);
@@ -60,6 +61,29 @@ public final class CommandProcessor {
                 });
     }
 
+    /* Left-Optional
+     */
+    private Optional<List<ValidationFailure>> checkCommandAttributes(
+            Items items) {
+        List<ValidationFailure> failures = new ArrayList<>();
+        if (sourceElement.lazyAtFileExpansion() && !sourceElement.enableAtFileExpansion()) {
+            failures.add(sourceElement.fail("lazyAtFileExpansion requires enableAtFileExpansion"));
+        }
+        if (sourceElement.lazyAtFileExpansion() && sourceElement.convertWhileParsing()) {
+            failures.add(sourceElement.fail("lazyAtFileExpansion can not be combined with convertWhileParsing"));
+        }
+        if (sourceElement.concurrentConversion() && sourceElement.lazyConversion()) {
+            failures.add(sourceElement.fail("concurrentConversion can not be combined with lazyConversion"));
+        }
+        if (sourceElement.concurrentConversion() && sourceElement.convertWhileParsing()) {
+            failures.add(sourceElement.fail("concurrentConversion can not be combined with convertWhileParsing"));
+        }
+        if (sourceElement.lazyConversion() && sourceElement.convertWhileParsing()) {
+            failures.add(sourceElement.fail("lazyConversion can not be combined with convertWhileParsing"));
+        }
+        return optionalList(failures);
+    }
+
     /* Left-Optional
      */
     private Optional<List<ValidationFailure>> checkDuplicateDescriptionKeys(
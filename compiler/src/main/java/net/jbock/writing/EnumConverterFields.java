@@ -0,0 +1,86 @@
+package net.jbock.writing;
+
+import io.jbock.javapoet.ClassName;
+import io.jbock.javapoet.CodeBlock;
+import io.jbock.javapoet.FieldSpec;
+import io.jbock.javapoet.ParameterizedTypeName;
+import io.jbock.javapoet.TypeName;
+import io.jbock.simple.Inject;
+import net.jbock.common.SnakeName;
+import net.jbock.convert.Mapping;
+import net.jbock.util.StringConverter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.jbock.common.Suppliers.memoize;
+
+/**
+ * Defines one static converter field for each enum type,
+ * so that the lookup tables of the
+ * {@link net.jbock.contrib.EnumConverter EnumConverter}
+ * are built only once, and not in each invocation of the
+ * {@code parse} method.
+ */
+final class EnumConverterFields extends HasCommandRepresentation {
+
+    @Inject
+    EnumConverterFields(CommandRepresentation commandRepresentation) {
+        super(commandRepresentation);
+    }
+
+    private final Supplier<Map<TypeName, FieldSpec>> fields = memoize(() -> {
+        Map<TypeName, FieldSpec> result = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        for (Mapping<?> m : allMappings()) {
+            if (!m.isEnumConverter()) {
+                continue;
+            }
+            TypeName enumType = TypeName.get(m.baseType());
+            if (result.containsKey(enumType)) {
+                continue;
+            }
+            String name = fieldName(enumType);
+            for (int i = 2; !names.add(name); i++) {
+                name = fieldName(enumType) + "_" + i;
+            }
+            TypeName type = ParameterizedTypeName.get(ClassName.get(StringConverter.class), enumType);
+            result.put(enumType, FieldSpec.builder(type, name, PRIVATE, STATIC, FINAL)
+                    .initializer(m.createConverterExpression())
+                    .build());
+        }
+        return result;
+    });
+
+    List<FieldSpec> get() {
+        return new ArrayList<>(fields.get().values());
+    }
+
+    /**
+     * Returns the converter of the given item.
+     * If the item has an enum type, this is a reference to the static field.
+     *
+     * @param m an item
+     * @return converter expression
+     */
+    CodeBlock converterExpression(Mapping<?> m) {
+        if (!m.isEnumConverter()) {
+            return m.createConverterExpression();
+        }
+        return CodeBlock.of("$N", fields.get().get(TypeName.get(m.baseType())));
+    }
+
+    private static String fieldName(TypeName enumType) {
+        String simpleName = enumType instanceof ClassName ? ((ClassName) enumType).simpleName() : "enum";
+        return SnakeName.create(simpleName).snake('_').toUpperCase(Locale.ROOT) + "_CONVERTER";
+    }
+}
@@ -19,6 +19,10 @@ final class GeneratedTypes extends HasCommandRepresentation {
         return sourceElement().generatedClass().nestedClass(sourceElement().element().getSimpleName() + "_Impl");
     }
 
+    ClassName parseStateType() {
+        return sourceElement().generatedClass().nestedClass(sourceElement().element().getSimpleName() + "_ParseState");
+    }
+
     TypeName parseResultType() {
         return ParameterizedTypeName.get(
                 EITHER,
@@ -1,7 +1,6 @@
 package net.jbock.writing;
 
 import io.jbock.javapoet.ClassName;
-import io.jbock.javapoet.FieldSpec;
 import net.jbock.annotated.Option;
 import net.jbock.annotated.Parameter;
 import net.jbock.annotated.VarargsParameter;
@@ -31,10 +30,6 @@ abstract class HasCommandRepresentation {
         return commandRepresentation.optType();
     }
 
-    final FieldSpec optionNames() {
-        return commandRepresentation.optionNames();
-    }
-
     final List<Mapping<Parameter>> positionalParameters() {
         return commandRepresentation.positionalParameters();
     }
@@ -58,4 +53,28 @@ abstract class HasCommandRepresentation {
     final boolean enableAtFileExpansion() {
         return commandRepresentation.sourceElement().enableAtFileExpansion();
     }
+
+    final boolean lazyAtFileExpansion() {
+        return commandRepresentation.sourceElement().lazyAtFileExpansion();
+    }
+
+    final boolean specializedParser() {
+        return commandRepresentation.sourceElement().specializedParser();
+    }
+
+    final boolean convertWhileParsing() {
+        return commandRepresentation.sourceElement().convertWhileParsing();
+    }
+
+    final boolean noInvokeDynamic() {
+        return commandRepresentation.sourceElement().noInvokeDynamic();
+    }
+
+    final boolean concurrentConversion() {
+        return commandRepresentation.sourceElement().concurrentConversion();
+    }
+
+    final boolean lazyConversion() {
+        return commandRepresentation.sourceElement().lazyConversion();
+    }
 }
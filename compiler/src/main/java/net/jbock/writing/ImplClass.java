@@ -2,6 +2,7 @@ package net.jbock.writing;
 
 import io.jbock.javapoet.ClassName;
 import io.jbock.javapoet.CodeBlock;
+import io.jbock.javapoet.FieldSpec;
 import io.jbock.javapoet.MethodSpec;
 import io.jbock.javapoet.ParameterSpec;
 import io.jbock.javapoet.ParameterizedTypeName;
@@ -11,26 +12,29 @@ import io.jbock.simple.Inject;
 import net.jbock.annotated.Item;
 import net.jbock.annotated.Option;
 import net.jbock.annotated.Parameter;
-import net.jbock.annotated.VarargsParameter;
 import net.jbock.common.Suppliers;
 import net.jbock.convert.Mapping;
+import net.jbock.convert.PrimitiveConversion;
 import net.jbock.model.ItemType;
+import net.jbock.parse.ConcurrentConversion;
+import net.jbock.parse.LazyValue;
 import net.jbock.parse.ParseResult;
+import net.jbock.parse.ParseSupport;
+import net.jbock.util.ConversionFailedException;
 import net.jbock.util.ExConvert;
 import net.jbock.util.ExFailure;
 import net.jbock.util.ExMissingItem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import static java.util.stream.Collectors.toList;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.STATIC;
-import static net.jbock.common.Constants.EITHERS;
-import static net.jbock.common.Constants.STRING;
-import static net.jbock.writing.CodeBlocks.joinByNewline;
 
 /**
  * Implementation of the command class.
@@ -38,12 +42,21 @@ import static net.jbock.writing.CodeBlocks.joinByNewline;
 final class ImplClass extends HasCommandRepresentation {
 
     private final GeneratedTypes generatedTypes;
+    private final ParseStateClass parseStateClass;
+    private final EnumConverterFields enumConverterFields;
+    private final CreateModelMethod createModelMethod;
 
     @Inject
     ImplClass(GeneratedTypes generatedTypes,
-              CommandRepresentation commandRepresentation) {
+              CommandRepresentation commandRepresentation,
+              ParseStateClass parseStateClass,
+              EnumConverterFields enumConverterFields,
+              CreateModelMethod createModelMethod) {
         super(commandRepresentation);
         this.generatedTypes = generatedTypes;
+        this.parseStateClass = parseStateClass;
+        this.enumConverterFields = enumConverterFields;
+        this.createModelMethod = createModelMethod;
     }
 
     TypeSpec define() {
@@ -53,8 +66,20 @@ final class ImplClass extends HasCommandRepresentation {
         } else {
             spec.superclass(sourceElement().typeName());
         }
+        if (lazyConversion()) {
+            return spec.addModifiers(PRIVATE, STATIC, FINAL)
+                    .addMethod(lazyConstructor())
+                    .addFields(allMappings().stream()
+                            .map(this::lazyField)
+                            .collect(toList()))
+                    .addMethods(allMappings().stream()
+                            .map(this::lazyMethodOverride)
+                            .collect(toList()))
+                    .build();
+        }
         return spec.addModifiers(PRIVATE, STATIC, FINAL)
-                .addMethod(constructor())
+                .addMethod(convertWhileParsing() ? convertedConstructor() :
+                        concurrentConversion() ? concurrentConstructor() : constructor())
                 .addFields(allMappings().stream()
                         .map(Mapping::field)
                         .collect(toList()))
@@ -88,96 +113,299 @@ final class ImplClass extends HasCommandRepresentation {
         MethodSpec.Builder spec = MethodSpec.constructorBuilder();
         for (int i = 0; i < namedOptions().size(); i++) {
             Mapping<Option> m = namedOptions().get(i);
-            spec.addStatement("this.$N = $L", m.field(), convertExpressionOption(m, i));
+            if (m.isNullary()) {
+                spec.addStatement("this.$N = $L", m.field(), flagValue(m, i));
+            } else {
+                spec.addStatement("this.$N = $L", m.field(),
+                        convertExpression(m, optionValue(m, i), ItemType.OPTION, i));
+            }
         }
         for (int i = 0; i < positionalParameters().size(); i++) {
             Mapping<Parameter> m = positionalParameters().get(i);
-            spec.addStatement("this.$N = $L", m.field(), convertExpressionParameter(m, i));
+            spec.addStatement("this.$N = $L", m.field(),
+                    convertExpression(m, paramValue(m), ItemType.PARAMETER, i));
         }
         varargsParameter().ifPresent(m ->
-                spec.addStatement("this.$N = $L", m.field(), convertExpressionVarargsParameter(m)));
-        return spec.addParameter(result())
+                spec.addStatement("this.$N = $L", m.field(),
+                        convertExpression(m, restValues(), ItemType.PARAMETER, positionalParameters().size())));
+        return spec.addParameter(specializedParser() ? state() : result())
                 .addException(ExFailure.class)
                 .build();
     }
 
-    private CodeBlock convertExpressionOption(Mapping<Option> m, int i) {
-        List<CodeBlock> code = new ArrayList<>();
-        code.add(CodeBlock.of("$N.option($T.$N)", result(),
-                sourceElement().optionEnumType(), m.enumName()));
-        if (!m.isNullary()) {
-            code.add(CodeBlock.of(".map($L)", m.createConverterExpression()));
+    /**
+     * Constructor that registers all conversions first,
+     * and then waits for the results.
+     *
+     * @see net.jbock.Command#concurrentConversion()
+     */
+    private MethodSpec concurrentConstructor() {
+        MethodSpec.Builder spec = MethodSpec.constructorBuilder();
+        ParameterSpec conversion = ParameterSpec.builder(ConcurrentConversion.class, "conversion").build();
+        spec.addStatement("$T $N = $T.create($N)", conversion.type, conversion, ConcurrentConversion.class, executor());
+        List<CodeBlock> assignments = new ArrayList<>();
+        for (int i = 0; i < namedOptions().size(); i++) {
+            Mapping<Option> m = namedOptions().get(i);
+            if (m.isNullary()) {
+                assignments.add(CodeBlock.of("this.$N = $L", m.field(), flagValue(m, i)));
+            } else {
+                assignments.add(registerConversion(spec, conversion, m, "option" + i,
+                        optionValue(m, i), ItemType.OPTION, i));
+            }
+        }
+        for (int i = 0; i < positionalParameters().size(); i++) {
+            Mapping<Parameter> m = positionalParameters().get(i);
+            assignments.add(registerConversion(spec, conversion, m, "param" + i,
+                    paramValue(m), ItemType.PARAMETER, i));
+        }
+        varargsParameter().ifPresent(m ->
+                assignments.add(registerConversion(spec, conversion, m, "rest",
+                        restValues(), ItemType.PARAMETER, positionalParameters().size())));
+        spec.addStatement("$N.await()", conversion);
+        for (CodeBlock assignment : assignments) {
+            spec.addStatement("$L", assignment);
+        }
+        return spec.addParameter(specializedParser() ? state() : result())
+                .addParameter(executor())
+                .addException(ExFailure.class)
+                .build();
+    }
+
+    /**
+     * Declares a local variable that holds the future result of the conversion.
+     *
+     * @return the assignment of the result to the field
+     */
+    private CodeBlock registerConversion(
+            MethodSpec.Builder spec,
+            ParameterSpec conversion,
+            Mapping<?> m,
+            String name,
+            CodeBlock value,
+            ItemType itemType,
+            int i) {
+        TypeName valueType = ParameterizedTypeName.get(ClassName.get(ConcurrentConversion.Value.class), resultType(m));
+        if (m.convertAllMethod().isPresent()) {
+            spec.addStatement("$T $N = $N.$L($L,$W$T.$L,$W$L)", valueType, name,
+                    conversion, m.convertAllMethod().orElseThrow(), value, ItemType.class, itemType, i);
+        } else {
+            String method = m.isRequired() ? "convertRequired" : m.isOptional() ? "convertOptional" : "convertAll";
+            spec.addStatement("$T $N = $N.$L($L,$W$L,$W$T.$L,$W$L)", valueType, name,
+                    conversion, method, enumConverterFields.converterExpression(m), value, ItemType.class, itemType, i);
+        }
+        return CodeBlock.of("this.$N = $L", m.field(), extract(m, CodeBlock.of("$N.get()", name)));
+    }
+
+    /**
+     * Returns the type of the conversion result, before the extract method is applied.
+     * A primitive type is boxed.
+     */
+    private static TypeName resultType(Mapping<?> m) {
+        TypeName baseType = TypeName.get(m.baseType());
+        if (m.isRequired()) {
+            return baseType;
+        }
+        return ParameterizedTypeName.get(ClassName.get(m.isOptional() ? Optional.class : List.class), baseType);
+    }
+
+    /**
+     * Constructor that stores the tokens of each item,
+     * to be converted when the item is accessed for the first time.
+     * Missing required items are still reported here.
+     *
+     * @see net.jbock.Command#lazyConversion()
+     */
+    private MethodSpec lazyConstructor() {
+        MethodSpec.Builder spec = MethodSpec.constructorBuilder();
+        for (int i = 0; i < namedOptions().size(); i++) {
+            Mapping<Option> m = namedOptions().get(i);
+            if (m.isNullary()) {
+                spec.addStatement("this.$N = $L", m.field(), flagValue(m, i));
+            } else {
+                spec.addStatement("this.$N = $L", m.field(), lazyValue(m, optionValue(m, i), ItemType.OPTION, i));
+            }
         }
-        code.addAll(tailExpressionOption(m, i));
-        m.extractExpr().ifPresent(code::add);
-        return joinByNewline(code);
+        for (int i = 0; i < positionalParameters().size(); i++) {
+            Mapping<Parameter> m = positionalParameters().get(i);
+            spec.addStatement("this.$N = $L", m.field(), lazyValue(m, paramValue(m), ItemType.PARAMETER, i));
+        }
+        varargsParameter().ifPresent(m ->
+                spec.addStatement("this.$N = $L", m.field(),
+                        lazyValue(m, restValues(), ItemType.PARAMETER, positionalParameters().size())));
+        return spec.addParameter(specializedParser() ? state() : result())
+                .addException(ExFailure.class)
+                .build();
     }
 
-    private CodeBlock convertExpressionParameter(Mapping<Parameter> m, int i) {
-        List<CodeBlock> code = new ArrayList<>();
-        code.add(CodeBlock.of("$N.param($L)", result(),
-                m.item().index()));
-        code.add(CodeBlock.of(".map($L)", m.createConverterExpression()));
-        code.addAll(tailExpressionParameter(m, i));
-        m.extractExpr().ifPresent(code::add);
-        return joinByNewline(code);
+    private CodeBlock lazyValue(Mapping<?> m, CodeBlock value, ItemType itemType, int i) {
+        if (m.convertAllMethod().isPresent()) {
+            return CodeBlock.of("$T.$L($L,$W$T.$L,$W$L)", LazyValue.class, m.convertAllMethod().orElseThrow(),
+                    value, ItemType.class, itemType, i);
+        }
+        String method = m.isRequired() ? "required" : m.isOptional() ? "optional" : "all";
+        return CodeBlock.of("$T.$L($L,$W$L,$W$T.$L,$W$L)", LazyValue.class, method,
+                enumConverterFields.converterExpression(m), value, ItemType.class, itemType, i);
     }
 
-    private CodeBlock convertExpressionVarargsParameter(Mapping<VarargsParameter> m) {
-        List<CodeBlock> code = new ArrayList<>();
-        code.add(CodeBlock.of("$N.rest()", result()));
-        code.add(CodeBlock.of(".map($L)", m.createConverterExpression()));
-        code.add(CodeBlock.of(".collect($T.firstFailure())", EITHERS));
-        code.add(orElseThrowConverterError(ItemType.PARAMETER, positionalParameters().size()));
-        return joinByNewline(code);
+    private FieldSpec lazyField(Mapping<?> m) {
+        if (m.isNullary()) {
+            return m.field();
+        }
+        TypeName fieldType = ParameterizedTypeName.get(ClassName.get(LazyValue.class), resultType(m));
+        return FieldSpec.builder(fieldType, m.field().name, FINAL).build();
     }
 
-    private List<CodeBlock> tailExpressionOption(Mapping<Option> m, int i) {
+    private MethodSpec lazyMethodOverride(Mapping<?> m) {
         if (m.isNullary()) {
-            return List.of(CodeBlock.of(".findAny().isPresent()"));
+            return parameterMethodOverride(m);
+        }
+        Item sourceMethod = m.item();
+        ParameterSpec e = ParameterSpec.builder(ExConvert.class, "e").build();
+        CodeBlock code = CodeBlock.builder()
+                .beginControlFlow("try")
+                .addStatement("return $L", extract(m, CodeBlock.of("this.$N.get()", m.field())))
+                .nextControlFlow("catch ($T $N)", e.type, e)
+                .addStatement("throw new $T($N.toError(new $T().$N()))", ConversionFailedException.class, e,
+                        sourceElement().generatedClass(), createModelMethod.get())
+                .endControlFlow()
+                .build();
+        return MethodSpec.methodBuilder(sourceMethod.methodName())
+                .returns(TypeName.get(sourceMethod.returnType()))
+                .addModifiers(sourceMethod.accessModifiers())
+                .addCode(code)
+                .addAnnotation(Override.class)
+                .build();
+    }
+
+    private CodeBlock convertExpression(Mapping<?> m, CodeBlock value, ItemType itemType, int i) {
+        if (m.primitiveConversion().isPresent()) {
+            PrimitiveConversion primitive = m.primitiveConversion().orElseThrow();
+            CodeBlock method = m.isRequired() ? primitive.requiredMethod() : primitive.optionalMethod();
+            return CodeBlock.of("$L($L,$W$T.$L,$W$L)", method, value, ItemType.class, itemType, i);
         }
         switch (m.multiplicity()) {
             case REQUIRED:
-                return List.of(
-                        CodeBlock.of(".findAny()"),
-                        CodeBlock.of(".orElseThrow(() -> new $T($T.$L, $L))",
-                                ExMissingItem.class, ItemType.class, ItemType.OPTION, i),
-                        orElseThrowConverterError(ItemType.OPTION, i));
+                return CodeBlock.of("$T.convertRequired($L,$W$L,$W$T.$L,$W$L)", ParseSupport.class,
+                        enumConverterFields.converterExpression(m), value, ItemType.class, itemType, i);
             case OPTIONAL:
-                return List.of(
-                        CodeBlock.of(".collect($T.firstFailure())", EITHERS),
-                        orElseThrowConverterError(ItemType.OPTION, i),
-                        CodeBlock.of(".stream().findAny()"));
-            default: {
-                if (!m.isRepeatable()) {
-                    throw new AssertionError();
+                return extract(m, CodeBlock.of("$T.convertOptional($L,$W$L,$W$T.$L,$W$L)", ParseSupport.class,
+                        enumConverterFields.converterExpression(m), value, ItemType.class, itemType, i));
+            default:
+                if (m.convertAllMethod().isPresent()) {
+                    return CodeBlock.of("$T.$L($L,$W$T.$L,$W$L)", ParseSupport.class,
+                            m.convertAllMethod().orElseThrow(), value, ItemType.class, itemType, i);
                 }
-                return List.of(
-                        CodeBlock.of(".collect($T.firstFailure())", EITHERS),
-                        orElseThrowConverterError(ItemType.OPTION, i));
-            }
+                return CodeBlock.of("$T.convertAll($L,$W$L,$W$T.$L,$W$L)", ParseSupport.class,
+                        enumConverterFields.converterExpression(m), value, ItemType.class, itemType, i);
         }
     }
 
-    private List<CodeBlock> tailExpressionParameter(Mapping<Parameter> m, int i) {
-        if (m.isRequired()) {
-            return List.of(CodeBlock.of(".orElseThrow(() -> new $T($T.$L, $L))",
-                            ExMissingItem.class, ItemType.class, ItemType.PARAMETER, i),
-                    orElseThrowConverterError(ItemType.PARAMETER, i));
+    private CodeBlock extract(Mapping<?> m, CodeBlock optional) {
+        return m.extractMethod()
+                .map(extractMethod -> CodeBlock.of("$L($L)", extractMethod, optional))
+                .orElse(optional);
+    }
+
+    private CodeBlock flagValue(Mapping<Option> m, int i) {
+        if (specializedParser()) {
+            return CodeBlock.of("$N.$N", state(), parseStateClass.optionField(i));
+        }
+        return CodeBlock.of("$N.optionValue($T.$N) != null", result(),
+                sourceElement().optionEnumType(), m.enumName());
+    }
+
+    private CodeBlock optionValue(Mapping<Option> m, int i) {
+        if (specializedParser()) {
+            return CodeBlock.of("$N.$N", state(), parseStateClass.optionField(i));
+        }
+        return CodeBlock.of("$N.$L($T.$N)", result(), m.isRepeatable() ? "optionValues" : "optionValue",
+                sourceElement().optionEnumType(), m.enumName());
+    }
+
+    private CodeBlock paramValue(Mapping<Parameter> m) {
+        if (specializedParser()) {
+            return CodeBlock.of("$N.$N[$L]", state(), parseStateClass.paramsField(), m.item().index());
+        }
+        return CodeBlock.of("$N.paramValue($L)", result(), m.item().index());
+    }
+
+    private CodeBlock restValues() {
+        if (specializedParser()) {
+            return CodeBlock.of("$N.$N", state(), parseStateClass.restField());
+        }
+        return CodeBlock.of("$N.restValues()", result());
+    }
+
+    private final Supplier<ParameterSpec> executorSupplier = Suppliers.memoize(() ->
+            ParameterSpec.builder(Executor.class, "executor").build());
+
+    private ParameterSpec executor() {
+        return executorSupplier.get();
+    }
+
+    private final Supplier<ParameterSpec> stateSupplier = Suppliers.memoize(() ->
+            ParameterSpec.builder(generatedTypes().parseStateType(), "state").build());
+
+    private ParameterSpec state() {
+        return stateSupplier.get();
+    }
+
+    private GeneratedTypes generatedTypes() {
+        return generatedTypes;
+    }
+
+    /**
+     * Constructor that takes the already converted values
+     * from the specialized parse state.
+     *
+     * @see net.jbock.Command#convertWhileParsing()
+     */
+    private MethodSpec convertedConstructor() {
+        MethodSpec.Builder spec = MethodSpec.constructorBuilder();
+        for (int i = 0; i < namedOptions().size(); i++) {
+            Mapping<Option> m = namedOptions().get(i);
+            CodeBlock value = CodeBlock.of("$N.$N", state(), parseStateClass.optionField(i));
+            if (m.isNullary()) {
+                spec.addStatement("this.$N = $L", m.field(), value);
+            } else {
+                spec.addCode(assignConverted(m, value, ItemType.OPTION, i));
+            }
         }
-        if (!m.isOptional()) {
-            throw new AssertionError();
+        for (int i = 0; i < positionalParameters().size(); i++) {
+            Mapping<Parameter> m = positionalParameters().get(i);
+            CodeBlock value = CodeBlock.of("$N.$N", state(), parseStateClass.paramField(i));
+            spec.addCode(assignConverted(m, value, ItemType.PARAMETER, i));
         }
-        return List.of(
-                CodeBlock.of(".stream()"),
-                CodeBlock.of(".collect($T.firstFailure())", EITHERS),
-                orElseThrowConverterError(ItemType.PARAMETER, i),
-                CodeBlock.of(".stream().findAny()"));
+        varargsParameter().ifPresent(m -> spec.addCode(assignConverted(m,
+                CodeBlock.of("$N.$N", state(), parseStateClass.restField()),
+                ItemType.PARAMETER, positionalParameters().size())));
+        return spec.addParameter(state())
+                .addException(ExFailure.class)
+                .build();
     }
 
-    private CodeBlock orElseThrowConverterError(ItemType itemType, int i) {
-        ParameterSpec left = ParameterSpec.builder(STRING, "left").build();
-        return CodeBlock.of(".orElseThrow($1N -> new $2T($1N, $3T.$4L, $5L))",
-                left, ExConvert.class, ItemType.class, itemType, i);
+    private CodeBlock assignConverted(Mapping<?> m, CodeBlock value, ItemType itemType, int i) {
+        CodeBlock.Builder code = CodeBlock.builder();
+        switch (m.multiplicity()) {
+            case REQUIRED:
+                code.beginControlFlow("if ($L == null)", value)
+                        .addStatement("throw new $T($T.$L, $L)", ExMissingItem.class, ItemType.class, itemType, i)
+                        .endControlFlow();
+                code.addStatement("this.$N = $L", m.field(), value);
+                break;
+            case OPTIONAL:
+                code.addStatement("this.$N = $L", m.field(),
+                        extract(m, CodeBlock.of("$T.ofNullable($L)", Optional.class, value)));
+                break;
+            default:
+                if (m.convertAllMethod().isPresent()) {
+                    // the tokens were stored, to be checked together
+                    code.addStatement("this.$N = $T.$L($L,$W$T.$L,$W$L)", m.field(), ParseSupport.class,
+                            m.convertAllMethod().orElseThrow(), value, ItemType.class, itemType, i);
+                    break;
+                }
+                code.addStatement("this.$N = $L == null ? $T.of() : $L", m.field(), value, List.class, value);
+        }
+        return code.build();
     }
 }
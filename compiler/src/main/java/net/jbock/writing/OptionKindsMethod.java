@@ -0,0 +1,58 @@
+package net.jbock.writing;
+
+import io.jbock.javapoet.ClassName;
+import io.jbock.javapoet.CodeBlock;
+import io.jbock.javapoet.MethodSpec;
+import io.jbock.javapoet.ParameterSpec;
+import io.jbock.simple.Inject;
+import net.jbock.annotated.Option;
+import net.jbock.convert.Mapping;
+import net.jbock.parse.OptionKind;
+
+import java.util.EnumMap;
+import java.util.function.Supplier;
+
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.jbock.common.Constants.mapOf;
+import static net.jbock.common.Suppliers.memoize;
+
+final class OptionKindsMethod extends HasCommandRepresentation {
+
+    @Inject
+    OptionKindsMethod(CommandRepresentation commandRepresentation) {
+        super(commandRepresentation);
+    }
+
+    private final Supplier<MethodSpec> define = memoize(() -> {
+        ParameterSpec result = ParameterSpec.builder(
+                mapOf(optType(), ClassName.get(OptionKind.class)), "result").build();
+        CodeBlock.Builder code = CodeBlock.builder();
+        code.addStatement("$T $N = new $T<>($T.class)", result.type, result, EnumMap.class, sourceElement().optionEnumType());
+        for (Mapping<Option> namedOption : namedOptions()) {
+            code.addStatement("$N.put($T.$L, $T.$L)",
+                    result, sourceElement().optionEnumType(),
+                    namedOption.enumName(), OptionKind.class, optionKind(namedOption));
+        }
+        code.addStatement("return $N", result);
+        return MethodSpec.methodBuilder("optionKinds")
+                .addCode(code.build())
+                .returns(result.type)
+                .addModifiers(PRIVATE, STATIC)
+                .build();
+    });
+
+    MethodSpec get() {
+        return define.get();
+    }
+
+    private OptionKind optionKind(Mapping<Option> param) {
+        if (param.isRepeatable()) {
+            return OptionKind.REPEATABLE;
+        }
+        if (param.isNullary()) {
+            return OptionKind.MODE_FLAG;
+        }
+        return OptionKind.NON_REPEATABLE;
+    }
+}
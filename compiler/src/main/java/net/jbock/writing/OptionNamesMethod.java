@@ -13,6 +13,8 @@ import java.util.function.Supplier;
 
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.STATIC;
+import static net.jbock.common.Constants.STRING;
+import static net.jbock.common.Constants.mapOf;
 import static net.jbock.common.Suppliers.memoize;
 
 final class OptionNamesMethod extends HasCommandRepresentation {
@@ -25,7 +27,7 @@ final class OptionNamesMethod extends HasCommandRepresentation {
 
     private final Supplier<MethodSpec> define = memoize(() -> {
         ParameterSpec result = ParameterSpec.builder(
-                optionNames().type, "result").build();
+                mapOf(STRING, optType()), "result").build();
         long mapSize = namedOptions().stream()
                 .map(Mapping::item)
                 .map(Option::names)
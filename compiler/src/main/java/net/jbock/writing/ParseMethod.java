@@ -1,15 +1,27 @@
 package net.jbock.writing;
 
+import io.jbock.javapoet.ClassName;
 import io.jbock.javapoet.CodeBlock;
 import io.jbock.javapoet.MethodSpec;
 import io.jbock.javapoet.ParameterSpec;
+import io.jbock.javapoet.ParameterizedTypeName;
 import io.jbock.simple.Inject;
+import net.jbock.parse.ConcurrentConversion;
+import net.jbock.parse.ParseResult;
+import net.jbock.util.AtFileError;
 import net.jbock.util.ExFailure;
+import net.jbock.util.LazyExpansion;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import static io.jbock.javapoet.ParameterSpec.builder;
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static net.jbock.common.Constants.EITHER;
+import static net.jbock.common.Constants.ITERATOR_OF_STRING;
 import static net.jbock.common.Constants.LIST_OF_STRING;
 import static net.jbock.common.Suppliers.memoize;
 
@@ -17,55 +29,216 @@ final class ParseMethod extends HasCommandRepresentation {
 
     private final GeneratedTypes generatedTypes;
     private final CreateModelMethod createModelMethod;
-    private final ParserTypeFactory parserTypeFactory;
+    private final ParserSpecField parserSpecField;
 
     @Inject
     ParseMethod(
             GeneratedTypes generatedTypes,
             CommandRepresentation commandRepresentation,
             CreateModelMethod createModelMethod,
-            ParserTypeFactory parserTypeFactory) {
+            ParserSpecField parserSpecField) {
         super(commandRepresentation);
         this.generatedTypes = generatedTypes;
         this.createModelMethod = createModelMethod;
-        this.parserTypeFactory = parserTypeFactory;
+        this.parserSpecField = parserSpecField;
     }
 
     private final Supplier<MethodSpec> define = memoize(() -> {
+        if (lazyAtFileExpansion()) {
+            ParameterSpec tokens = builder(LIST_OF_STRING, "tokens").build();
+            return MethodSpec.methodBuilder("parse")
+                    .addParameter(tokens)
+                    .returns(generatedTypes().parseResultType())
+                    .addStatement("return $N($N.iterator())", iteratorMethod().orElseThrow(), tokens)
+                    .addModifiers(sourceElement().accessModifiers())
+                    .build();
+        }
+        if (concurrentConversion()) {
+            return defaultExecutorMethod(builder(LIST_OF_STRING, "tokens").build());
+        }
+        return parseMethod(builder(LIST_OF_STRING, "tokens").build(), Optional.empty());
+    });
 
-        ParameterSpec tokens = builder(LIST_OF_STRING, "tokens").build();
+    /**
+     * The {@code parse} method that takes an iterator,
+     * which is generated if the {@code @-file} is read lazily.
+     *
+     * @see net.jbock.Command#lazyAtFileExpansion()
+     */
+    private final Supplier<Optional<MethodSpec>> iteratorMethod = memoize(() -> {
+        if (!lazyAtFileExpansion()) {
+            return Optional.empty();
+        }
+        if (concurrentConversion()) {
+            return Optional.of(defaultExecutorMethod(builder(ITERATOR_OF_STRING, "tokens").build()));
+        }
+        return Optional.of(parseMethod(builder(ITERATOR_OF_STRING, "tokens").build(), Optional.empty()));
+    });
 
-        CodeBlock.Builder code = CodeBlock.builder();
+    /**
+     * The {@code parse} methods that take an executor,
+     * which are generated if concurrent conversion is enabled.
+     *
+     * @see net.jbock.Command#concurrentConversion()
+     */
+    private final Supplier<List<MethodSpec>> executorMethods = memoize(() -> {
+        if (!concurrentConversion()) {
+            return List.of();
+        }
+        List<MethodSpec> result = new ArrayList<>(2);
+        result.add(parseMethod(builder(LIST_OF_STRING, "tokens").build(), Optional.of(executor())));
+        if (lazyAtFileExpansion()) {
+            result.add(parseMethod(builder(ITERATOR_OF_STRING, "tokens").build(), Optional.of(executor())));
+        }
+        return result;
+    });
 
-        ParserType parserType = parserTypeFactory().get();
+    private MethodSpec defaultExecutorMethod(ParameterSpec tokens) {
+        return MethodSpec.methodBuilder("parse")
+                .addParameter(tokens)
+                .returns(generatedTypes().parseResultType())
+                .addStatement("return parse($N, $T.defaultExecutor())", tokens, ConcurrentConversion.class)
+                .addModifiers(sourceElement().accessModifiers())
+                .build();
+    }
 
+    /**
+     * The private {@code parse} method that is used by {@code parseOrExit}
+     * to parse the result of lazy {@code @-file} expansion.
+     * It finishes reading the {@code @-file} after the tokens were parsed,
+     * but before the items are converted, so that no conversion
+     * takes place if the {@code @-file} could not be read.
+     * Like {@link net.jbock.util.ParseRequest#expand()},
+     * an {@code @-file} error takes precedence over a parsing error.
+     *
+     * <p>This method is only generated if {@link net.jbock.Command#lazyAtFileExpansion()}
+     * is set, which can not be combined with {@link net.jbock.Command#convertWhileParsing()},
+     * because then the items would be converted while the {@code @-file} is read.
+     */
+    private final Supplier<Optional<MethodSpec>> expansionMethod = memoize(() -> {
+        if (!lazyAtFileExpansion()) {
+            return Optional.empty();
+        }
+        ParameterSpec tokens = builder(LazyExpansion.class, "tokens").build();
+        ParameterSpec failure = builder(ExFailure.class, "failure").build();
+        ParameterSpec error = builder(ParameterizedTypeName.get(ClassName.get(Optional.class),
+                ClassName.get(AtFileError.class)), "error").build();
         ParameterSpec e = builder(Exception.class, "e").build();
-        ParameterSpec parser = ParameterSpec.builder(parserType.type(), "parser").build();
-        code.addStatement("$T $N = $L", parserType.type(), parser, parserType.init());
+        ParameterSpec result = parseStateVariable();
+        CodeBlock.Builder code = CodeBlock.builder();
+        code.addStatement("$T $N = null", failure.type, failure);
+        if (specializedParser()) {
+            code.addStatement("$T $N = new $T()", result.type, result, result.type);
+        } else {
+            code.addStatement("$T $N = null", result.type, result);
+        }
         code.add("try {\n").indent()
-                .addStatement("$N.parse($N)", parser, tokens);
-        ParameterSpec impl = ParameterSpec.builder(generatedTypes().implType(), "impl").build();
-        code.addStatement("return $T.right(new $T($N))", EITHER,
-                impl.type, parser);
-        code.unindent().add("} catch ($T $N) {\n", ExFailure.class, e).indent()
+                .add(parseState(tokens, result))
+                .unindent().add("} catch ($T $N) {\n", ExFailure.class, e).indent()
+                .addStatement("$N = $N", failure, e)
+                .unindent().add("}\n");
+        code.addStatement("$T $N = $N.finish()", error.type, error, tokens)
+                .beginControlFlow("if ($N.isPresent())", error)
+                .addStatement("return $T.left($N.get().addModel($N()))", EITHER, error, createModelMethod().get())
+                .endControlFlow()
+                .beginControlFlow("if ($N != null)", failure)
+                .addStatement("return $T.left($N.toError($N()))", EITHER, failure, createModelMethod().get())
+                .endControlFlow();
+        code.add("try {\n").indent()
+                .addStatement("return $T.right($L)", EITHER, newImpl(result, concurrentConversion() ?
+                        Optional.of(CodeBlock.of("$T.defaultExecutor()", ConcurrentConversion.class)) :
+                        Optional.empty()))
+                .unindent().add("} catch ($T $N) {\n", ExFailure.class, e).indent()
                 .addStatement("return $T.left($N.toError($N()))",
                         EITHER, e, createModelMethod().get())
                 .unindent().add("}\n");
-
-        return MethodSpec.methodBuilder("parse")
+        return Optional.of(MethodSpec.methodBuilder("parseExpansion")
                 .addParameter(tokens)
                 .returns(generatedTypes().parseResultType())
+                .addCode(code.build())
+                .addModifiers(PRIVATE)
+                .build());
+    });
+
+    private MethodSpec parseMethod(ParameterSpec tokens, Optional<ParameterSpec> executor) {
+
+        CodeBlock.Builder code = CodeBlock.builder();
+
+        ParameterSpec e = builder(Exception.class, "e").build();
+        ParameterSpec result = parseStateVariable();
+        code.add("try {\n").indent();
+        if (specializedParser()) {
+            code.addStatement("$T $N = new $T()", result.type, result, result.type);
+            code.add(parseState(tokens, result));
+        } else {
+            code.addStatement("$T $N = $N.parse($N)", result.type, result, parserSpecField().get(), tokens);
+        }
+        code.addStatement("return $T.right($L)", EITHER,
+                newImpl(result, executor.map(ex -> CodeBlock.of("$N", ex))));
+        code.unindent().add("} catch ($T $N) {\n", ExFailure.class, e).indent()
+                .addStatement("return $T.left($N.toError($N()))",
+                        EITHER, e, createModelMethod().get())
+                .unindent().add("}\n");
+
+        MethodSpec.Builder spec = MethodSpec.methodBuilder("parse").addParameter(tokens);
+        executor.ifPresent(spec::addParameter);
+        return spec.returns(generatedTypes().parseResultType())
                 .addCode(code.build())
                 .addModifiers(sourceElement().accessModifiers())
                 .build();
-    });
+    }
+
+    /**
+     * The variable that holds the parse state,
+     * before the items are converted.
+     */
+    private ParameterSpec parseStateVariable() {
+        if (specializedParser()) {
+            return builder(generatedTypes().parseStateType(), "result").build();
+        }
+        return builder(ParameterizedTypeName.get(ClassName.get(ParseResult.class), optType()), "result").build();
+    }
+
+    /**
+     * Reads the tokens into the parse state.
+     * The parse state of a specialized parser must be initialized before.
+     */
+    private CodeBlock parseState(ParameterSpec tokens, ParameterSpec result) {
+        if (specializedParser()) {
+            return CodeBlock.builder().addStatement("$N.parse($L)", result, tokens.type.equals(LIST_OF_STRING) ?
+                    CodeBlock.of("$N.iterator()", tokens) :
+                    CodeBlock.of("$N", tokens)).build();
+        }
+        return CodeBlock.builder().addStatement("$N = $N.parse($N)", result, parserSpecField().get(), tokens).build();
+    }
+
+    private CodeBlock newImpl(ParameterSpec result, Optional<CodeBlock> executor) {
+        return CodeBlock.of("new $T($L)", generatedTypes().implType(),
+                executor.map(ex -> CodeBlock.of("$N, $L", result, ex)).orElse(CodeBlock.of("$N", result)));
+    }
 
     MethodSpec get() {
         return define.get();
     }
 
-    private ParserTypeFactory parserTypeFactory() {
-        return parserTypeFactory;
+    Optional<MethodSpec> iteratorMethod() {
+        return iteratorMethod.get();
+    }
+
+    Optional<MethodSpec> expansionMethod() {
+        return expansionMethod.get();
+    }
+
+    List<MethodSpec> executorMethods() {
+        return executorMethods.get();
+    }
+
+    private static ParameterSpec executor() {
+        return builder(Executor.class, "executor").build();
+    }
+
+    private ParserSpecField parserSpecField() {
+        return parserSpecField;
     }
 
     private CreateModelMethod createModelMethod() {
@@ -4,15 +4,19 @@ import io.jbock.javapoet.ArrayTypeName;
 import io.jbock.javapoet.CodeBlock;
 import io.jbock.javapoet.MethodSpec;
 import io.jbock.javapoet.ParameterSpec;
+import io.jbock.javapoet.ParameterizedTypeName;
+import io.jbock.javapoet.WildcardTypeName;
 import io.jbock.simple.Inject;
 import net.jbock.contrib.StandardErrorHandler;
 import net.jbock.util.AtFileError;
+import net.jbock.util.LazyExpansion;
 import net.jbock.util.ParseRequest;
 
 import java.util.List;
 
 import static io.jbock.javapoet.MethodSpec.methodBuilder;
 import static io.jbock.javapoet.ParameterSpec.builder;
+import static net.jbock.common.Constants.EITHER;
 import static net.jbock.common.Constants.LIST_OF_STRING;
 import static net.jbock.common.Constants.STRING;
 
@@ -40,7 +44,6 @@ final class ParseOrExitMethod extends HasCommandRepresentation {
                 builder(LIST_OF_STRING, "args").build() :
                 builder(ArrayTypeName.of(STRING), "args").build();
         ParameterSpec notSuccess = builder(generatedTypes.parseResultType(), "failure").build();
-        ParameterSpec err = builder(AtFileError.class, "err").build();
 
         CodeBlock.Builder code = CodeBlock.builder();
         if (parseOrExitMethodAcceptsList()) {
@@ -53,7 +56,23 @@ final class ParseOrExitMethod extends HasCommandRepresentation {
                 .addStatement("$T.exit(0)", System.class)
                 .endControlFlow();
 
-        if (enableAtFileExpansion()) {
+        if (noInvokeDynamic()) {
+            code.add(withoutLambdas(args));
+        } else if (lazyAtFileExpansion()) {
+            ParameterSpec tokens = lazyExpansion();
+            code.beginControlFlow("try ($T $N = $T.from($N).expandLazily())",
+                            tokens.type, tokens, ParseRequest.class, args)
+                    .add("return $N($N).orElseThrow($N -> {\n",
+                            parseMethod.expansionMethod().orElseThrow(), tokens, notSuccess)
+                    .indent()
+                    .addStatement("$T.builder().build().printErrorMessage($N)",
+                            StandardErrorHandler.class, notSuccess)
+                    .addStatement("$T.exit(1)", System.class)
+                    .addStatement("return new $T()", RuntimeException.class).unindent()
+                    .addStatement("})")
+                    .endControlFlow();
+        } else if (enableAtFileExpansion()) {
+            ParameterSpec err = builder(AtFileError.class, "err").build();
             code.add("return $T.from($N).expand()\n", ParseRequest.class, args).indent()
                     .add(".mapLeft($1N -> $1N.addModel($2N()))\n", err, createModelMethod.get())
                     .add(".flatMap(this::$N)\n", parseMethod.get())
@@ -80,4 +99,44 @@ final class ParseOrExitMethod extends HasCommandRepresentation {
                 .addCode(code.build())
                 .build();
     }
+
+    private ParameterSpec lazyExpansion() {
+        return builder(LazyExpansion.class, "tokens").build();
+    }
+
+    private CodeBlock withoutLambdas(ParameterSpec args) {
+        ParameterSpec result = builder(generatedTypes.parseResultType(), "result").build();
+        CodeBlock.Builder code = CodeBlock.builder();
+        if (lazyAtFileExpansion()) {
+            ParameterSpec tokens = lazyExpansion();
+            code.addStatement("$T $N", result.type, result);
+            code.beginControlFlow("try ($T $N = $T.from($N).expandLazily())",
+                            tokens.type, tokens, ParseRequest.class, args)
+                    .addStatement("$N = $N($N)", result, parseMethod.expansionMethod().orElseThrow(), tokens)
+                    .endControlFlow();
+        } else if (enableAtFileExpansion()) {
+            ParameterSpec tokens = builder(ParameterizedTypeName.get(EITHER,
+                    WildcardTypeName.subtypeOf(AtFileError.class), LIST_OF_STRING), "tokens").build();
+            code.addStatement("$T $N = $T.from($N).expand()", tokens.type, tokens, ParseRequest.class, args);
+            code.beginControlFlow("if ($N.isLeft())", tokens)
+                    .addStatement("$T.builder().build().printErrorMessage($N.getLeft().orElseThrow().addModel($N()))",
+                            StandardErrorHandler.class, tokens, createModelMethod.get())
+                    .addStatement("$T.exit(1)", System.class)
+                    .endControlFlow();
+            code.addStatement("$T $N = $N($N.getRight().orElseThrow())",
+                    result.type, result, parseMethod.get(), tokens);
+        } else {
+            CodeBlock pArgs = parseOrExitMethodAcceptsList() ?
+                    CodeBlock.of("$N", args) :
+                    CodeBlock.of("$T.of($N)", List.class, args);
+            code.addStatement("$T $N = $N($L)", result.type, result, parseMethod.get(), pArgs);
+        }
+        code.beginControlFlow("if ($N.isLeft())", result)
+                .addStatement("$T.builder().build().printErrorMessage($N.getLeft().orElseThrow())",
+                        StandardErrorHandler.class, result)
+                .addStatement("$T.exit(1)", System.class)
+                .endControlFlow();
+        code.addStatement("return $N.getRight().orElseThrow()", result);
+        return code.build();
+    }
 }
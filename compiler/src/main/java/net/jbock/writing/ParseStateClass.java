@@ -0,0 +1,487 @@
+package net.jbock.writing;
+
+import io.jbock.javapoet.ArrayTypeName;
+import io.jbock.javapoet.ClassName;
+import io.jbock.javapoet.CodeBlock;
+import io.jbock.javapoet.FieldSpec;
+import io.jbock.javapoet.MethodSpec;
+import io.jbock.javapoet.ParameterSpec;
+import io.jbock.javapoet.ParameterizedTypeName;
+import io.jbock.javapoet.TypeName;
+import io.jbock.javapoet.TypeSpec;
+import io.jbock.simple.Inject;
+import net.jbock.annotated.Option;
+import net.jbock.annotated.Parameter;
+import net.jbock.convert.Mapping;
+import net.jbock.model.ItemType;
+import net.jbock.parse.ParseSupport;
+import net.jbock.util.ConverterFailure;
+import net.jbock.util.ErrTokenType;
+import net.jbock.util.ExConvert;
+import net.jbock.util.ExFailure;
+import net.jbock.util.ExToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.jbock.common.Constants.EITHER;
+import static net.jbock.common.Constants.ITERATOR_OF_STRING;
+import static net.jbock.common.Constants.LIST_OF_STRING;
+import static net.jbock.common.Constants.STRING;
+import static net.jbock.common.Suppliers.memoize;
+
+/**
+ * Defines the *_ParseState class, a specialized parser which
+ * is generated when {@link net.jbock.Command#specializedParser()} is set.
+ * The option names are matched in a {@code switch} statement,
+ * without extracting the name from the token first,
+ * and the option values are stored in one field per option.
+ * This class does not use the option maps of the generic
+ * {@link net.jbock.parse.ParserSpec}. The constructor of the
+ * *_Impl class reads the fields directly.
+ *
+ * <p>If {@link net.jbock.Command#convertWhileParsing()} is set,
+ * the fields contain converted values instead of strings,
+ * except for an item that has a {@link Mapping#convertAllMethod()}.
+ * The tokens of such an item are converted together
+ * by the constructor of the *_Impl class.
+ */
+final class ParseStateClass extends HasCommandRepresentation {
+
+    private final GeneratedTypes generatedTypes;
+    private final EnumConverterFields enumConverterFields;
+
+    @Inject
+    ParseStateClass(
+            GeneratedTypes generatedTypes,
+            CommandRepresentation commandRepresentation,
+            EnumConverterFields enumConverterFields) {
+        super(commandRepresentation);
+        this.generatedTypes = generatedTypes;
+        this.enumConverterFields = enumConverterFields;
+    }
+
+    private final Supplier<ParameterSpec> token = memoize(() ->
+            ParameterSpec.builder(STRING, "token").build());
+
+    private final Supplier<ParameterSpec> it = memoize(() ->
+            ParameterSpec.builder(ITERATOR_OF_STRING, "it").build());
+
+    private final Supplier<FieldSpec> params = memoize(() ->
+            FieldSpec.builder(ArrayTypeName.of(STRING), "params", PRIVATE, FINAL)
+                    .initializer("new $T[$L]", STRING, positionalParameters().size())
+                    .build());
+
+    private final Supplier<FieldSpec> rest = memoize(() -> {
+        TypeName type = varargsParameter()
+                .filter(this::convertsToken)
+                .map(m -> listOf(TypeName.get(m.baseType())))
+                .orElse(LIST_OF_STRING);
+        return FieldSpec.builder(type, "rest", PRIVATE).build();
+    });
+
+    private final Supplier<List<FieldSpec>> optionFields = memoize(() -> {
+        List<FieldSpec> result = new ArrayList<>(namedOptions().size());
+        for (int i = 0; i < namedOptions().size(); i++) {
+            Mapping<Option> m = namedOptions().get(i);
+            TypeName valueType = convertsToken(m) ? TypeName.get(m.baseType()) : STRING;
+            TypeName type = m.isNullary() ? TypeName.BOOLEAN : m.isRepeatable() ? listOf(valueType) : valueType;
+            result.add(FieldSpec.builder(type, "option" + i, PRIVATE).build());
+        }
+        return result;
+    });
+
+    private final Supplier<List<FieldSpec>> paramFields = memoize(() -> {
+        List<FieldSpec> result = new ArrayList<>(positionalParameters().size());
+        for (int i = 0; i < positionalParameters().size(); i++) {
+            Mapping<Parameter> m = positionalParameters().get(i);
+            result.add(FieldSpec.builder(TypeName.get(m.baseType()), "param" + i, PRIVATE).build());
+        }
+        return result;
+    });
+
+    private final Supplier<List<FieldSpec>> converterFields = memoize(() -> {
+        List<FieldSpec> result = new ArrayList<>();
+        for (int i = 0; i < namedOptions().size(); i++) {
+            Mapping<Option> m = namedOptions().get(i);
+            result.add(convertsToken(m) && !m.isNullary() ? converterField(m, "option" + i + "Converter") : null);
+        }
+        for (int i = 0; i < positionalParameters().size(); i++) {
+            result.add(converterField(positionalParameters().get(i), "param" + i + "Converter"));
+        }
+        varargsParameter().ifPresent(m -> result.add(convertsToken(m) ? converterField(m, "restConverter") : null));
+        return result;
+    });
+
+    private final Supplier<MethodSpec> parseMethod = memoize(() -> {
+        ParameterSpec position = ParameterSpec.builder(TypeName.INT, "position").build();
+        ParameterSpec endOfOptionParsing = ParameterSpec.builder(TypeName.BOOLEAN, "endOfOptionParsing").build();
+        CodeBlock.Builder code = CodeBlock.builder();
+        code.addStatement("$T $N = 0", position.type, position);
+        code.addStatement("$T $N = false", endOfOptionParsing.type, endOfOptionParsing);
+        code.beginControlFlow("while ($N.hasNext())", it());
+        if (isSuperCommand()) {
+            code.addStatement("$N |= $N >= $L", endOfOptionParsing, position, positionalParameters().size());
+        }
+        code.addStatement("$T $N = $N.next()", STRING, token(), it());
+        code.beginControlFlow("if (!$N && $N.length() >= 2 && $N.charAt(0) == '-')",
+                endOfOptionParsing, token(), token());
+        if (!isSuperCommand()) {
+            code.beginControlFlow("if ($N.length() == 2 && $N.charAt(1) == '-')", token(), token());
+            code.addStatement("$N = true", endOfOptionParsing);
+            code.addStatement("continue");
+            code.endControlFlow();
+        }
+        code.beginControlFlow("if ($N($N, $N))", tryReadOptionMethod(), token(), it())
+                .addStatement("continue")
+                .endControlFlow();
+        code.beginControlFlow("if ($T.isSuspicious($N))", ParseSupport.class, token())
+                .addStatement("throw new $T($T.$L, $N)", ExToken.class, ErrTokenType.class,
+                        ErrTokenType.INVALID_OPTION, token())
+                .endControlFlow();
+        code.endControlFlow();
+        if (convertWhileParsing()) {
+            if (!positionalParameters().isEmpty()) {
+                code.beginControlFlow("if ($N < $L)", position, positionalParameters().size())
+                        .addStatement("$N($N++, $N)", readParamMethod(), position, token())
+                        .addStatement("continue")
+                        .endControlFlow();
+            }
+        } else {
+            code.beginControlFlow("if ($N < $N.length)", position, params())
+                    .addStatement("$N[$N++] = $N", params(), position, token())
+                    .addStatement("continue")
+                    .endControlFlow();
+        }
+        if (varargsParameter().isPresent()) {
+            code.beginControlFlow("if ($N == null)", rest())
+                    .addStatement("$N = new $T<>()", rest(), ArrayList.class)
+                    .endControlFlow();
+            code.addStatement("$N.add($L)", rest(), varargsParameter().filter(this::convertsToken).isPresent() ?
+                    convert(CodeBlock.of("$N", token()), converterFields().get(converterFields().size() - 1),
+                            ItemType.PARAMETER, positionalParameters().size()) :
+                    CodeBlock.of("$N", token()));
+        } else if (!isSuperCommand()) {
+            code.addStatement("throw new $T($T.$L, $N)", ExToken.class, ErrTokenType.class,
+                    ErrTokenType.EXCESS_PARAM, token());
+        }
+        code.endControlFlow();
+        return MethodSpec.methodBuilder("parse")
+                .addParameter(it())
+                .addException(exceptionType())
+                .addCode(code.build())
+                .build();
+    });
+
+    private final Supplier<MethodSpec> findOptionMethod = memoize(() -> {
+        CodeBlock.Builder code = CodeBlock.builder();
+        code.beginControlFlow("if ($N.charAt(1) != '-')", token());
+        code.beginControlFlow("switch ($N.charAt(1))", token());
+        for (int i = 0; i < namedOptions().size(); i++) {
+            for (String name : namedOptions().get(i).item().names()) {
+                if (!name.startsWith("--")) {
+                    code.add("case $L:\n", charLiteral(name.charAt(1)));
+                    code.indent().addStatement("return $L", i).unindent();
+                }
+            }
+        }
+        code.add("default:\n").indent().addStatement("return -1").unindent();
+        code.endControlFlow();
+        code.endControlFlow();
+        ParameterSpec equals = ParameterSpec.builder(TypeName.INT, "equals").build();
+        Map<Integer, List<CodeBlock>> gnuNamesByLength = new TreeMap<>();
+        for (int i = 0; i < namedOptions().size(); i++) {
+            for (String name : namedOptions().get(i).item().names()) {
+                if (name.startsWith("--")) {
+                    gnuNamesByLength.computeIfAbsent(name.length(), k -> new ArrayList<>())
+                            .add(CodeBlock.builder()
+                                    .beginControlFlow("if ($N.startsWith($S))", token(), name)
+                                    .addStatement("return $L", i)
+                                    .endControlFlow()
+                                    .build());
+                }
+            }
+        }
+        code.addStatement("$T $N = $N.indexOf('=')", equals.type, equals, token());
+        code.beginControlFlow("switch ($N == -1 ? $N.length() : $N)", equals, token(), equals);
+        gnuNamesByLength.forEach((length, checks) -> {
+            code.add("case $L:\n", length).indent();
+            checks.forEach(code::add);
+            code.addStatement("return -1").unindent();
+        });
+        code.add("default:\n").indent().addStatement("return -1").unindent();
+        code.endControlFlow();
+        return MethodSpec.methodBuilder("findOption")
+                .addParameter(token())
+                .returns(TypeName.INT)
+                .addModifiers(PRIVATE, STATIC)
+                .addCode(code.build())
+                .build();
+    });
+
+    private final Supplier<MethodSpec> tryReadOptionMethod = memoize(() -> {
+        ParameterSpec option = ParameterSpec.builder(TypeName.INT, "option").build();
+        ParameterSpec t = ParameterSpec.builder(STRING, "t").build();
+        CodeBlock.Builder code = CodeBlock.builder();
+        code.addStatement("$T $N = $N($N)", option.type, option, findOptionMethod(), token());
+        code.beginControlFlow("if ($N == -1)", option)
+                .addStatement("return false")
+                .endControlFlow();
+        code.addStatement("$T $N = $N", t.type, t, token());
+        code.beginControlFlow("while (($N = $N($N, $N, $N)) != null)", t, readMethod(), option, t, it());
+        code.beginControlFlow("if (($N = $N($N)) == -1)", option, findOptionMethod(), t)
+                .addStatement("throw new $T($T.$L, $N)", ExToken.class, ErrTokenType.class,
+                        ErrTokenType.INVALID_UNIX_GROUP, token())
+                .endControlFlow();
+        code.endControlFlow();
+        code.addStatement("return true");
+        return MethodSpec.methodBuilder("tryReadOption")
+                .addParameter(token())
+                .addParameter(it())
+                .addException(exceptionType())
+                .returns(TypeName.BOOLEAN)
+                .addModifiers(PRIVATE)
+                .addCode(code.build())
+                .build();
+    });
+
+    private final Supplier<MethodSpec> readMethod = memoize(() -> {
+        ParameterSpec option = ParameterSpec.builder(TypeName.INT, "option").build();
+        CodeBlock.Builder code = CodeBlock.builder();
+        code.beginControlFlow("switch ($N)", option);
+        for (int i = 0; i < namedOptions().size(); i++) {
+            Mapping<Option> m = namedOptions().get(i);
+            FieldSpec field = optionFields().get(i);
+            code.add("case $L:\n", i).indent();
+            if (m.isRepeatable()) {
+                code.beginControlFlow("if ($N == null)", field)
+                        .addStatement("$N = new $T<>()", field, ArrayList.class)
+                        .endControlFlow();
+                code.addStatement("$N.add($L)", field, readOptionArgument(i));
+                code.addStatement("return null");
+            } else {
+                code.beginControlFlow(m.isNullary() ? "if ($N)" : "if ($N != null)", field)
+                        .addStatement("throw new $T($T.$L, $N)", ExToken.class, ErrTokenType.class,
+                                ErrTokenType.OPTION_REPETITION, token())
+                        .endControlFlow();
+                if (m.isNullary()) {
+                    code.addStatement("$N = true", field);
+                    code.addStatement("return $T.readModeFlag($N)", ParseSupport.class, token());
+                } else {
+                    code.addStatement("$N = $L", field, readOptionArgument(i));
+                    code.addStatement("return null");
+                }
+            }
+            code.unindent();
+        }
+        code.add("default:\n").indent()
+                .addStatement("throw new $T()", AssertionError.class)
+                .unindent();
+        code.endControlFlow();
+        return MethodSpec.methodBuilder("read")
+                .addParameter(option)
+                .addParameter(token())
+                .addParameter(it())
+                .addException(exceptionType())
+                .returns(STRING)
+                .addModifiers(PRIVATE)
+                .addCode(code.build())
+                .build();
+    });
+
+    private final Supplier<MethodSpec> readParamMethod = memoize(() -> {
+        ParameterSpec index = ParameterSpec.builder(TypeName.INT, "index").build();
+        CodeBlock.Builder code = CodeBlock.builder();
+        code.beginControlFlow("switch ($N)", index);
+        for (int i = 0; i < positionalParameters().size(); i++) {
+            code.add("case $L:\n", i).indent()
+                    .addStatement("$N = $L", paramFields().get(i), convert(CodeBlock.of("$N", token()),
+                            converterFields().get(namedOptions().size() + i), ItemType.PARAMETER, i))
+                    .addStatement("return")
+                    .unindent();
+        }
+        code.add("default:\n").indent()
+                .addStatement("throw new $T()", AssertionError.class)
+                .unindent();
+        code.endControlFlow();
+        return MethodSpec.methodBuilder("readParam")
+                .addParameter(index)
+                .addParameter(token())
+                .addException(ExConvert.class)
+                .addModifiers(PRIVATE)
+                .addCode(code.build())
+                .build();
+    });
+
+    TypeSpec define() {
+        TypeSpec.Builder spec = TypeSpec.classBuilder(generatedTypes.parseStateType())
+                .addModifiers(PRIVATE, STATIC, FINAL);
+        if (convertWhileParsing()) {
+            for (FieldSpec converter : converterFields()) {
+                if (converter != null) {
+                    spec.addField(converter);
+                }
+            }
+            spec.addFields(optionFields());
+            spec.addFields(paramFields());
+            if (varargsParameter().isPresent()) {
+                spec.addField(rest());
+            }
+        } else {
+            spec.addFields(optionFields());
+            spec.addField(params());
+            if (varargsParameter().isPresent()) {
+                spec.addField(rest());
+            }
+        }
+        spec.addMethod(parseMethod.get());
+        if (namedOptions().isEmpty()) {
+            spec.addMethod(MethodSpec.methodBuilder("tryReadOption")
+                    .addParameter(token())
+                    .addParameter(it())
+                    .returns(TypeName.BOOLEAN)
+                    .addModifiers(PRIVATE)
+                    .addStatement("return false")
+                    .build());
+        } else {
+            spec.addMethod(tryReadOptionMethod());
+            spec.addMethod(findOptionMethod());
+            spec.addMethod(readMethod());
+        }
+        if (convertWhileParsing() && !positionalParameters().isEmpty()) {
+            spec.addMethod(readParamMethod());
+        }
+        return spec.build();
+    }
+
+    /**
+     * Returns the field that holds the value of the named option
+     * at the given index.
+     */
+    FieldSpec optionField(int i) {
+        return optionFields().get(i);
+    }
+
+    /**
+     * Returns the field that holds the converted value of the positional
+     * parameter at the given index, if {@link #convertWhileParsing()} is set.
+     */
+    FieldSpec paramField(int i) {
+        return paramFields().get(i);
+    }
+
+    /**
+     * Returns the array that holds the positional parameters,
+     * if {@link #convertWhileParsing()} is not set.
+     */
+    FieldSpec paramsField() {
+        return params();
+    }
+
+    /**
+     * Returns the field that holds the excess parameters,
+     * if there is a varargs parameter.
+     */
+    FieldSpec restField() {
+        return rest();
+    }
+
+    private CodeBlock readOptionArgument(int i) {
+        CodeBlock value = CodeBlock.of("$T.readOptionArgument($N, $N)", ParseSupport.class, token(), it());
+        if (!convertsToken(namedOptions().get(i))) {
+            return value;
+        }
+        return convert(value, converterFields().get(i), ItemType.OPTION, i);
+    }
+
+    /**
+     * Returns {@code true} if each token of the item is converted
+     * as soon as it is read.
+     */
+    private boolean convertsToken(Mapping<?> m) {
+        return convertWhileParsing() && m.convertAllMethod().isEmpty();
+    }
+
+    private static CodeBlock convert(CodeBlock value, FieldSpec converter, ItemType itemType, int i) {
+        return CodeBlock.of("$T.convert($N, $L, $T.$L, $L)",
+                ParseSupport.class, converter, value, ItemType.class, itemType, i);
+    }
+
+    private FieldSpec converterField(Mapping<?> m, String name) {
+        TypeName type = ParameterizedTypeName.get(ClassName.get(Function.class), STRING,
+                ParameterizedTypeName.get(EITHER, ClassName.get(ConverterFailure.class),
+                        TypeName.get(m.baseType())));
+        return FieldSpec.builder(type, name, PRIVATE, FINAL)
+                .initializer(enumConverterFields.converterExpression(m))
+                .build();
+    }
+
+    private static TypeName listOf(TypeName type) {
+        return ParameterizedTypeName.get(ClassName.get(List.class), type);
+    }
+
+    private Class<? extends ExFailure> exceptionType() {
+        return convertWhileParsing() ? ExFailure.class : ExToken.class;
+    }
+
+    private static String charLiteral(char c) {
+        if (c == '\'' || c == '\\') {
+            return "'\\" + c + "'";
+        }
+        if (c < 0x20 || c > 0x7e) {
+            return String.format("'\\u%04x'", (int) c);
+        }
+        return "'" + c + "'";
+    }
+
+    private ParameterSpec token() {
+        return token.get();
+    }
+
+    private ParameterSpec it() {
+        return it.get();
+    }
+
+    private FieldSpec params() {
+        return params.get();
+    }
+
+    private FieldSpec rest() {
+        return rest.get();
+    }
+
+    private List<FieldSpec> optionFields() {
+        return optionFields.get();
+    }
+
+    private List<FieldSpec> paramFields() {
+        return paramFields.get();
+    }
+
+    private List<FieldSpec> converterFields() {
+        return converterFields.get();
+    }
+
+    private MethodSpec readParamMethod() {
+        return readParamMethod.get();
+    }
+
+    private MethodSpec findOptionMethod() {
+        return findOptionMethod.get();
+    }
+
+    private MethodSpec tryReadOptionMethod() {
+        return tryReadOptionMethod.get();
+    }
+
+    private MethodSpec readMethod() {
+        return readMethod.get();
+    }
+}
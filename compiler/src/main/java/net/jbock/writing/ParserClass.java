@@ -16,8 +16,11 @@ final class ParserClass extends HasCommandRepresentation {
     private final CreateModelMethod createModelMethod;
     private final GeneratedAnnotation generatedAnnotation;
     private final OptionNamesMethod optionNamesMethod;
-    private final OptionStatesMethod optionStatesMethod;
+    private final OptionKindsMethod optionKindsMethod;
+    private final ParserSpecField parserSpecField;
+    private final ParseStateClass parseStateClass;
     private final ImplClass implClass;
+    private final EnumConverterFields enumConverterFields;
 
     @Inject
     ParserClass(
@@ -28,8 +31,11 @@ final class ParserClass extends HasCommandRepresentation {
             CreateModelMethod createModelMethod,
             GeneratedAnnotation generatedAnnotation,
             OptionNamesMethod optionNamesMethod,
-            OptionStatesMethod optionStatesMethod,
-            ImplClass implClass) {
+            OptionKindsMethod optionKindsMethod,
+            ParserSpecField parserSpecField,
+            ParseStateClass parseStateClass,
+            ImplClass implClass,
+            EnumConverterFields enumConverterFields) {
         super(commandRepresentation);
         this.parseMethod = parseMethod;
         this.optionEnum = optionEnum;
@@ -37,8 +43,11 @@ final class ParserClass extends HasCommandRepresentation {
         this.createModelMethod = createModelMethod;
         this.generatedAnnotation = generatedAnnotation;
         this.optionNamesMethod = optionNamesMethod;
-        this.optionStatesMethod = optionStatesMethod;
+        this.optionKindsMethod = optionKindsMethod;
+        this.parserSpecField = parserSpecField;
+        this.parseStateClass = parseStateClass;
         this.implClass = implClass;
+        this.enumConverterFields = enumConverterFields;
     }
 
     /**
@@ -48,17 +57,27 @@ final class ParserClass extends HasCommandRepresentation {
      */
     TypeSpec define() {
         TypeSpec.Builder spec = TypeSpec.classBuilder(sourceElement().generatedClass());
+        if (!specializedParser()) {
+            spec.addField(parserSpecField.get());
+        }
+        spec.addFields(enumConverterFields.get());
         spec.addMethod(parseMethod.get());
+        parseMethod.iteratorMethod().ifPresent(spec::addMethod);
+        spec.addMethods(parseMethod.executorMethods());
         if (!sourceElement().skipGeneratingParseOrExitMethod()) {
             spec.addMethod(parseOrExitMethod.define());
+            parseMethod.expansionMethod().ifPresent(spec::addMethod);
         }
         if (!namedOptions().isEmpty()) {
-            spec.addField(optionNames().toBuilder()
-                    .initializer("$N()", optionNamesMethod.get()).build());
-            spec.addMethod(optionNamesMethod.get());
-            spec.addMethod(optionStatesMethod.get());
+            if (!specializedParser()) {
+                spec.addMethod(optionNamesMethod.get());
+                spec.addMethod(optionKindsMethod.get());
+            }
             spec.addType(optionEnum.define());
         }
+        if (specializedParser()) {
+            spec.addType(parseStateClass.define());
+        }
 
         spec.addMethod(createModelMethod.get());
 
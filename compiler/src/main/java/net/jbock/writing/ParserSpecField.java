@@ -0,0 +1,66 @@
+package net.jbock.writing;
+
+import io.jbock.javapoet.ClassName;
+import io.jbock.javapoet.CodeBlock;
+import io.jbock.javapoet.FieldSpec;
+import io.jbock.javapoet.ParameterizedTypeName;
+import io.jbock.simple.Inject;
+import net.jbock.parse.ParserSpec;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.jbock.common.Suppliers.memoize;
+
+/**
+ * Defines the static {@link ParserSpec} field,
+ * which is shared by all invocations of the {@code parse} method.
+ */
+final class ParserSpecField extends HasCommandRepresentation {
+
+    private final OptionNamesMethod optionNamesMethod;
+    private final OptionKindsMethod optionKindsMethod;
+
+    @Inject
+    ParserSpecField(
+            CommandRepresentation commandRepresentation,
+            OptionNamesMethod optionNamesMethod,
+            OptionKindsMethod optionKindsMethod) {
+        super(commandRepresentation);
+        this.optionNamesMethod = optionNamesMethod;
+        this.optionKindsMethod = optionKindsMethod;
+    }
+
+    private final Supplier<FieldSpec> define = memoize(() -> {
+        CodeBlock optionNames = namedOptions().isEmpty() ?
+                CodeBlock.of("$T.of()", Map.class) :
+                CodeBlock.of("$N()", optionNamesMethod().get());
+        CodeBlock optionKinds = namedOptions().isEmpty() ?
+                CodeBlock.of("$T.of()", Map.class) :
+                CodeBlock.of("$N()", optionKindsMethod().get());
+        int numParams = positionalParameters().size();
+        String factory = isSuperCommand() ? "superCommand" :
+                varargsParameter().isPresent() ? "varargsParameter" :
+                        "standard";
+        ClassName parserSpec = ClassName.get(ParserSpec.class);
+        return FieldSpec.builder(ParameterizedTypeName.get(parserSpec, optType()), "PARSER_SPEC")
+                .addModifiers(PRIVATE, STATIC, FINAL)
+                .initializer("$T.$L($L, $L, $L)", parserSpec, factory, optionNames, optionKinds, numParams)
+                .build();
+    });
+
+    FieldSpec get() {
+        return define.get();
+    }
+
+    private OptionNamesMethod optionNamesMethod() {
+        return optionNamesMethod;
+    }
+
+    private OptionKindsMethod optionKindsMethod() {
+        return optionKindsMethod;
+    }
+}
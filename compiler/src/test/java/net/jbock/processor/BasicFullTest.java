@@ -25,7 +25,6 @@ class BasicFullTest {
                         "package test;",
                         "",
                         "import io.jbock.util.Either;",
-                        "import io.jbock.util.Eithers;",
                         "import java.util.List;",
                         "import java.util.Map;",
                         "import javax.annotation.processing.Generated;",
@@ -34,8 +33,9 @@ class BasicFullTest {
                         "import net.jbock.model.ItemType;",
                         "import net.jbock.model.Multiplicity;",
                         "import net.jbock.model.Parameter;",
-                        "import net.jbock.parse.VarargsParameterParser;",
-                        "import net.jbock.util.ExConvert;",
+                        "import net.jbock.parse.ParseResult;",
+                        "import net.jbock.parse.ParseSupport;",
+                        "import net.jbock.parse.ParserSpec;",
                         "import net.jbock.util.ExFailure;",
                         "import net.jbock.util.ParsingFailed;",
                         "",
@@ -44,11 +44,12 @@ class BasicFullTest {
                         "    comments = \"https://github.com/jbock-java/jbock\"",
                         ")",
                         "final class ArgumentsParser {",
+                        "  private static final ParserSpec<Void> PARSER_SPEC = ParserSpec.varargsParameter(Map.of(), Map.of(), 0);",
+                        "",
                         "  Either<ParsingFailed, Arguments> parse(List<String> tokens) {",
-                        "    VarargsParameterParser<Void> parser = VarargsParameterParser.create(Map.of(), Map.of(), 0);",
                         "    try {",
-                        "      parser.parse(tokens);",
-                        "      return Either.right(new Arguments_Impl(parser));",
+                        "      ParseResult<Void> result = PARSER_SPEC.parse(tokens);",
+                        "      return Either.right(new Arguments_Impl(result));",
                         "    } catch (ExFailure e) {",
                         "      return Either.left(e.toError(createModel()));",
                         "    }",
@@ -67,10 +68,8 @@ class BasicFullTest {
                         "    final List<String> hello;",
                         "",
                         "    Arguments_Impl(ParseResult<Void> result) throws ExFailure {",
-                        "      this.hello = result.rest()",
-                        "            .map(StandardConverters.asString())",
-                        "            .collect(Eithers.firstFailure())",
-                        "            .orElseThrow(left -> new ExConvert(left, ItemType.PARAMETER, 0));",
+                        "      this.hello = ParseSupport.convertAll(StandardConverters.asString(), result.restValues(),",
+                        "          ItemType.PARAMETER, 0);",
                         "    }",
                         "",
                         "    @Override",
@@ -99,7 +98,6 @@ class BasicFullTest {
                         "package test;",
                         "",
                         "import io.jbock.util.Either;",
-                        "import io.jbock.util.Eithers;",
                         "import java.util.List;",
                         "import java.util.Map;",
                         "import javax.annotation.processing.Generated;",
@@ -108,8 +106,9 @@ class BasicFullTest {
                         "import net.jbock.model.ItemType;",
                         "import net.jbock.model.Multiplicity;",
                         "import net.jbock.model.Parameter;",
-                        "import net.jbock.parse.VarargsParameterParser;",
-                        "import net.jbock.util.ExConvert;",
+                        "import net.jbock.parse.ParseResult;",
+                        "import net.jbock.parse.ParseSupport;",
+                        "import net.jbock.parse.ParserSpec;",
                         "import net.jbock.util.ExFailure;",
                         "import net.jbock.util.ParsingFailed;",
                         "",
@@ -118,11 +117,12 @@ class BasicFullTest {
                         "    comments = \"https://github.com/jbock-java/jbock\"",
                         ")",
                         "public final class ArgumentsParser {",
+                        "  private static final ParserSpec<Void> PARSER_SPEC = ParserSpec.varargsParameter(Map.of(), Map.of(), 0);",
+                        "",
                         "  public Either<ParsingFailed, Arguments> parse(List<String> tokens) {",
-                        "    VarargsParameterParser<Void> parser = VarargsParameterParser.create(Map.of(), Map.of(), 0);",
                         "    try {",
-                        "      parser.parse(tokens);",
-                        "      return Either.right(new Arguments_Impl(parser));",
+                        "      ParseResult<Void> result = PARSER_SPEC.parse(tokens);",
+                        "      return Either.right(new Arguments_Impl(result));",
                         "    } catch (ExFailure e) {",
                         "      return Either.left(e.toError(createModel()));",
                         "    }",
@@ -141,10 +141,8 @@ class BasicFullTest {
                         "    final List<String> hello;",
                         "",
                         "    Arguments_Impl(ParseResult<Void> result) throws ExFailure {",
-                        "      this.hello = result.rest()",
-                        "            .map(StandardConverters.asString())",
-                        "            .collect(Eithers.firstFailure())",
-                        "            .orElseThrow(left -> new ExConvert(left, ItemType.PARAMETER, 0));",
+                        "      this.hello = ParseSupport.convertAll(StandardConverters.asString(), result.restValues(),",
+                        "          ItemType.PARAMETER, 0);",
                         "    }",
                         "",
                         "    @Override",
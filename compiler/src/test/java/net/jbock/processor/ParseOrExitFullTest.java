@@ -25,7 +25,6 @@ class ParseOrExitFullTest {
                         "package test;",
                         "",
                         "import io.jbock.util.Either;",
-                        "import io.jbock.util.Eithers;",
                         "import java.util.List;",
                         "import java.util.Map;",
                         "import javax.annotation.processing.Generated;",
@@ -35,8 +34,9 @@ class ParseOrExitFullTest {
                         "import net.jbock.model.ItemType;",
                         "import net.jbock.model.Multiplicity;",
                         "import net.jbock.model.Parameter;",
-                        "import net.jbock.parse.VarargsParameterParser;",
-                        "import net.jbock.util.ExConvert;",
+                        "import net.jbock.parse.ParseResult;",
+                        "import net.jbock.parse.ParseSupport;",
+                        "import net.jbock.parse.ParserSpec;",
                         "import net.jbock.util.ExFailure;",
                         "import net.jbock.util.ParsingFailed;",
                         "",
@@ -45,11 +45,12 @@ class ParseOrExitFullTest {
                         "    comments = \"https://github.com/jbock-java/jbock\"",
                         ")",
                         "final class ArgumentsParser {",
+                        "  private static final ParserSpec<Void> PARSER_SPEC = ParserSpec.varargsParameter(Map.of(), Map.of(), 0);",
+                        "",
                         "  Either<ParsingFailed, Arguments> parse(List<String> tokens) {",
-                        "    VarargsParameterParser<Void> parser = VarargsParameterParser.create(Map.of(), Map.of(), 0);",
                         "    try {",
-                        "      parser.parse(tokens);",
-                        "      return Either.right(new Arguments_Impl(parser));",
+                        "      ParseResult<Void> result = PARSER_SPEC.parse(tokens);",
+                        "      return Either.right(new Arguments_Impl(result));",
                         "    } catch (ExFailure e) {",
                         "      return Either.left(e.toError(createModel()));",
                         "    }",
@@ -81,10 +82,8 @@ class ParseOrExitFullTest {
                         "    final List<String> hello;",
                         "",
                         "    Arguments_Impl(ParseResult<Void> result) throws ExFailure {",
-                        "      this.hello = result.rest()",
-                        "            .map(StandardConverters.asString())",
-                        "            .collect(Eithers.firstFailure())",
-                        "            .orElseThrow(left -> new ExConvert(left, ItemType.PARAMETER, 0));",
+                        "      this.hello = ParseSupport.convertAll(StandardConverters.asString(), result.restValues(),",
+                        "          ItemType.PARAMETER, 0);",
                         "    }",
                         "",
                         "    @Override",
@@ -113,7 +112,6 @@ class ParseOrExitFullTest {
                         "package test;",
                         "",
                         "import io.jbock.util.Either;",
-                        "import io.jbock.util.Eithers;",
                         "import java.util.List;",
                         "import java.util.Map;",
                         "import javax.annotation.processing.Generated;",
@@ -123,8 +121,9 @@ class ParseOrExitFullTest {
                         "import net.jbock.model.ItemType;",
                         "import net.jbock.model.Multiplicity;",
                         "import net.jbock.model.Parameter;",
-                        "import net.jbock.parse.VarargsParameterParser;",
-                        "import net.jbock.util.ExConvert;",
+                        "import net.jbock.parse.ParseResult;",
+                        "import net.jbock.parse.ParseSupport;",
+                        "import net.jbock.parse.ParserSpec;",
                         "import net.jbock.util.ExFailure;",
                         "import net.jbock.util.ParsingFailed;",
                         "",
@@ -133,11 +132,12 @@ class ParseOrExitFullTest {
                         "    comments = \"https://github.com/jbock-java/jbock\"",
                         ")",
                         "public final class ArgumentsParser {",
+                        "  private static final ParserSpec<Void> PARSER_SPEC = ParserSpec.varargsParameter(Map.of(), Map.of(), 0);",
+                        "",
                         "  public Either<ParsingFailed, Arguments> parse(List<String> tokens) {",
-                        "    VarargsParameterParser<Void> parser = VarargsParameterParser.create(Map.of(), Map.of(), 0);",
                         "    try {",
-                        "      parser.parse(tokens);",
-                        "      return Either.right(new Arguments_Impl(parser));",
+                        "      ParseResult<Void> result = PARSER_SPEC.parse(tokens);",
+                        "      return Either.right(new Arguments_Impl(result));",
                         "    } catch (ExFailure e) {",
                         "      return Either.left(e.toError(createModel()));",
                         "    }",
@@ -169,10 +169,8 @@ class ParseOrExitFullTest {
                         "    final List<String> hello;",
                         "",
                         "    Arguments_Impl(ParseResult<Void> result) throws ExFailure {",
-                        "      this.hello = result.rest()",
-                        "            .map(StandardConverters.asString())",
-                        "            .collect(Eithers.firstFailure())",
-                        "            .orElseThrow(left -> new ExConvert(left, ItemType.PARAMETER, 0));",
+                        "      this.hello = ParseSupport.convertAll(StandardConverters.asString(), result.restValues(),",
+                        "          ItemType.PARAMETER, 0);",
                         "    }",
                         "",
                         "    @Override",
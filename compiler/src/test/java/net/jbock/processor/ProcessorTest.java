@@ -799,4 +799,376 @@ class ProcessorTest {
                 .failsToCompile()
                 .withErrorContaining("inaccessible type: Foo");
     }
+
+    @Test
+    void specializedParser() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(specializedParser = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = {\"--a\", \"-'\"})",
+                "  abstract boolean a();",
+                "",
+                "  @Option(names = {\"--b\", \"-\\\\\"})",
+                "  abstract java.util.Optional<String> b();",
+                "",
+                "  @Option(names = \"-\\u00e4\")",
+                "  abstract java.util.List<String> c();",
+                "",
+                "  @Parameter(index = 0)",
+                "  abstract String d();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void specializedParserWithoutOptions() {
+        JavaFileObject javaFile = fromSource(
+                "@SuperCommand(specializedParser = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Parameter(index = 0)",
+                "  abstract String a();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<String> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void noInvokeDynamic() {
+        JavaFileObject javaFile = fromSource(
+                "@SuperCommand(noInvokeDynamic = true,",
+                "              enableAtFileExpansion = true,",
+                "              parseOrExitMethodAcceptsList = true)",
+                "abstract class Arguments {",
+                "",
+                "  enum Color { RED, GREEN }",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.Optional<Color> a();",
+                "",
+                "  @Option(names = \"--b\")",
+                "  abstract java.util.OptionalLong b();",
+                "",
+                "  @Parameter(index = 0)",
+                "  abstract java.util.OptionalDouble c();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<String> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void noInvokeDynamicConvertWhileParsing() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(noInvokeDynamic = true, convertWhileParsing = true)",
+                "abstract class Arguments {",
+                "",
+                "  enum Color { RED, GREEN }",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract Color a();",
+                "",
+                "  @Option(names = \"--b\")",
+                "  abstract java.util.OptionalInt b();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void enumConvertersWithSameSimpleName() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(specializedParser = true, convertWhileParsing = true)",
+                "abstract class Arguments {",
+                "",
+                "  enum Color { RED, GREEN }",
+                "",
+                "  static class Inner {",
+                "    enum Color { BLUE }",
+                "  }",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract Color a();",
+                "",
+                "  @Option(names = \"--b\")",
+                "  abstract java.util.Optional<Color> b();",
+                "",
+                "  @Option(names = \"--c\")",
+                "  abstract java.util.List<Inner.Color> c();",
+                "",
+                "  @Parameter(index = 0)",
+                "  abstract Inner.Color d();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void concurrentConversion() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(concurrentConversion = true, enableAtFileExpansion = true)",
+                "abstract class Arguments {",
+                "",
+                "  enum Color { RED, GREEN }",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.Optional<Color> a();",
+                "",
+                "  @Option(names = \"--b\")",
+                "  abstract java.util.OptionalLong b();",
+                "",
+                "  @Option(names = \"--c\")",
+                "  abstract boolean c();",
+                "",
+                "  @Parameter(index = 0)",
+                "  abstract int d();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<java.nio.file.Path> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void concurrentConversionSpecializedParser() {
+        JavaFileObject javaFile = fromSource(
+                "@SuperCommand(concurrentConversion = true, specializedParser = true, noInvokeDynamic = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.OptionalInt a();",
+                "",
+                "  @Parameter(index = 0)",
+                "  abstract String b();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<String> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void lazyConversion() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(lazyConversion = true)",
+                "abstract class Arguments {",
+                "",
+                "  enum Color { RED, GREEN }",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.Optional<Color> a();",
+                "",
+                "  @Option(names = \"--b\")",
+                "  abstract java.util.OptionalLong b();",
+                "",
+                "  @Option(names = \"--c\")",
+                "  abstract boolean c();",
+                "",
+                "  @Option(names = \"--e\")",
+                "  abstract java.util.List<java.io.File> e();",
+                "",
+                "  @Parameter(index = 0)",
+                "  abstract int d();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<java.nio.file.Path> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void lazyConversionSpecializedParser() {
+        JavaFileObject javaFile = fromSource(
+                "@SuperCommand(lazyConversion = true, specializedParser = true, noInvokeDynamic = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.OptionalInt a();",
+                "",
+                "  @Parameter(index = 0)",
+                "  abstract String b();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<String> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void specializedParserAtFileExpansion() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(specializedParser = true, enableAtFileExpansion = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.Optional<String> a();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<String> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void convertWhileParsingAtFileExpansion() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(convertWhileParsing = true, enableAtFileExpansion = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.OptionalInt a();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<String> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void noInvokeDynamicConvertWhileParsingAtFileExpansion() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(noInvokeDynamic = true, convertWhileParsing = true, enableAtFileExpansion = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract int a();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void lazyAtFileExpansion() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(lazyAtFileExpansion = true, enableAtFileExpansion = true, concurrentConversion = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.OptionalInt a();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<java.io.File> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void noInvokeDynamicLazyAtFileExpansion() {
+        JavaFileObject javaFile = fromSource(
+                "@SuperCommand(noInvokeDynamic = true, specializedParser = true,",
+                "              lazyAtFileExpansion = true, enableAtFileExpansion = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract java.util.Optional<String> a();",
+                "",
+                "  @VarargsParameter",
+                "  abstract java.util.List<String> rest();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .compilesWithoutError();
+    }
+
+    @Test
+    void lazyAtFileExpansionRequiresAtFileExpansion() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(lazyAtFileExpansion = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract int a();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .failsToCompile()
+                .withErrorContaining("lazyAtFileExpansion requires enableAtFileExpansion");
+    }
+
+    @Test
+    void lazyAtFileExpansionConvertWhileParsing() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(lazyAtFileExpansion = true, enableAtFileExpansion = true, convertWhileParsing = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract int a();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .failsToCompile()
+                .withErrorContaining("lazyAtFileExpansion can not be combined with convertWhileParsing");
+    }
+
+    @Test
+    void concurrentConversionLazyConversion() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(concurrentConversion = true, lazyConversion = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract int a();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .failsToCompile()
+                .withErrorContaining("concurrentConversion can not be combined with lazyConversion");
+    }
+
+    @Test
+    void concurrentConversionConvertWhileParsing() {
+        JavaFileObject javaFile = fromSource(
+                "@SuperCommand(concurrentConversion = true, convertWhileParsing = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract int a();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .failsToCompile()
+                .withErrorContaining("concurrentConversion can not be combined with convertWhileParsing");
+    }
+
+    @Test
+    void lazyConversionConvertWhileParsing() {
+        JavaFileObject javaFile = fromSource(
+                "@Command(lazyConversion = true, convertWhileParsing = true)",
+                "abstract class Arguments {",
+                "",
+                "  @Option(names = \"--a\")",
+                "  abstract int a();",
+                "}");
+        assertAbout(javaSources()).that(singletonList(javaFile))
+                .processedWith(Processor.testInstance())
+                .failsToCompile()
+                .withErrorContaining("lazyConversion can not be combined with convertWhileParsing");
+    }
 }
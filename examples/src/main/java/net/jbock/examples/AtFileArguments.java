@@ -0,0 +1,17 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Option;
+import net.jbock.VarargsParameter;
+
+import java.util.List;
+
+@Command(enableAtFileExpansion = true, lazyAtFileExpansion = true)
+abstract class AtFileArguments {
+
+    @Option(names = {"--verbose", "-v"})
+    abstract boolean verbose();
+
+    @VarargsParameter
+    abstract List<String> files();
+}
@@ -0,0 +1,21 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Option;
+import net.jbock.VarargsParameter;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Repeatable {@code File} items, which are converted concurrently.
+ */
+@Command(concurrentConversion = true)
+abstract class ConcurrentFilesArguments {
+
+    @Option(names = "--file")
+    abstract List<File> files();
+
+    @VarargsParameter
+    abstract List<File> rest();
+}
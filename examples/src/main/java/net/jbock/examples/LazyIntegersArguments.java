@@ -0,0 +1,34 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Option;
+import net.jbock.VarargsParameter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Same as {@link AllIntegersArguments}, but converts on first access.
+ */
+@Command(lazyConversion = true)
+abstract class LazyIntegersArguments {
+
+    @VarargsParameter
+    abstract List<Integer> positional();
+
+    @Option(names = {"--i", "-i"})
+    abstract List<Integer> listOfIntegers();
+
+    @Option(names = "--opt")
+    abstract Optional<Integer> optionalInteger();
+
+    @Option(names = "--obj")
+    abstract Integer integer();
+
+    @Option(names = "--prim")
+    abstract int primitiveInt();
+
+    @Option(names = "--opti")
+    abstract OptionalInt optionalInt();
+}
@@ -0,0 +1,38 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Option;
+import net.jbock.Parameter;
+import net.jbock.VarargsParameter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+@Command(
+        noInvokeDynamic = true,
+        enableAtFileExpansion = true)
+abstract class NoInvokeDynamicArguments {
+
+    enum Control {
+        NONE,
+        NUMBERED,
+        EXISTING,
+        SIMPLE
+    }
+
+    @Parameter(index = 0)
+    abstract String source();
+
+    @VarargsParameter
+    abstract List<String> dest();
+
+    @Option(names = "--backup")
+    abstract Optional<Control> backup();
+
+    @Option(names = {"--level", "-l"})
+    abstract OptionalInt level();
+
+    @Option(names = {"--r", "-r"})
+    abstract boolean recursive();
+}
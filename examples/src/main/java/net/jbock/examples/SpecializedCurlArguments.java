@@ -0,0 +1,32 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Option;
+import net.jbock.VarargsParameter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Same as {@link CurlArguments}, but with a specialized parser.
+ */
+@Command(name = "curl",
+        publicParser = true,
+        specializedParser = true)
+abstract class SpecializedCurlArguments {
+
+    @Option(names = {"--request", "-X"})
+    abstract Optional<String> method();
+
+    @Option(names = {"--header", "-H"})
+    abstract List<String> headers();
+
+    @Option(names = {"--verbose", "-v"})
+    abstract boolean verbose();
+
+    @Option(names = {"--include", "-i"})
+    abstract boolean include();
+
+    @VarargsParameter
+    abstract List<String> url();
+}
@@ -0,0 +1,22 @@
+package net.jbock.examples;
+
+import net.jbock.Parameter;
+import net.jbock.SuperCommand;
+import net.jbock.VarargsParameter;
+
+import java.util.List;
+
+/**
+ * Same as {@link GitCommand}, but with a specialized parser.
+ */
+@SuperCommand(
+        name = "git",
+        specializedParser = true)
+interface SpecializedGitCommand {
+
+    @Parameter(index = 0)
+    String command();
+
+    @VarargsParameter
+    List<String> rest();
+}
@@ -0,0 +1,26 @@
+package net.jbock.examples;
+
+import net.jbock.Command;
+import net.jbock.Option;
+
+/**
+ * Same as {@link TarArguments}, but with a specialized parser.
+ */
+@Command(specializedParser = true)
+abstract class SpecializedTarArguments {
+
+    @Option(names = {"--x", "-x"})
+    abstract boolean extract();
+
+    @Option(names = {"--c", "-c"})
+    abstract boolean create();
+
+    @Option(names = {"--v", "-v"})
+    abstract boolean verbose();
+
+    @Option(names = {"--z", "-z"})
+    abstract boolean compress();
+
+    @Option(names = {"--file", "-f"})
+    abstract String file();
+}
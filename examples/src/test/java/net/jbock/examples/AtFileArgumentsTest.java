@@ -0,0 +1,42 @@
+package net.jbock.examples;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtFileArgumentsTest {
+
+    private final AtFileArgumentsParser parser = new AtFileArgumentsParser();
+
+    @Test
+    void parseOrExit(@TempDir Path dir) throws IOException {
+        Path atFile = dir.resolve("args");
+        List<String> lines = new ArrayList<>();
+        lines.add("-v");
+        for (int i = 0; i < 10_000; i++) {
+            lines.add("/data/file " + i);
+        }
+        Files.write(atFile, lines);
+        AtFileArguments result = parser.parseOrExit(new String[]{"@" + atFile, "last"});
+        assertTrue(result.verbose());
+        assertEquals(10_001, result.files().size());
+        assertEquals("/data/file 0", result.files().get(0));
+        assertEquals("last", result.files().get(10_000));
+    }
+
+    @Test
+    void noAtFile() {
+        AtFileArguments result = parser.parseOrExit(new String[]{"a", "b"});
+        assertFalse(result.verbose());
+        assertEquals(List.of("a", "b"), result.files());
+    }
+}
@@ -0,0 +1,120 @@
+package net.jbock.examples;
+
+import net.jbock.examples.fixture.ParserTestFixture;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Checks that a parser which converts concurrently gives the same results
+ * as the sequential parser, including the reported error
+ * if more than one conversion fails.
+ */
+class ConcurrentConversionTest {
+
+    private final AllIntegersArgumentsParser integersParser = new AllIntegersArgumentsParser();
+    private final ConcurrentIntegersArgumentsParser concurrentParser = new ConcurrentIntegersArgumentsParser();
+
+    private final ParserTestFixture<AllIntegersArguments> integers =
+            ParserTestFixture.create(integersParser::parse);
+
+    @Test
+    void testDefaultExecutor() {
+        assertResults(ParserTestFixture.create(concurrentParser::parse));
+    }
+
+    @Test
+    void testThreadPool() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertResults(ParserTestFixture.create(input -> concurrentParser.parse(input, executor)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void assertResults(ParserTestFixture<ConcurrentIntegersArguments> concurrent) {
+        integers.assertThat("--obj=1", "--prim=2")
+                .has(AllIntegersArguments::positional, List.of())
+                .has(AllIntegersArguments::listOfIntegers, List.of())
+                .has(AllIntegersArguments::optionalInteger, Optional.empty())
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.empty());
+        concurrent.assertThat("--obj=1", "--prim=2")
+                .has(ConcurrentIntegersArguments::positional, List.of())
+                .has(ConcurrentIntegersArguments::listOfIntegers, List.of())
+                .has(ConcurrentIntegersArguments::optionalInteger, Optional.empty())
+                .has(ConcurrentIntegersArguments::integer, 1)
+                .has(ConcurrentIntegersArguments::primitiveInt, 2)
+                .has(ConcurrentIntegersArguments::optionalInt, OptionalInt.empty());
+        integers.assertThat("--obj=1", "--prim=2", "--opt", "3", "--opti=4", "-i5", "-i", "6", "7", "8")
+                .has(AllIntegersArguments::positional, List.of(7, 8))
+                .has(AllIntegersArguments::listOfIntegers, List.of(5, 6))
+                .has(AllIntegersArguments::optionalInteger, Optional.of(3))
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.of(4));
+        concurrent.assertThat("--obj=1", "--prim=2", "--opt", "3", "--opti=4", "-i5", "-i", "6", "7", "8")
+                .has(ConcurrentIntegersArguments::positional, List.of(7, 8))
+                .has(ConcurrentIntegersArguments::listOfIntegers, List.of(5, 6))
+                .has(ConcurrentIntegersArguments::optionalInteger, Optional.of(3))
+                .has(ConcurrentIntegersArguments::integer, 1)
+                .has(ConcurrentIntegersArguments::primitiveInt, 2)
+                .has(ConcurrentIntegersArguments::optionalInt, OptionalInt.of(4));
+        integers.assertThat("--obj=1")
+                .fails("Missing required option PRIM (--prim)");
+        concurrent.assertThat("--obj=1")
+                .fails("Missing required option PRIM (--prim)");
+        integers.assertThat("--prim=2")
+                .fails("Missing required option OBJ (--obj)");
+        concurrent.assertThat("--prim=2")
+                .fails("Missing required option OBJ (--obj)");
+        integers.assertThat("--obj=x", "--prim=2")
+                .fails("while converting option OBJ (--obj): For input string: \"x\"");
+        concurrent.assertThat("--obj=x", "--prim=2")
+                .fails("while converting option OBJ (--obj): For input string: \"x\"");
+        integers.assertThat("--obj=1", "--prim=2", "-i5", "-ix", "-iy")
+                .fails("while converting option I (-i, --i): For input string: \"x\"");
+        concurrent.assertThat("--obj=1", "--prim=2", "-i5", "-ix", "-iy")
+                .fails("while converting option I (-i, --i): For input string: \"x\"");
+        integers.assertThat("--obj=1", "--prim=2", "--opti=x")
+                .fails("while converting option OPTI (--opti): For input string: \"x\"");
+        concurrent.assertThat("--obj=1", "--prim=2", "--opti=x")
+                .fails("while converting option OPTI (--opti): For input string: \"x\"");
+        integers.assertThat("--obj=1", "--prim=2", "7", "x", "y")
+                .fails("while converting parameter POSITIONAL: For input string: \"x\"");
+        concurrent.assertThat("--obj=1", "--prim=2", "7", "x", "y")
+                .fails("while converting parameter POSITIONAL: For input string: \"x\"");
+        integers.assertThat("--obj=x", "--prim=y", "--opt=z", "--opti=w", "-iv", "u")
+                .fails("while converting option I (-i, --i): For input string: \"v\"");
+        concurrent.assertThat("--obj=x", "--prim=y", "--opt=z", "--opti=w", "-iv", "u")
+                .fails("while converting option I (-i, --i): For input string: \"v\"");
+        integers.assertThat("--prim=y", "--opti=w", "u")
+                .fails("Missing required option OBJ (--obj)");
+        concurrent.assertThat("--prim=y", "--opti=w", "u")
+                .fails("Missing required option OBJ (--obj)");
+        integers.assertThat("--opt=z", "7", "x")
+                .fails("while converting option OPT (--opt): For input string: \"z\"");
+        concurrent.assertThat("--opt=z", "7", "x")
+                .fails("while converting option OPT (--opt): For input string: \"z\"");
+        integers.assertThat("--obj=1", "--prim=2", "--", "-1")
+                .has(AllIntegersArguments::positional, List.of(-1))
+                .has(AllIntegersArguments::listOfIntegers, List.of())
+                .has(AllIntegersArguments::optionalInteger, Optional.empty())
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.empty());
+        concurrent.assertThat("--obj=1", "--prim=2", "--", "-1")
+                .has(ConcurrentIntegersArguments::positional, List.of(-1))
+                .has(ConcurrentIntegersArguments::listOfIntegers, List.of())
+                .has(ConcurrentIntegersArguments::optionalInteger, Optional.empty())
+                .has(ConcurrentIntegersArguments::integer, 1)
+                .has(ConcurrentIntegersArguments::primitiveInt, 2)
+                .has(ConcurrentIntegersArguments::optionalInt, OptionalInt.empty());
+    }
+}
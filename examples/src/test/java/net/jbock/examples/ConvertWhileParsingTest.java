@@ -0,0 +1,163 @@
+package net.jbock.examples;
+
+import net.jbock.examples.fixture.ParserTestFixture;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Checks that a parser which converts while parsing gives the same results
+ * as the generic parser, if there is at most one error in the input.
+ */
+class ConvertWhileParsingTest {
+
+    private final AllIntegersArgumentsParser integersParser = new AllIntegersArgumentsParser();
+    private final ConvertingIntegersArgumentsParser convertingIntegersParser = new ConvertingIntegersArgumentsParser();
+    private final PositionalArgumentsParser positionalParser = new PositionalArgumentsParser();
+    private final ConvertingPositionalArgumentsParser convertingPositionalParser = new ConvertingPositionalArgumentsParser();
+
+    private final ParserTestFixture<AllIntegersArguments> integers =
+            ParserTestFixture.create(integersParser::parse);
+    private final ParserTestFixture<ConvertingIntegersArguments> convertingIntegers =
+            ParserTestFixture.create(convertingIntegersParser::parse);
+    private final ParserTestFixture<PositionalArguments> positional =
+            ParserTestFixture.create(positionalParser::parse);
+    private final ParserTestFixture<ConvertingPositionalArguments> convertingPositional =
+            ParserTestFixture.create(convertingPositionalParser::parse);
+
+    @Test
+    void testIntegers() {
+        integers.assertThat("--obj=1", "--prim=2")
+                .has(AllIntegersArguments::positional, List.of())
+                .has(AllIntegersArguments::listOfIntegers, List.of())
+                .has(AllIntegersArguments::optionalInteger, Optional.empty())
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.empty());
+        convertingIntegers.assertThat("--obj=1", "--prim=2")
+                .has(ConvertingIntegersArguments::positional, List.of())
+                .has(ConvertingIntegersArguments::listOfIntegers, List.of())
+                .has(ConvertingIntegersArguments::optionalInteger, Optional.empty())
+                .has(ConvertingIntegersArguments::integer, 1)
+                .has(ConvertingIntegersArguments::primitiveInt, 2)
+                .has(ConvertingIntegersArguments::optionalInt, OptionalInt.empty());
+        integers.assertThat("--obj=1", "--prim=2", "--opt", "3", "--opti=4", "-i5", "-i", "6", "7", "8")
+                .has(AllIntegersArguments::positional, List.of(7, 8))
+                .has(AllIntegersArguments::listOfIntegers, List.of(5, 6))
+                .has(AllIntegersArguments::optionalInteger, Optional.of(3))
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.of(4));
+        convertingIntegers.assertThat("--obj=1", "--prim=2", "--opt", "3", "--opti=4", "-i5", "-i", "6", "7", "8")
+                .has(ConvertingIntegersArguments::positional, List.of(7, 8))
+                .has(ConvertingIntegersArguments::listOfIntegers, List.of(5, 6))
+                .has(ConvertingIntegersArguments::optionalInteger, Optional.of(3))
+                .has(ConvertingIntegersArguments::integer, 1)
+                .has(ConvertingIntegersArguments::primitiveInt, 2)
+                .has(ConvertingIntegersArguments::optionalInt, OptionalInt.of(4));
+        integers.assertThat("--obj=1")
+                .fails("Missing required option PRIM (--prim)");
+        convertingIntegers.assertThat("--obj=1")
+                .fails("Missing required option PRIM (--prim)");
+        integers.assertThat("--prim=2")
+                .fails("Missing required option OBJ (--obj)");
+        convertingIntegers.assertThat("--prim=2")
+                .fails("Missing required option OBJ (--obj)");
+        integers.assertThat("--obj=x", "--prim=2")
+                .fails("while converting option OBJ (--obj): For input string: \"x\"");
+        convertingIntegers.assertThat("--obj=x", "--prim=2")
+                .fails("while converting option OBJ (--obj): For input string: \"x\"");
+        integers.assertThat("--obj=1", "--prim=2", "-i5", "-ix")
+                .fails("while converting option I (-i, --i): For input string: \"x\"");
+        convertingIntegers.assertThat("--obj=1", "--prim=2", "-i5", "-ix")
+                .fails("while converting option I (-i, --i): For input string: \"x\"");
+        integers.assertThat("--obj=1", "--prim=2", "--opti=x")
+                .fails("while converting option OPTI (--opti): For input string: \"x\"");
+        convertingIntegers.assertThat("--obj=1", "--prim=2", "--opti=x")
+                .fails("while converting option OPTI (--opti): For input string: \"x\"");
+        integers.assertThat("--obj=1", "--prim=2", "7", "x")
+                .fails("while converting parameter POSITIONAL: For input string: \"x\"");
+        convertingIntegers.assertThat("--obj=1", "--prim=2", "7", "x")
+                .fails("while converting parameter POSITIONAL: For input string: \"x\"");
+        integers.assertThat("--obj=1", "--prim=2", "--prim=3")
+                .fails("Option '--prim=3' is a repetition");
+        convertingIntegers.assertThat("--obj=1", "--prim=2", "--prim=3")
+                .fails("Option '--prim=3' is a repetition");
+        integers.assertThat("--obj=1", "--prim")
+                .fails("Missing argument after option name: --prim");
+        convertingIntegers.assertThat("--obj=1", "--prim")
+                .fails("Missing argument after option name: --prim");
+        integers.assertThat("--obj=1", "--prim=2", "--", "-1")
+                .has(AllIntegersArguments::positional, List.of(-1))
+                .has(AllIntegersArguments::listOfIntegers, List.of())
+                .has(AllIntegersArguments::optionalInteger, Optional.empty())
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.empty());
+        convertingIntegers.assertThat("--obj=1", "--prim=2", "--", "-1")
+                .has(ConvertingIntegersArguments::positional, List.of(-1))
+                .has(ConvertingIntegersArguments::listOfIntegers, List.of())
+                .has(ConvertingIntegersArguments::optionalInteger, Optional.empty())
+                .has(ConvertingIntegersArguments::integer, 1)
+                .has(ConvertingIntegersArguments::primitiveInt, 2)
+                .has(ConvertingIntegersArguments::optionalInt, OptionalInt.empty());
+    }
+
+    @Test
+    void testPositional() {
+        positional.assertThat("a", "b", "1")
+                .has(PositionalArguments::source, "a")
+                .has(PositionalArguments::dest, "b")
+                .has(PositionalArguments::anotherInt, 1)
+                .has(PositionalArguments::optString, Optional.empty())
+                .has(PositionalArguments::otherTokens, List.of());
+        convertingPositional.assertThat("a", "b", "1")
+                .has(ConvertingPositionalArguments::source, "a")
+                .has(ConvertingPositionalArguments::dest, "b")
+                .has(ConvertingPositionalArguments::anotherInt, 1)
+                .has(ConvertingPositionalArguments::optString, Optional.empty())
+                .has(ConvertingPositionalArguments::otherTokens, List.of());
+        positional.assertThat("a", "b", "1", "c", "d", "e")
+                .has(PositionalArguments::source, "a")
+                .has(PositionalArguments::dest, "b")
+                .has(PositionalArguments::anotherInt, 1)
+                .has(PositionalArguments::optString, Optional.of("c"))
+                .has(PositionalArguments::otherTokens, List.of("d", "e"));
+        convertingPositional.assertThat("a", "b", "1", "c", "d", "e")
+                .has(ConvertingPositionalArguments::source, "a")
+                .has(ConvertingPositionalArguments::dest, "b")
+                .has(ConvertingPositionalArguments::anotherInt, 1)
+                .has(ConvertingPositionalArguments::optString, Optional.of("c"))
+                .has(ConvertingPositionalArguments::otherTokens, List.of("d", "e"));
+        positional.assertThat("a", "b")
+                .fails("Missing required parameter ANOTHER_INT");
+        convertingPositional.assertThat("a", "b")
+                .fails("Missing required parameter ANOTHER_INT");
+        positional.assertThat("a", "b", "x")
+                .fails("while converting parameter ANOTHER_INT: For input string: \"x\"");
+        convertingPositional.assertThat("a", "b", "x")
+                .fails("while converting parameter ANOTHER_INT: For input string: \"x\"");
+        positional.assertThat("a", "--", "-b", "1")
+                .has(PositionalArguments::source, "a")
+                .has(PositionalArguments::dest, "-b")
+                .has(PositionalArguments::anotherInt, 1)
+                .has(PositionalArguments::optString, Optional.empty())
+                .has(PositionalArguments::otherTokens, List.of());
+        convertingPositional.assertThat("a", "--", "-b", "1")
+                .has(ConvertingPositionalArguments::source, "a")
+                .has(ConvertingPositionalArguments::dest, "-b")
+                .has(ConvertingPositionalArguments::anotherInt, 1)
+                .has(ConvertingPositionalArguments::optString, Optional.empty())
+                .has(ConvertingPositionalArguments::otherTokens, List.of());
+    }
+
+    @Test
+    void testFirstConversionFailureStopsParsing() {
+        integers.assertThat("--obj=x", "--prim=2", "--unknown")
+                .fails("Invalid option: --unknown");
+        convertingIntegers.assertThat("--obj=x", "--prim=2", "--unknown")
+                .fails("while converting option OBJ (--obj): For input string: \"x\"");
+    }
+}
@@ -0,0 +1,61 @@
+package net.jbock.examples;
+
+import net.jbock.examples.fixture.ParserTestFixture;
+import net.jbock.util.ConversionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that all missing files of a repeatable item are reported together,
+ * in each conversion mode.
+ */
+class FileListConversionTest {
+
+    private final ParserTestFixture<ConcurrentFilesArguments> concurrent =
+            ParserTestFixture.create(new ConcurrentFilesArgumentsParser()::parse);
+
+    private final ParserTestFixture<LazyFilesArguments> lazy =
+            ParserTestFixture.create(new LazyFilesArgumentsParser()::parse);
+
+    private final ParserTestFixture<ConvertingFilesArguments> converting =
+            ParserTestFixture.create(new ConvertingFilesArgumentsParser()::parse);
+
+    @Test
+    void testConcurrentConversion() {
+        concurrent.assertThat("--file", "/etc/hosts", "/etc/hosts")
+                .has(ConcurrentFilesArguments::files, List.of(new File("/etc/hosts")))
+                .has(ConcurrentFilesArguments::rest, List.of(new File("/etc/hosts")));
+        concurrent.assertThat("--file", "/nonexistent/a", "--file", "/etc/hosts", "--file", "/nonexistent/b")
+                .fails("while converting option FILES (--file): Paths do not exist: /nonexistent/a, /nonexistent/b");
+        concurrent.assertThat("/etc/hosts", "/nonexistent/a", "/nonexistent/b")
+                .fails("while converting parameter REST: Paths do not exist: /nonexistent/a, /nonexistent/b");
+    }
+
+    @Test
+    void testLazyConversion() {
+        lazy.assertThat("--file", "/etc/hosts", "/etc/hosts")
+                .has(LazyFilesArguments::files, List.of(new File("/etc/hosts")))
+                .has(LazyFilesArguments::rest, List.of(new File("/etc/hosts")));
+        LazyFilesArguments arguments = lazy.parse(
+                "--file", "/nonexistent/a", "--file", "/etc/hosts", "--file", "/nonexistent/b");
+        assertEquals("while converting option FILES (--file): Paths do not exist: /nonexistent/a, /nonexistent/b",
+                assertThrows(ConversionFailedException.class, arguments::files).getMessage());
+        assertEquals(List.of(), arguments.rest());
+    }
+
+    @Test
+    void testConvertWhileParsing() {
+        converting.assertThat("--file", "/etc/hosts", "/etc/hosts")
+                .has(ConvertingFilesArguments::files, List.of(new File("/etc/hosts")))
+                .has(ConvertingFilesArguments::rest, List.of(new File("/etc/hosts")));
+        converting.assertThat("--file", "/nonexistent/a", "--file", "/etc/hosts", "--file", "/nonexistent/b")
+                .fails("while converting option FILES (--file): Paths do not exist: /nonexistent/a, /nonexistent/b");
+        converting.assertThat("/etc/hosts", "/nonexistent/a", "/nonexistent/b")
+                .fails("while converting parameter REST: Paths do not exist: /nonexistent/a, /nonexistent/b");
+    }
+}
@@ -0,0 +1,108 @@
+package net.jbock.examples;
+
+import net.jbock.examples.fixture.ParserTestFixture;
+import net.jbock.util.ConversionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a parser which converts on first access gives the same results
+ * as the eager parser, except that a conversion failure is thrown
+ * from the accessor.
+ */
+class LazyConversionTest {
+
+    private final AllIntegersArgumentsParser integersParser = new AllIntegersArgumentsParser();
+    private final LazyIntegersArgumentsParser lazyParser = new LazyIntegersArgumentsParser();
+
+    private final ParserTestFixture<AllIntegersArguments> integers =
+            ParserTestFixture.create(integersParser::parse);
+    private final ParserTestFixture<LazyIntegersArguments> lazyIntegers =
+            ParserTestFixture.create(lazyParser::parse);
+
+    @Test
+    void testSameResult() {
+        integers.assertThat("--obj=1", "--prim=2")
+                .has(AllIntegersArguments::positional, List.of())
+                .has(AllIntegersArguments::listOfIntegers, List.of())
+                .has(AllIntegersArguments::optionalInteger, Optional.empty())
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.empty());
+        lazyIntegers.assertThat("--obj=1", "--prim=2")
+                .has(LazyIntegersArguments::positional, List.of())
+                .has(LazyIntegersArguments::listOfIntegers, List.of())
+                .has(LazyIntegersArguments::optionalInteger, Optional.empty())
+                .has(LazyIntegersArguments::integer, 1)
+                .has(LazyIntegersArguments::primitiveInt, 2)
+                .has(LazyIntegersArguments::optionalInt, OptionalInt.empty());
+        integers.assertThat("--obj=1", "--prim=2", "--opt", "3", "--opti=4", "-i5", "-i", "6", "7", "8")
+                .has(AllIntegersArguments::positional, List.of(7, 8))
+                .has(AllIntegersArguments::listOfIntegers, List.of(5, 6))
+                .has(AllIntegersArguments::optionalInteger, Optional.of(3))
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.of(4));
+        lazyIntegers.assertThat("--obj=1", "--prim=2", "--opt", "3", "--opti=4", "-i5", "-i", "6", "7", "8")
+                .has(LazyIntegersArguments::positional, List.of(7, 8))
+                .has(LazyIntegersArguments::listOfIntegers, List.of(5, 6))
+                .has(LazyIntegersArguments::optionalInteger, Optional.of(3))
+                .has(LazyIntegersArguments::integer, 1)
+                .has(LazyIntegersArguments::primitiveInt, 2)
+                .has(LazyIntegersArguments::optionalInt, OptionalInt.of(4));
+        integers.assertThat("--obj=1")
+                .fails("Missing required option PRIM (--prim)");
+        lazyIntegers.assertThat("--obj=1")
+                .fails("Missing required option PRIM (--prim)");
+        integers.assertThat("--prim=2")
+                .fails("Missing required option OBJ (--obj)");
+        lazyIntegers.assertThat("--prim=2")
+                .fails("Missing required option OBJ (--obj)");
+        integers.assertThat("--obj=1", "--prim=2", "--", "-1")
+                .has(AllIntegersArguments::positional, List.of(-1))
+                .has(AllIntegersArguments::listOfIntegers, List.of())
+                .has(AllIntegersArguments::optionalInteger, Optional.empty())
+                .has(AllIntegersArguments::integer, 1)
+                .has(AllIntegersArguments::primitiveInt, 2)
+                .has(AllIntegersArguments::optionalInt, OptionalInt.empty());
+        lazyIntegers.assertThat("--obj=1", "--prim=2", "--", "-1")
+                .has(LazyIntegersArguments::positional, List.of(-1))
+                .has(LazyIntegersArguments::listOfIntegers, List.of())
+                .has(LazyIntegersArguments::optionalInteger, Optional.empty())
+                .has(LazyIntegersArguments::integer, 1)
+                .has(LazyIntegersArguments::primitiveInt, 2)
+                .has(LazyIntegersArguments::optionalInt, OptionalInt.empty());
+        integers.assertThat("--obj=1", "--prim=2", "--obj=3")
+                .fails("Option '--obj=3' is a repetition");
+        lazyIntegers.assertThat("--obj=1", "--prim=2", "--obj=3")
+                .fails("Option '--obj=3' is a repetition");
+        integers.assertThat("--obj=1", "--prim=2", "--unknown")
+                .fails("Invalid option: --unknown");
+        lazyIntegers.assertThat("--obj=1", "--prim=2", "--unknown")
+                .fails("Invalid option: --unknown");
+    }
+
+    @Test
+    void testFailureOnAccess() {
+        String listMessage = "while converting option I (-i, --i): For input string: \"x\"";
+        String optionalIntMessage = "while converting option OPTI (--opti): For input string: \"y\"";
+        integers.assertThat("--obj=1", "--prim=2", "-i5", "-ix", "--opti=y")
+                .fails(listMessage);
+        LazyIntegersArguments arguments = lazyParser.parse(List.of("--obj=1", "--prim=2", "-i5", "-ix", "--opti=y"))
+                .getRight().orElseThrow();
+        assertEquals(1, arguments.integer());
+        assertEquals(2, arguments.primitiveInt());
+        ConversionFailedException e = assertThrows(ConversionFailedException.class, arguments::listOfIntegers);
+        assertEquals(listMessage, e.getMessage());
+        assertEquals(listMessage, e.failure().message());
+        assertThrows(ConversionFailedException.class, arguments::listOfIntegers);
+        assertEquals(optionalIntMessage,
+                assertThrows(ConversionFailedException.class, arguments::optionalInt).getMessage());
+    }
+}
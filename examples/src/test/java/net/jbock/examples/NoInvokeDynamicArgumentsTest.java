@@ -0,0 +1,67 @@
+package net.jbock.examples;
+
+import net.jbock.examples.NoInvokeDynamicArguments.Control;
+import net.jbock.examples.fixture.ParserTestFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NoInvokeDynamicArgumentsTest {
+
+    private final NoInvokeDynamicArgumentsParser parser = new NoInvokeDynamicArgumentsParser();
+
+    private final ParserTestFixture<NoInvokeDynamicArguments> f =
+            ParserTestFixture.create(parser::parse);
+
+    @Test
+    void success() {
+        f.assertThat("a", "b", "c", "--backup", "numbered", "-l3", "-r")
+                .has(NoInvokeDynamicArguments::source, "a")
+                .has(NoInvokeDynamicArguments::dest, List.of("b", "c"))
+                .has(NoInvokeDynamicArguments::backup, Optional.of(Control.NUMBERED))
+                .has(NoInvokeDynamicArguments::level, OptionalInt.of(3))
+                .has(NoInvokeDynamicArguments::recursive, true);
+        f.assertThat("a", "--backup=SIMPLE")
+                .has(NoInvokeDynamicArguments::source, "a")
+                .has(NoInvokeDynamicArguments::dest, List.of())
+                .has(NoInvokeDynamicArguments::backup, Optional.of(Control.SIMPLE))
+                .has(NoInvokeDynamicArguments::level, OptionalInt.empty())
+                .has(NoInvokeDynamicArguments::recursive, false);
+    }
+
+    @Test
+    void enumValuesInMessage() {
+        f.assertThat("a", "--backup", "CLOUD").fails(
+                "while converting option BACKUP (--backup): No such constant: CLOUD\n" +
+                        "Possible values (ignoring case):\n" +
+                        "  NONE\n" +
+                        "  NUMBERED\n" +
+                        "  EXISTING\n" +
+                        "  SIMPLE\n");
+    }
+
+    @Test
+    void errorMissingSource() {
+        f.assertThat("-r").fails("Missing required parameter SOURCE");
+    }
+
+    @Test
+    void parseOrExit(@TempDir Path dir) throws IOException {
+        Path atFile = dir.resolve("args");
+        Files.write(atFile, List.of("--level", "4", "a"));
+        NoInvokeDynamicArguments result = parser.parseOrExit(new String[]{"@" + atFile, "b"});
+        assertEquals("a", result.source());
+        assertEquals(List.of("b"), result.dest());
+        assertEquals(OptionalInt.of(4), result.level());
+        assertTrue(result.backup().isEmpty());
+    }
+}
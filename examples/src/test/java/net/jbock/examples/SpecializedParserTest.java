@@ -0,0 +1,240 @@
+package net.jbock.examples;
+
+import net.jbock.examples.fixture.ParserTestFixture;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checks that a specialized parser gives the same results
+ * as the generic parser of the same command.
+ */
+class SpecializedParserTest {
+
+    private final CurlArgumentsParser curlParser = new CurlArgumentsParser();
+    private final SpecializedCurlArgumentsParser specializedCurlParser = new SpecializedCurlArgumentsParser();
+    private final TarArgumentsParser tarParser = new TarArgumentsParser();
+    private final SpecializedTarArgumentsParser specializedTarParser = new SpecializedTarArgumentsParser();
+    private final GitCommandParser gitParser = new GitCommandParser();
+    private final SpecializedGitCommandParser specializedGitParser = new SpecializedGitCommandParser();
+
+    private final ParserTestFixture<CurlArguments> curl =
+            ParserTestFixture.create(curlParser::parse);
+    private final ParserTestFixture<SpecializedCurlArguments> specializedCurl =
+            ParserTestFixture.create(specializedCurlParser::parse);
+    private final ParserTestFixture<TarArguments> tar =
+            ParserTestFixture.create(tarParser::parse);
+    private final ParserTestFixture<SpecializedTarArguments> specializedTar =
+            ParserTestFixture.create(specializedTarParser::parse);
+    private final ParserTestFixture<GitCommand> git =
+            ParserTestFixture.create(gitParser::parse);
+    private final ParserTestFixture<SpecializedGitCommand> specializedGit =
+            ParserTestFixture.create(specializedGitParser::parse);
+
+    @Test
+    void testCurl() {
+        curl.assertThat(/* empty */)
+                .has(CurlArguments::method, Optional.empty())
+                .has(CurlArguments::headers, List.of())
+                .has(CurlArguments::verbose, false)
+                .has(CurlArguments::include, false)
+                .has(CurlArguments::url, List.of());
+        specializedCurl.assertThat(/* empty */)
+                .has(SpecializedCurlArguments::method, Optional.empty())
+                .has(SpecializedCurlArguments::headers, List.of())
+                .has(SpecializedCurlArguments::verbose, false)
+                .has(SpecializedCurlArguments::include, false)
+                .has(SpecializedCurlArguments::url, List.of());
+        curl.assertThat("-v", "-i", "-XPOST", "-H1", "--header", "2", "--header=3", "a", "b")
+                .has(CurlArguments::method, Optional.of("POST"))
+                .has(CurlArguments::headers, List.of("1", "2", "3"))
+                .has(CurlArguments::verbose, true)
+                .has(CurlArguments::include, true)
+                .has(CurlArguments::url, List.of("a", "b"));
+        specializedCurl.assertThat("-v", "-i", "-XPOST", "-H1", "--header", "2", "--header=3", "a", "b")
+                .has(SpecializedCurlArguments::method, Optional.of("POST"))
+                .has(SpecializedCurlArguments::headers, List.of("1", "2", "3"))
+                .has(SpecializedCurlArguments::verbose, true)
+                .has(SpecializedCurlArguments::include, true)
+                .has(SpecializedCurlArguments::url, List.of("a", "b"));
+        curl.assertThat("-viXPOST", "-vH1")
+                .fails("Option '-vH1' is a repetition");
+        specializedCurl.assertThat("-viXPOST", "-vH1")
+                .fails("Option '-vH1' is a repetition");
+        curl.assertThat("-ivH1", "--request", "PUT", "--", "-v", "--", "c")
+                .has(CurlArguments::method, Optional.of("PUT"))
+                .has(CurlArguments::headers, List.of("1"))
+                .has(CurlArguments::verbose, true)
+                .has(CurlArguments::include, true)
+                .has(CurlArguments::url, List.of("-v", "--", "c"));
+        specializedCurl.assertThat("-ivH1", "--request", "PUT", "--", "-v", "--", "c")
+                .has(SpecializedCurlArguments::method, Optional.of("PUT"))
+                .has(SpecializedCurlArguments::headers, List.of("1"))
+                .has(SpecializedCurlArguments::verbose, true)
+                .has(SpecializedCurlArguments::include, true)
+                .has(SpecializedCurlArguments::url, List.of("-v", "--", "c"));
+        curl.assertThat("-H")
+                .fails("Missing argument after option name: -H");
+        specializedCurl.assertThat("-H")
+                .fails("Missing argument after option name: -H");
+        curl.assertThat("-vv")
+                .fails("Option '-v' is a repetition");
+        specializedCurl.assertThat("-vv")
+                .fails("Option '-v' is a repetition");
+        curl.assertThat("-v", "--verbose")
+                .fails("Option '--verbose' is a repetition");
+        specializedCurl.assertThat("-v", "--verbose")
+                .fails("Option '--verbose' is a repetition");
+        curl.assertThat("-X1", "--request=2")
+                .fails("Option '--request=2' is a repetition");
+        specializedCurl.assertThat("-X1", "--request=2")
+                .fails("Option '--request=2' is a repetition");
+        curl.assertThat("-vq")
+                .fails("Invalid token: -vq");
+        specializedCurl.assertThat("-vq")
+                .fails("Invalid token: -vq");
+        curl.assertThat("-q")
+                .fails("Invalid option: -q");
+        specializedCurl.assertThat("-q")
+                .fails("Invalid option: -q");
+        curl.assertThat("--quiet")
+                .fails("Invalid option: --quiet");
+        specializedCurl.assertThat("--quiet")
+                .fails("Invalid option: --quiet");
+        curl.assertThat("--verbose=1")
+                .has(CurlArguments::method, Optional.empty())
+                .has(CurlArguments::headers, List.of())
+                .has(CurlArguments::verbose, true)
+                .has(CurlArguments::include, false)
+                .has(CurlArguments::url, List.of());
+        specializedCurl.assertThat("--verbose=1")
+                .has(SpecializedCurlArguments::method, Optional.empty())
+                .has(SpecializedCurlArguments::headers, List.of())
+                .has(SpecializedCurlArguments::verbose, true)
+                .has(SpecializedCurlArguments::include, false)
+                .has(SpecializedCurlArguments::url, List.of());
+        curl.assertThat("-v=1")
+                .fails("Invalid token: -v=1");
+        specializedCurl.assertThat("-v=1")
+                .fails("Invalid token: -v=1");
+        curl.assertThat("-", "--x=1", "-1.5", "x-y")
+                .has(CurlArguments::method, Optional.empty())
+                .has(CurlArguments::headers, List.of())
+                .has(CurlArguments::verbose, false)
+                .has(CurlArguments::include, false)
+                .has(CurlArguments::url, List.of("-", "--x=1", "-1.5", "x-y"));
+        specializedCurl.assertThat("-", "--x=1", "-1.5", "x-y")
+                .has(SpecializedCurlArguments::method, Optional.empty())
+                .has(SpecializedCurlArguments::headers, List.of())
+                .has(SpecializedCurlArguments::verbose, false)
+                .has(SpecializedCurlArguments::include, false)
+                .has(SpecializedCurlArguments::url, List.of("-", "--x=1", "-1.5", "x-y"));
+    }
+
+    @Test
+    void testTar() {
+        tar.assertThat("-xvf", "foo.tar")
+                .has(TarArguments::extract, true)
+                .has(TarArguments::create, false)
+                .has(TarArguments::verbose, true)
+                .has(TarArguments::compress, false)
+                .has(TarArguments::file, "foo.tar");
+        specializedTar.assertThat("-xvf", "foo.tar")
+                .has(SpecializedTarArguments::extract, true)
+                .has(SpecializedTarArguments::create, false)
+                .has(SpecializedTarArguments::verbose, true)
+                .has(SpecializedTarArguments::compress, false)
+                .has(SpecializedTarArguments::file, "foo.tar");
+        tar.assertThat("-czf", "bar.tar")
+                .has(TarArguments::extract, false)
+                .has(TarArguments::create, true)
+                .has(TarArguments::verbose, false)
+                .has(TarArguments::compress, true)
+                .has(TarArguments::file, "bar.tar");
+        specializedTar.assertThat("-czf", "bar.tar")
+                .has(SpecializedTarArguments::extract, false)
+                .has(SpecializedTarArguments::create, true)
+                .has(SpecializedTarArguments::verbose, false)
+                .has(SpecializedTarArguments::compress, true)
+                .has(SpecializedTarArguments::file, "bar.tar");
+        tar.assertThat("--x", "--file=baz.tar")
+                .has(TarArguments::extract, true)
+                .has(TarArguments::create, false)
+                .has(TarArguments::verbose, false)
+                .has(TarArguments::compress, false)
+                .has(TarArguments::file, "baz.tar");
+        specializedTar.assertThat("--x", "--file=baz.tar")
+                .has(SpecializedTarArguments::extract, true)
+                .has(SpecializedTarArguments::create, false)
+                .has(SpecializedTarArguments::verbose, false)
+                .has(SpecializedTarArguments::compress, false)
+                .has(SpecializedTarArguments::file, "baz.tar");
+        tar.assertThat("-xf")
+                .fails("Missing argument after option name: -f");
+        specializedTar.assertThat("-xf")
+                .fails("Missing argument after option name: -f");
+        tar.assertThat("-xx", "-f", "a")
+                .fails("Option '-x' is a repetition");
+        specializedTar.assertThat("-xx", "-f", "a")
+                .fails("Option '-x' is a repetition");
+        tar.assertThat("-xa", "-f", "a")
+                .fails("Invalid token: -xa");
+        specializedTar.assertThat("-xa", "-f", "a")
+                .fails("Invalid token: -xa");
+        tar.assertThat("-f", "a", "b")
+                .fails("Excess param: b");
+        specializedTar.assertThat("-f", "a", "b")
+                .fails("Excess param: b");
+        tar.assertThat("-f", "a", "--")
+                .has(TarArguments::extract, false)
+                .has(TarArguments::create, false)
+                .has(TarArguments::verbose, false)
+                .has(TarArguments::compress, false)
+                .has(TarArguments::file, "a");
+        specializedTar.assertThat("-f", "a", "--")
+                .has(SpecializedTarArguments::extract, false)
+                .has(SpecializedTarArguments::create, false)
+                .has(SpecializedTarArguments::verbose, false)
+                .has(SpecializedTarArguments::compress, false)
+                .has(SpecializedTarArguments::file, "a");
+        tar.assertThat("-f", "a", "--", "b")
+                .fails("Excess param: b");
+        specializedTar.assertThat("-f", "a", "--", "b")
+                .fails("Excess param: b");
+        tar.assertThat(/* empty */)
+                .fails("Missing required option FILE (-f, --file)");
+        specializedTar.assertThat(/* empty */)
+                .fails("Missing required option FILE (-f, --file)");
+    }
+
+    @Test
+    void testGit() {
+        git.assertThat("add", "-v", "--", "foo")
+                .has(GitCommand::command, "add")
+                .has(GitCommand::rest, List.of("-v", "--", "foo"));
+        specializedGit.assertThat("add", "-v", "--", "foo")
+                .has(SpecializedGitCommand::command, "add")
+                .has(SpecializedGitCommand::rest, List.of("-v", "--", "foo"));
+        git.assertThat("--", "add")
+                .has(GitCommand::command, "--")
+                .has(GitCommand::rest, List.of("add"));
+        specializedGit.assertThat("--", "add")
+                .has(SpecializedGitCommand::command, "--")
+                .has(SpecializedGitCommand::rest, List.of("add"));
+        git.assertThat("-v", "add")
+                .fails("Invalid option: -v");
+        specializedGit.assertThat("-v", "add")
+                .fails("Invalid option: -v");
+        git.assertThat(/* empty */)
+                .fails("Missing required parameter COMMAND");
+        specializedGit.assertThat(/* empty */)
+                .fails("Missing required parameter COMMAND");
+        git.assertThat("commit")
+                .has(GitCommand::command, "commit")
+                .has(GitCommand::rest, List.of());
+        specializedGit.assertThat("commit")
+                .has(SpecializedGitCommand::command, "commit")
+                .has(SpecializedGitCommand::rest, List.of());
+    }
+}
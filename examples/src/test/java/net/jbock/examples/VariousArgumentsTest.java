@@ -35,4 +35,23 @@ class VariousArgumentsTest {
                 .has(VariousArguments::uri, URI.create("http://localhost:8080"))
                 .has(VariousArguments::uriPos, Optional.of(URI.create("http://localhost:8080")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void missingFiles() {
+        f.assertThat(
+                "--bigDecimal", "3.14",
+                "--bigInteger", "6",
+                "--path", "/home",
+                "--localDate", "2001-02-01",
+                "--uri", "http://localhost:8080",
+                "--pattern", "^[abc]*$",
+                "--fileList", "/nonexistent/a",
+                "--fileList", "/etc/hosts",
+                "--fileList", "/nonexistent/b",
+                "6.02214076e23",
+                "60221407600000000000000",
+                "/etc/hosts")
+                .fails("while converting option FILELIST (--fileList): " +
+                        "Paths do not exist: /nonexistent/a, /nonexistent/b");
+    }
+}
@@ -67,6 +67,23 @@ public @interface Command {
      */
     boolean enableAtFileExpansion() default false;
 
+    /**
+     * If {@code true}, the generated {@code parseOrExit} method
+     * reads the {@code @-file} while the tokens are parsed,
+     * instead of reading the entire file before parsing.
+     * This keeps memory usage constant for a large {@code @-file}.
+     * The file is still read to the end before any item is converted,
+     * and an error in the {@code @-file} is reported
+     * instead of a parsing error.
+     * The generated parser has an additional {@code parse} method
+     * that takes an {@link java.util.Iterator Iterator}.
+     * This requires {@link #enableAtFileExpansion()}, and can not be
+     * combined with {@link #convertWhileParsing()}.
+     *
+     * @return {@code true} to read the {@code @-file} lazily
+     */
+    boolean lazyAtFileExpansion() default false;
+
     /**
      * If {@code true}, the generated parser class will be
      * {@code public}. Otherwise, it will be package-private.
@@ -74,4 +91,78 @@ public @interface Command {
      * @return {@code true} to generate a public parser class
      */
     boolean publicParser() default false;
+
+    /**
+     * If {@code true}, the generated parser will contain dedicated
+     * parsing code for this command, with a {@code switch} over the
+     * option names and a field for each option.
+     * Otherwise, the generic {@link net.jbock.parse.ParserSpec} is used.
+     *
+     * @return {@code true} to generate a specialized parser
+     */
+    boolean specializedParser() default false;
+
+    /**
+     * If {@code true}, each option argument and positional parameter
+     * is converted as soon as it is read, by a specialized parser.
+     * Parsing stops at the first conversion failure,
+     * so the reported error is the one that appears
+     * first in the input.
+     * This implies {@link #specializedParser()}, and can not be combined with
+     * {@link #concurrentConversion()} or {@link #lazyConversion()}.
+     *
+     * @return {@code true} to convert while parsing
+     */
+    boolean convertWhileParsing() default false;
+
+    /**
+     * If {@code true}, the generated {@code parse} and {@code parseOrExit}
+     * methods and the implementation of the command class
+     * do not contain lambdas, method references or other
+     * {@code invokedynamic} call sites.
+     * This avoids the cost of linking these call sites
+     * the first time they are reached, which is a noticeable part
+     * of the startup time of a short-lived command line tool.
+     *
+     * @return {@code true} to generate code without invokedynamic
+     */
+    boolean noInvokeDynamic() default false;
+
+    /**
+     * If {@code true}, the option arguments and positional parameters
+     * are converted concurrently, one task per token.
+     * This is useful if the converters are slow because they do I/O,
+     * like checking that a file exists on a network file system.
+     * The generated parser has an additional {@code parse} method
+     * that takes an {@link java.util.concurrent.Executor Executor}.
+     * The other {@code parse} methods use virtual threads if the runtime
+     * supports them, and convert sequentially otherwise.
+     * If more than one conversion fails, the reported error
+     * is the same as in a sequential conversion.
+     * This can not be combined with {@link #convertWhileParsing()}
+     * or {@link #lazyConversion()}.
+     *
+     * @return {@code true} to convert concurrently
+     */
+    boolean concurrentConversion() default false;
+
+    /**
+     * If {@code true}, an option argument or positional parameter
+     * is converted when its method is invoked for the first time,
+     * and the result is stored for later invocations.
+     * This is useful for a command with many options,
+     * if a typical run only reads a few of them.
+     * The tokens are still checked during parsing,
+     * so an unknown option or a missing required item
+     * is reported by the {@code parse} method as usual.
+     * If the conversion fails, the method throws a
+     * {@link net.jbock.util.ConversionFailedException ConversionFailedException}
+     * instead.
+     * The methods of the command instance are thread safe.
+     * This can not be combined with {@link #convertWhileParsing()}
+     * or {@link #concurrentConversion()}.
+     *
+     * @return {@code true} to convert on first access
+     */
+    boolean lazyConversion() default false;
 }
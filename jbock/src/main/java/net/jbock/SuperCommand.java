@@ -63,9 +63,52 @@ public @interface SuperCommand {
      */
     boolean enableAtFileExpansion() default false;
 
+    /**
+     * @return {@code true} if the {@code @-file} should be read lazily
+     * @see Command#lazyAtFileExpansion()
+     */
+    boolean lazyAtFileExpansion() default false;
+
     /**
      * @return {@code true} if public parser should be generated
      * @see Command#publicParser()
      */
     boolean publicParser() default false;
+
+    /**
+     * @return {@code true} if a specialized parser should be generated
+     * @see Command#specializedParser()
+     */
+    boolean specializedParser() default false;
+
+    /**
+     * @return {@code true} if tokens should be converted while parsing
+     * @see Command#convertWhileParsing()
+     */
+    boolean convertWhileParsing() default false;
+
+    /**
+     * @return {@code true} if the generated code should not contain
+     *         lambdas, method references or other invokedynamic call sites
+     * @see Command#noInvokeDynamic()
+     */
+    boolean noInvokeDynamic() default false;
+
+    /**
+     * This can not be combined with {@link #convertWhileParsing()}
+     * or {@link #lazyConversion()}.
+     *
+     * @return {@code true} if tokens should be converted concurrently
+     * @see Command#concurrentConversion()
+     */
+    boolean concurrentConversion() default false;
+
+    /**
+     * This can not be combined with {@link #convertWhileParsing()}
+     * or {@link #concurrentConversion()}.
+     *
+     * @return {@code true} if tokens should be converted on first access
+     * @see Command#lazyConversion()
+     */
+    boolean lazyConversion() default false;
 }
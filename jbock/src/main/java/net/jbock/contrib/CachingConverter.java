@@ -0,0 +1,232 @@
+package net.jbock.contrib;
+
+import net.jbock.util.StringConverter;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A {@code StringConverter} that remembers its most recent results,
+ * for converters that are expensive, like {@link java.util.regex.Pattern#compile(String)},
+ * in programs that parse many command lines, like a daemon.
+ *
+ * <p>The conversion results are shared between all tokens that are equal,
+ * so the result type should be immutable.
+ * If the conversion function throws an exception, nothing is cached,
+ * and the exception is thrown again the next time the same token is converted.
+ *
+ * <p>A {@code CachingConverter} is typically stored in a static field,
+ * and returned from a converter class:
+ *
+ * <pre>{@code
+ * static final class PatternConverter implements Supplier<StringConverter<Pattern>> {
+ *     static final CachingConverter<Pattern> CACHE = CachingConverter.create(Pattern::compile, 500);
+ *
+ *     public StringConverter<Pattern> get() {
+ *         return CACHE;
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>This class is thread safe. A cache hit does not take a lock.
+ * Only a cache miss that adds a result, and {@link #clear()},
+ * take the instance lock, to evict results.
+ *
+ * @param <T> type of the conversion result
+ */
+public final class CachingConverter<T> extends StringConverter<T> {
+
+    /**
+     * The order in which cached results are removed
+     * when the cache is full.
+     */
+    public enum Eviction {
+
+        /**
+         * Removes a result that was not used recently.
+         * This is an approximation of least recently used eviction:
+         * the results are kept in insertion order, and a result that was
+         * used since it was last checked gets a second chance,
+         * and goes back to the end of the queue.
+         */
+        LEAST_RECENTLY_USED,
+
+        /**
+         * Removes the result that was added first,
+         * regardless of how often it was used.
+         */
+        FIRST_IN_FIRST_OUT
+    }
+
+    private final Function<String, T> function;
+    private final int maximumSize;
+    private final boolean secondChance;
+    private final Map<String, Entry<T>> results = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private CachingConverter(Function<String, T> function, int maximumSize, Eviction eviction) {
+        this.function = function;
+        this.maximumSize = maximumSize;
+        this.secondChance = eviction == Eviction.LEAST_RECENTLY_USED;
+    }
+
+    /**
+     * Creates a converter that evicts results which were not used recently.
+     *
+     * @param function a function that performs string conversion
+     * @param maximumSize maximum number of cached results
+     * @param <T> output type of the conversion function
+     * @return a caching converter
+     */
+    public static <T> CachingConverter<T> create(Function<String, T> function, int maximumSize) {
+        return create(function, maximumSize, Eviction.LEAST_RECENTLY_USED);
+    }
+
+    /**
+     * Creates a converter with the given eviction order.
+     *
+     * @param function a function that performs string conversion
+     * @param maximumSize maximum number of cached results
+     * @param eviction the order in which results are evicted
+     * @param <T> output type of the conversion function
+     * @return a caching converter
+     */
+    public static <T> CachingConverter<T> create(
+            Function<String, T> function,
+            int maximumSize,
+            Eviction eviction) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+        return new CachingConverter<>(function, maximumSize, eviction);
+    }
+
+    @Override
+    protected T convert(String token) {
+        Entry<T> entry = results.get(token);
+        if (entry != null) {
+            hitCount.increment();
+            if (secondChance && !entry.used) {
+                entry.used = true; // only written once per pass, so hits do not contend
+            }
+            return entry.value;
+        }
+        missCount.increment();
+        T result = function.apply(token);
+        if (result == null || maximumSize == 0) {
+            return result;
+        }
+        Entry<T> previous = results.putIfAbsent(token, new Entry<>(result));
+        if (previous != null) {
+            return previous.value; // another thread was faster
+        }
+        insertionOrder.add(token);
+        if (results.size() > maximumSize) {
+            evict();
+        }
+        return result;
+    }
+
+    private synchronized void evict() {
+        while (results.size() > maximumSize) {
+            String token = insertionOrder.poll();
+            if (token == null) {
+                return;
+            }
+            Entry<T> entry = results.get(token);
+            if (entry == null) {
+                continue; // removed by clear
+            }
+            if (entry.used) {
+                entry.used = false;
+                insertionOrder.add(token);
+                continue;
+            }
+            results.remove(token);
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * Returns the number of conversions that used a cached result.
+     *
+     * @return number of cache hits
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of conversions that invoked the conversion function.
+     *
+     * @return number of cache misses
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the ratio of cache hits to all conversions,
+     * or {@code 1.0} if there were no conversions yet.
+     *
+     * @return hit rate, between {@code 0.0} and {@code 1.0}
+     */
+    public double hitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the number of results that were removed from this cache
+     * to make room for other results.
+     *
+     * @return number of evictions
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the number of results in this cache.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Removes all results from this cache.
+     * The statistics are not reset.
+     */
+    public synchronized void clear() {
+        results.clear();
+        insertionOrder.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingConverter{size=" + results.size()
+                + ", hits=" + hitCount.sum()
+                + ", misses=" + missCount.sum()
+                + ", evictions=" + evictionCount.sum() + "}";
+    }
+
+    private static final class Entry<T> {
+
+        final T value;
+        volatile boolean used; // used since the last eviction pass
+
+        Entry(T value) {
+            this.value = value;
+        }
+    }
+}
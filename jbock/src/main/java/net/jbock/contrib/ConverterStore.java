@@ -1,30 +1,86 @@
 package net.jbock.contrib;
 
+import net.jbock.util.ExistingFileConverter;
+import net.jbock.util.NumberConverter;
 import net.jbock.util.StringConverter;
 
-import java.lang.ref.WeakReference;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * A thread safe cache of the standard converters.
+ * There is one slot per kind of converter, which is filled
+ * when the converter is first requested.
+ * Lookups do not lock, and do not use lambdas, so that
+ * a lookup does not bootstrap an invokedynamic call site.
+ */
 final class ConverterStore {
 
-    private final Map<String, WeakReference<StringConverter<?>>> convertersByClass = new HashMap<>();
+    /**
+     * The standard converters.
+     */
+    enum Kind {
+        STRING,
+        INTEGER,
+        LONG,
+        SHORT,
+        BYTE,
+        FLOAT,
+        DOUBLE,
+        CHARACTER,
+        PATH,
+        URI,
+        PATTERN,
+        LOCAL_DATE,
+        BIG_INTEGER,
+        BIG_DECIMAL,
+        EXISTING_FILE
+    }
+
+    private static final Kind[] KINDS = Kind.values();
 
+    private final AtomicReferenceArray<StringConverter<?>> converters = new AtomicReferenceArray<>(KINDS.length);
+
+    /**
+     * Returns the converter of the given kind.
+     * If two threads request a new converter at the same time,
+     * both get the converter that was stored first.
+     *
+     * @param kind the kind of converter
+     * @param <T> output type of the converter, which must match the kind
+     * @return a converter
+     */
     @SuppressWarnings("unchecked")
-    <T> StringConverter<T> get(
-            Class<T> clazz,
-            Function<String, T> function) {
-        String canonicalName = clazz.getCanonicalName();
-        WeakReference<StringConverter<?>> ref = convertersByClass.get(canonicalName);
-        if (ref != null) {
-            StringConverter<?> cached = ref.get();
-            if (cached != null) {
-                return (StringConverter<T>) cached;
-            }
+    <T> StringConverter<T> get(Kind kind) {
+        int slot = kind.ordinal();
+        StringConverter<?> cached = converters.get(slot);
+        if (cached != null) {
+            return (StringConverter<T>) cached;
+        }
+        StringConverter<?> created = create(kind);
+        if (converters.compareAndSet(slot, null, created)) {
+            return (StringConverter<T>) created;
+        }
+        return (StringConverter<T>) converters.get(slot);
+    }
+
+    private static StringConverter<?> create(Kind kind) {
+        switch (kind) {
+            case INTEGER:
+                return NumberConverter.ofInteger();
+            case LONG:
+                return NumberConverter.ofLong();
+            case SHORT:
+                return NumberConverter.ofShort();
+            case BYTE:
+                return NumberConverter.ofByte();
+            case FLOAT:
+                return NumberConverter.ofFloat();
+            case DOUBLE:
+                return NumberConverter.ofDouble();
+            case EXISTING_FILE:
+                return ExistingFileConverter.create();
+            default:
+                return new SimpleConverter<>(kind);
         }
-        StringConverter<T> newInstance = StringConverter.create(function);
-        convertersByClass.put(canonicalName, new WeakReference<>(newInstance));
-        return newInstance;
     }
 }
@@ -3,7 +3,9 @@ package net.jbock.contrib;
 import net.jbock.util.StringConverter;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -12,23 +14,42 @@ import static java.util.stream.Collectors.joining;
 
 /**
  * A {@code StringConverter} that converts to a given enum class.
+ * A token matches an enum constant if it is equal to its name,
+ * or equal to its {@code toString} value, ignoring case.
+ * Both lookups use a table that is built when the converter is created,
+ * so that a lookup does not throw an exception or scan all constants.
+ * A converter that was created with a {@code valueOf} function
+ * invokes this function instead of the lookup by name.
  *
  * @param <E> type of the enum class
  */
 public final class EnumConverter<E> extends StringConverter<E> {
 
-    private final Function<String, E> valueOf;
+    private final Function<String, E> valueOf; // null if the constants are looked up by name
     private final E[] values;
+    private final Map<String, E> byName; // empty if valueOf is used
+    private final Map<String, E> byFoldedString; // keys are case-folded toString values
 
     private EnumConverter(
             Function<String, E> valueOf,
             E[] values) {
         this.valueOf = valueOf;
         this.values = values;
+        this.byName = new HashMap<>(valueOf == null ? 2 * values.length : 0);
+        this.byFoldedString = new HashMap<>(2 * values.length);
+        for (E value : values) {
+            if (valueOf == null) {
+                byName.put(((Enum<?>) value).name(), value);
+            }
+            byFoldedString.putIfAbsent(fold(Objects.toString(value, "")), value);
+        }
     }
 
     /**
-     * Creates an instance of {@code EnumConverter}.
+     * Creates an instance of {@code EnumConverter}
+     * that invokes the given {@code valueOf} function first.
+     * If it throws an {@link IllegalArgumentException},
+     * the {@code toString} values are compared, ignoring case.
      *
      * @param valueOf reference of the {@code valueOf} method
      * @param values reference of the {@code values} method
@@ -41,15 +62,47 @@ public final class EnumConverter<E> extends StringConverter<E> {
         return new EnumConverter<>(valueOf, values.get());
     }
 
+    /**
+     * Creates an instance of {@code EnumConverter}.
+     * Generated code stores the result in a static field,
+     * so that the lookup tables are built only once.
+     *
+     * @param values the enum constants, as returned by the {@code values} method
+     * @param <E> type of the enum class
+     * @return an instance of {@code EnumConverter}
+     */
+    public static <E extends Enum<E>> StringConverter<E> create(E[] values) {
+        return new EnumConverter<>(null, values);
+    }
+
     @Override
     protected E convert(String token) {
-        try {
-            return valueOf.apply(token);
-        } catch (IllegalArgumentException e) {
-            return tryCaseInsensitive(token);
+        if (valueOf != null) {
+            try {
+                return valueOf.apply(token);
+            } catch (IllegalArgumentException e) {
+                return tryFolded(token);
+            }
+        }
+        E value = byName.get(token);
+        if (value != null) {
+            return value;
+        }
+        return tryFolded(token);
+    }
+
+    private E tryFolded(String token) {
+        E value = byFoldedString.get(fold(token));
+        if (value != null && Objects.toString(value, "").equalsIgnoreCase(token)) {
+            return value;
         }
+        return tryCaseInsensitive(token);
     }
 
+    /**
+     * Slow path, in case the folded lookup disagrees with
+     * {@link String#equalsIgnoreCase(String)}, and error message.
+     */
     private E tryCaseInsensitive(String token) {
         for (E value : values) {
             if (Objects.toString(value, "").equalsIgnoreCase(token)) {
@@ -64,4 +117,18 @@ public final class EnumConverter<E> extends StringConverter<E> {
                 "\nPossible values (ignoring case):\n  " + strings;
         throw new RuntimeException(message);
     }
+
+    /**
+     * Folds each code point like {@link String#equalsIgnoreCase(String)} does,
+     * so that strings which are equal ignoring case have the same folded form.
+     */
+    private static String fold(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); ) {
+            int codePoint = s.codePointAt(i);
+            sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint)));
+            i += Character.charCount(codePoint);
+        }
+        return sb.toString();
+    }
 }
@@ -0,0 +1,57 @@
+package net.jbock.contrib;
+
+import net.jbock.contrib.ConverterStore.Kind;
+import net.jbock.util.StringConverter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+/**
+ * The standard converters that invoke a single factory method,
+ * like {@link Paths#get(String, String...)} or {@link Pattern#compile(String)}.
+ * The numeric converters and the existing file converter
+ * have their own classes.
+ *
+ * @param <T> output type of the conversion, which must match the kind
+ */
+final class SimpleConverter<T> extends StringConverter<T> {
+
+    private final Kind kind;
+
+    SimpleConverter(Kind kind) {
+        this.kind = kind;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T convert(String token) {
+        return (T) convertToObject(token);
+    }
+
+    private Object convertToObject(String token) {
+        switch (kind) {
+            case STRING:
+                return token;
+            case CHARACTER:
+                return MoreConverters.asCharacter(token);
+            case PATH:
+                return Paths.get(token);
+            case URI:
+                return URI.create(token);
+            case PATTERN:
+                return Pattern.compile(token);
+            case LOCAL_DATE:
+                return LocalDate.parse(token);
+            case BIG_INTEGER:
+                return new BigInteger(token);
+            case BIG_DECIMAL:
+                return new BigDecimal(token);
+            default:
+                throw new AssertionError("not a simple converter: " + kind);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.jbock.contrib;
 
+import net.jbock.contrib.ConverterStore.Kind;
 import net.jbock.util.StringConverter;
 
 import java.io.File;
@@ -7,77 +8,79 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
-import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
  * This class contains converters for all "auto types"
  * that can be used without a custom converter.
+ * The converters are created without lambdas or method references,
+ * so that code that was generated with
+ * {@link net.jbock.Command#noInvokeDynamic()} does not
+ * bootstrap any lambdas.
  */
 public final class StandardConverters {
 
     private static final ConverterStore STORE = new ConverterStore();
 
     public static StringConverter<String> asString() {
-        return STORE.get(String.class, Function.identity());
+        return STORE.get(Kind.STRING);
     }
 
     public static StringConverter<Integer> asInteger() {
-        return STORE.get(Integer.class, Integer::valueOf);
+        return STORE.get(Kind.INTEGER);
     }
 
     public static StringConverter<Long> asLong() {
-        return STORE.get(Long.class, Long::valueOf);
+        return STORE.get(Kind.LONG);
     }
 
     public static StringConverter<Short> asShort() {
-        return STORE.get(Short.class, Short::valueOf);
+        return STORE.get(Kind.SHORT);
     }
 
     public static StringConverter<Byte> asByte() {
-        return STORE.get(Byte.class, Byte::valueOf);
+        return STORE.get(Kind.BYTE);
     }
 
     public static StringConverter<Float> asFloat() {
-        return STORE.get(Float.class, Float::valueOf);
+        return STORE.get(Kind.FLOAT);
     }
 
     public static StringConverter<Double> asDouble() {
-        return STORE.get(Double.class, Double::valueOf);
+        return STORE.get(Kind.DOUBLE);
     }
 
     public static StringConverter<Character> asCharacter() {
-        return STORE.get(Character.class, MoreConverters::asCharacter);
+        return STORE.get(Kind.CHARACTER);
     }
 
     public static StringConverter<Path> asPath() {
-        return STORE.get(Path.class, Paths::get);
+        return STORE.get(Kind.PATH);
     }
 
     public static StringConverter<URI> asURI() {
-        return STORE.get(URI.class, URI::create);
+        return STORE.get(Kind.URI);
     }
 
     public static StringConverter<Pattern> asPattern() {
-        return STORE.get(Pattern.class, Pattern::compile);
+        return STORE.get(Kind.PATTERN);
     }
 
     public static StringConverter<LocalDate> asLocalDate() {
-        return STORE.get(LocalDate.class, LocalDate::parse);
+        return STORE.get(Kind.LOCAL_DATE);
     }
 
     public static StringConverter<BigInteger> asBigInteger() {
-        return STORE.get(BigInteger.class, BigInteger::new);
+        return STORE.get(Kind.BIG_INTEGER);
     }
 
     public static StringConverter<BigDecimal> asBigDecimal() {
-        return STORE.get(BigDecimal.class, BigDecimal::new);
+        return STORE.get(Kind.BIG_DECIMAL);
     }
 
     public static StringConverter<File> asExistingFile() {
-        return STORE.get(File.class, MoreConverters::existingFile);
+        return STORE.get(Kind.EXISTING_FILE);
     }
 
     private StandardConverters() {
@@ -5,10 +5,7 @@ import net.jbock.util.ExToken;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 import static net.jbock.util.ErrTokenType.INVALID_OPTION;
 
@@ -20,18 +17,13 @@ import static net.jbock.util.ErrTokenType.INVALID_OPTION;
  */
 abstract class AbstractParser<T> implements ParseResult<T> {
 
-    private static final Pattern SUSPICIOUS = Pattern.compile("-[a-zA-Z0-9]+|--[a-zA-Z0-9-]+");
-
-    private final Map<String, T> optionNames;
-    private final Map<T, OptionState> optionStates;
+    private final NameTable optionNames;
     private final String[] params;
 
     AbstractParser(
-            Map<String, T> optionNames,
-            Map<T, OptionState> optionStates,
+            NameTable optionNames,
             int numParams) {
         this.optionNames = optionNames;
-        this.optionStates = optionStates;
         this.params = new String[numParams];
     }
 
@@ -42,15 +34,24 @@ abstract class AbstractParser<T> implements ParseResult<T> {
             endOfOptionParsing |= hasOptionParsingEnded(position);
             String token = it.next();
             if (!endOfOptionParsing) {
-                if (isEscapeSequence(token)) {
-                    endOfOptionParsing = true;
-                    continue;
-                }
-                if (tryReadOption(token, it)) {
-                    continue;
-                }
-                if (SUSPICIOUS.matcher(token).matches()) {
-                    throw new ExToken(INVALID_OPTION, token);
+                switch (TokenType.classify(token)) {
+                    case PLAIN:
+                        break;
+                    case ESCAPE:
+                        if (recognizesEscapeSequence()) {
+                            endOfOptionParsing = true;
+                            continue;
+                        }
+                        break;
+                    case SUSPICIOUS:
+                        if (tryReadOption(token, it)) {
+                            continue;
+                        }
+                        throw new ExToken(INVALID_OPTION, token);
+                    default:
+                        if (tryReadOption(token, it)) {
+                            continue;
+                        }
                 }
             }
             if (position < params.length) {
@@ -63,10 +64,23 @@ abstract class AbstractParser<T> implements ParseResult<T> {
 
     abstract boolean hasOptionParsingEnded(int position);
 
-    abstract boolean isEscapeSequence(String token);
+    abstract boolean recognizesEscapeSequence();
 
     abstract void handleExcessParam(String token) throws ExToken;
 
+    /**
+     * Reads the argument of the option, or remembers the occurrence
+     * of a mode flag.
+     *
+     * @param option value of the option name in the {@link NameTable}
+     * @param token an option name, or a combination of name and value
+     * @param it an iterator, which might contain additional tokens
+     * @return {@code null}, or a reduced option group,
+     *         like {@link OptionState#read(String, Iterator)}
+     * @throws ExToken if the input is not valid command line syntax
+     */
+    abstract String read(int option, String token, Iterator<String> it) throws ExToken;
+
     /**
      * Parse the given input and store the result internally.
      * 
@@ -81,54 +95,49 @@ abstract class AbstractParser<T> implements ParseResult<T> {
     }
 
     private boolean tryReadOption(String token, Iterator<String> it) throws ExToken {
-        String name = readOptionName(token);
-        if (name == null) {
-            return false;
-        }
-        T opt = optionNames.get(name);
-        if (opt == null) {
+        int opt = findOption(token);
+        if (opt == -1) {
             return false;
         }
         String t = token;
-        while ((t = optionStates.get(opt).read(t, it)) != null) {
-            if ((name = readOptionName(t)) == null) {
-                throw new ExToken(ErrTokenType.INVALID_UNIX_GROUP, token);
-            }
-            if ((opt = optionNames.get(name)) == null) {
+        while ((t = read(opt, t, it)) != null) {
+            if ((opt = findOption(t)) == -1) {
                 throw new ExToken(ErrTokenType.INVALID_UNIX_GROUP, token);
             }
         }
         return true;
     }
 
-    private String readOptionName(String token) {
-        if (token.length() < 2 || !token.startsWith("-")) {
-            return null;
+    private int findOption(String token) {
+        int end = optionNameEnd(token);
+        if (end == -1) {
+            return -1;
         }
-        if (!token.startsWith("--")) {
-            return token.substring(0, 2);
+        return optionNames.get(token, end);
+    }
+
+    private static int optionNameEnd(String token) {
+        if (token.length() < 2 || token.charAt(0) != '-') {
+            return -1;
         }
-        if (!token.contains("=")) {
-            return token;
+        if (token.charAt(1) != '-') {
+            return 2;
         }
-        return token.substring(0, token.indexOf('='));
+        int equals = token.indexOf('=');
+        return equals == -1 ? token.length() : equals;
     }
 
     @Override
-    public final Stream<String> option(T option) {
-        OptionState optionState = optionStates.get(option);
-        if (optionState == null) {
-            return Stream.empty();
-        }
-        return optionState.stream();
+    public final Optional<String> param(int index) {
+        return Optional.ofNullable(paramValue(index));
     }
 
     @Override
-    public final Optional<String> param(int index) {
+    public final String paramValue(int index) {
         if (index < 0 || index >= params.length) {
-            return Optional.empty();
+            return null;
         }
-        return Optional.ofNullable(params[index]);
+        return params[index];
     }
 
     final int numParams() {
@@ -0,0 +1,320 @@
+package net.jbock.parse;
+
+import io.jbock.util.Either;
+import net.jbock.model.ItemType;
+import net.jbock.util.ConverterFailure;
+import net.jbock.util.ExConvert;
+import net.jbock.util.ExistingFileConverter;
+import net.jbock.util.ExFailure;
+import net.jbock.util.ExMissingItem;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Converts the items of a command concurrently.
+ * This class is used by the generated implementation of the command class
+ * when {@link net.jbock.Command#concurrentConversion()} is set.
+ * This class is internal API and should not be used in client code.
+ *
+ * <p>Each token is converted in a separate task.
+ * The conversion methods return a {@link Value} immediately.
+ * After all items have been registered, {@link #await()}
+ * waits for all tasks, and then throws the failure
+ * that a sequential conversion would have thrown:
+ * the first failure in the order in which the items were registered,
+ * and for a repeatable item, in the order of its tokens.
+ *
+ * <p>An instance of this class is used for one conversion only.
+ */
+public final class ConcurrentConversion {
+
+    private final Executor executor;
+    private final List<Value<?>> values = new ArrayList<>();
+    private final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+    private ConcurrentConversion(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an instance that runs its tasks on the given executor.
+     *
+     * @param executor an executor
+     * @return a new instance
+     */
+    public static ConcurrentConversion create(Executor executor) {
+        return new ConcurrentConversion(executor);
+    }
+
+    /**
+     * Returns an executor that starts a new virtual thread for each task,
+     * if the runtime supports virtual threads.
+     * Otherwise, the returned executor runs each task in the calling thread.
+     *
+     * @return the default executor
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    /**
+     * Registers the token of a required item.
+     *
+     * @param converter a converter
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return the future conversion result
+     */
+    public <T> Value<T> convertRequired(
+            Function<String, Either<ConverterFailure, T>> converter,
+            String token,
+            ItemType itemType,
+            int itemIndex) {
+        return register(new Value<>(Kind.REQUIRED, itemType, itemIndex,
+                token == null ? List.of() : List.of(convert(converter, token))));
+    }
+
+    /**
+     * Registers the token of an optional item.
+     *
+     * @param converter a converter
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return the future conversion result, which is an empty
+     *         {@code Optional} if the token is {@code null}
+     */
+    public <T> Value<Optional<T>> convertOptional(
+            Function<String, Either<ConverterFailure, T>> converter,
+            String token,
+            ItemType itemType,
+            int itemIndex) {
+        return register(new Value<>(Kind.OPTIONAL, itemType, itemIndex,
+                token == null ? List.of() : List.of(convert(converter, token))));
+    }
+
+    /**
+     * Registers the tokens of a repeatable item.
+     *
+     * @param converter a converter
+     * @param tokens the option arguments or positional parameters,
+     *               or {@code null} if there are none
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return the future conversion results
+     */
+    public <T> Value<List<T>> convertAll(
+            Function<String, Either<ConverterFailure, T>> converter,
+            List<String> tokens,
+            ItemType itemType,
+            int itemIndex) {
+        if (tokens == null) {
+            return register(new Value<>(Kind.REPEATABLE, itemType, itemIndex, List.of()));
+        }
+        List<Conversion> conversions = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            conversions.add(convert(converter, token));
+        }
+        return register(new Value<>(Kind.REPEATABLE, itemType, itemIndex, conversions));
+    }
+
+    /**
+     * Registers the tokens of a repeatable {@code File} item.
+     * All tokens are checked together in one task,
+     * see {@link ExistingFileConverter#convertAll(List)}.
+     *
+     * @param tokens the option arguments or positional parameters,
+     *               or {@code null} if there are none
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the future conversion results
+     */
+    public Value<List<File>> convertAllExistingFiles(
+            List<String> tokens,
+            ItemType itemType,
+            int itemIndex) {
+        if (tokens == null || tokens.isEmpty()) {
+            return register(new Value<>(Kind.REPEATABLE, itemType, itemIndex, List.of()));
+        }
+        return register(new Value<>(Kind.BATCH, itemType, itemIndex,
+                List.of(start(new ExistingFilesConversion(tokens)))));
+    }
+
+    /**
+     * Waits until all tokens have been converted.
+     *
+     * @throws ExMissingItem if a required item has no token
+     * @throws ExConvert if a conversion failed
+     */
+    public void await() throws ExFailure {
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        for (Value<?> value : values) {
+            value.check();
+        }
+    }
+
+    private <T> Value<T> register(Value<T> value) {
+        values.add(value);
+        return value;
+    }
+
+    private Conversion convert(Function<String, ? extends Either<ConverterFailure, ?>> converter, String token) {
+        return start(new Conversion(converter, token));
+    }
+
+    private Conversion start(Conversion conversion) {
+        try {
+            tasks.add(CompletableFuture.runAsync(conversion, executor));
+        } catch (RejectedExecutionException e) {
+            conversion.run();
+        }
+        return conversion;
+    }
+
+    private enum Kind {
+        REQUIRED, OPTIONAL, REPEATABLE, BATCH
+    }
+
+    /**
+     * The conversion of a single token.
+     * Exceptions are caught, so that they can be rethrown in order.
+     */
+    private static class Conversion implements Runnable {
+
+        final Function<String, ? extends Either<ConverterFailure, ?>> converter;
+        final String token;
+        Either<ConverterFailure, ?> result;
+        RuntimeException exception;
+        Error error;
+
+        Conversion(Function<String, ? extends Either<ConverterFailure, ?>> converter, String token) {
+            this.converter = converter;
+            this.token = token;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result = convert();
+            } catch (RuntimeException e) {
+                exception = e;
+            } catch (Error e) {
+                error = e;
+            }
+        }
+
+        Either<ConverterFailure, ?> convert() {
+            return converter.apply(token);
+        }
+    }
+
+    /**
+     * The conversion of all tokens of a repeatable {@code File} item.
+     */
+    private static final class ExistingFilesConversion extends Conversion {
+
+        final List<String> tokens;
+
+        ExistingFilesConversion(List<String> tokens) {
+            super(null, null);
+            this.tokens = tokens;
+        }
+
+        @Override
+        Either<ConverterFailure, ?> convert() {
+            return ExistingFileConverter.convertAll(tokens);
+        }
+    }
+
+    /**
+     * The result of the conversion of an item,
+     * which is available after {@link #await()} has returned normally.
+     *
+     * @param <T> type of the result
+     */
+    public static final class Value<T> {
+
+        private final Kind kind;
+        private final ItemType itemType;
+        private final int itemIndex;
+        private final List<Conversion> conversions;
+
+        private Value(Kind kind, ItemType itemType, int itemIndex, List<Conversion> conversions) {
+            this.kind = kind;
+            this.itemType = itemType;
+            this.itemIndex = itemIndex;
+            this.conversions = conversions;
+        }
+
+        private void check() throws ExFailure {
+            if (kind == Kind.REQUIRED && conversions.isEmpty()) {
+                throw new ExMissingItem(itemType, itemIndex);
+            }
+            for (Conversion conversion : conversions) {
+                if (conversion.exception != null) {
+                    throw conversion.exception;
+                }
+                if (conversion.error != null) {
+                    throw conversion.error;
+                }
+                if (conversion.result.isLeft()) {
+                    throw new ExConvert(conversion.result.getLeft().orElseThrow(), itemType, itemIndex);
+                }
+            }
+        }
+
+        /**
+         * Returns the result of the conversion.
+         *
+         * @return conversion result
+         */
+        @SuppressWarnings("unchecked")
+        public T get() {
+            switch (kind) {
+                case REQUIRED:
+                    return (T) value(conversions.get(0));
+                case OPTIONAL:
+                    return (T) (conversions.isEmpty() ? Optional.empty() : Optional.of(value(conversions.get(0))));
+                case BATCH:
+                    return (T) value(conversions.get(0));
+                default:
+                    List<Object> result = new ArrayList<>(conversions.size());
+                    for (Conversion conversion : conversions) {
+                        result.add(value(conversion));
+                    }
+                    return (T) result;
+            }
+        }
+
+        private static Object value(Conversion conversion) {
+            return conversion.result.getRight().orElseThrow();
+        }
+    }
+
+    private static final class DefaultExecutor {
+
+        static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) method.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Runnable::run; // no virtual threads
+            }
+        }
+    }
+}
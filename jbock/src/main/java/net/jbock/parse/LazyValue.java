@@ -0,0 +1,180 @@
+package net.jbock.parse;
+
+import io.jbock.util.Either;
+import net.jbock.model.ItemType;
+import net.jbock.util.ConverterFailure;
+import net.jbock.util.ExConvert;
+import net.jbock.util.ExMissingItem;
+
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The result of a conversion that runs when it is needed for the first time.
+ * This class is used by the generated implementation of the command class
+ * when {@link net.jbock.Command#lazyConversion()} is set.
+ * This class is internal API and should not be used in client code.
+ *
+ * <p>A missing required item is reported when the instance is created,
+ * so that it is still reported by the {@code parse} method.
+ * A conversion failure is not stored,
+ * so the conversion runs again on the next invocation of {@link #get()}.
+ *
+ * <p>This class is thread safe.
+ * The conversion runs at most once if it succeeds.
+ *
+ * @param <T> type of the result
+ */
+public final class LazyValue<T> {
+
+    private enum Kind {
+        REQUIRED, OPTIONAL, REPEATABLE, EXISTING_FILES
+    }
+
+    private final Kind kind;
+    private final ItemType itemType;
+    private final int itemIndex;
+
+    // cleared after the conversion
+    private Function<String, ? extends Either<ConverterFailure, ?>> converter;
+    private String token;
+    private List<String> tokens;
+
+    private volatile T value;
+
+    private LazyValue(
+            Kind kind,
+            Function<String, ? extends Either<ConverterFailure, ?>> converter,
+            String token,
+            List<String> tokens,
+            ItemType itemType,
+            int itemIndex) {
+        this.kind = kind;
+        this.converter = converter;
+        this.token = token;
+        this.tokens = tokens;
+        this.itemType = itemType;
+        this.itemIndex = itemIndex;
+    }
+
+    /**
+     * Creates the lazy result of a required item.
+     *
+     * @param converter a converter
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return a lazy conversion result
+     * @throws ExMissingItem if the token is {@code null}
+     */
+    public static <T> LazyValue<T> required(
+            Function<String, Either<ConverterFailure, T>> converter,
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExMissingItem {
+        if (token == null) {
+            throw new ExMissingItem(itemType, itemIndex);
+        }
+        return new LazyValue<>(Kind.REQUIRED, converter, token, null, itemType, itemIndex);
+    }
+
+    /**
+     * Creates the lazy result of an optional item.
+     *
+     * @param converter a converter
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return a lazy conversion result, which contains an empty
+     *         {@code Optional} if the token is {@code null}
+     */
+    public static <T> LazyValue<Optional<T>> optional(
+            Function<String, Either<ConverterFailure, T>> converter,
+            String token,
+            ItemType itemType,
+            int itemIndex) {
+        return new LazyValue<>(Kind.OPTIONAL, converter, token, null, itemType, itemIndex);
+    }
+
+    /**
+     * Creates the lazy result of a repeatable item.
+     *
+     * @param converter a converter
+     * @param tokens the option arguments or positional parameters,
+     *               or {@code null} if there are none
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return a lazy conversion result
+     */
+    public static <T> LazyValue<List<T>> all(
+            Function<String, Either<ConverterFailure, T>> converter,
+            List<String> tokens,
+            ItemType itemType,
+            int itemIndex) {
+        return new LazyValue<>(Kind.REPEATABLE, converter, null, tokens, itemType, itemIndex);
+    }
+
+    /**
+     * Creates the lazy result of a repeatable {@code File} item.
+     * All tokens are checked together,
+     * see {@link ParseSupport#convertAllExistingFiles(List, ItemType, int)}.
+     *
+     * @param tokens the option arguments or positional parameters,
+     *               or {@code null} if there are none
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return a lazy conversion result
+     */
+    public static LazyValue<List<File>> convertAllExistingFiles(
+            List<String> tokens,
+            ItemType itemType,
+            int itemIndex) {
+        return new LazyValue<>(Kind.EXISTING_FILES, null, null, tokens, itemType, itemIndex);
+    }
+
+    /**
+     * Returns the result of the conversion,
+     * and runs the conversion if this is the first invocation.
+     *
+     * @return conversion result
+     * @throws ExConvert if the conversion fails
+     */
+    public T get() throws ExConvert {
+        T result = value;
+        if (result != null) {
+            return result;
+        }
+        synchronized (this) {
+            result = value;
+            if (result == null) {
+                result = convert();
+                value = result;
+                converter = null;
+                token = null;
+                tokens = null;
+            }
+            return result;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T convert() throws ExConvert {
+        Function<String, Either<ConverterFailure, Object>> f =
+                (Function<String, Either<ConverterFailure, Object>>) converter;
+        switch (kind) {
+            case REQUIRED:
+                return (T) ParseSupport.convert(f, token, itemType, itemIndex);
+            case OPTIONAL:
+                return (T) ParseSupport.convertOptional(f, token, itemType, itemIndex);
+            case EXISTING_FILES:
+                return (T) ParseSupport.convertAllExistingFiles(tokens, itemType, itemIndex);
+            default:
+                return (T) ParseSupport.convertAll(f, tokens, itemType, itemIndex);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package net.jbock.parse;
+
+import java.util.List;
+
+/**
+ * An immutable hash table that maps option names to non-negative integers.
+ * A lookup compares a name against a prefix of a token,
+ * so the option name does not have to be extracted via
+ * {@link String#substring(int, int) substring} first.
+ */
+final class NameTable {
+
+    private final String[] names;
+    private final int[] values;
+    private final int mask;
+
+    private NameTable(String[] names, int[] values) {
+        this.names = names;
+        this.values = values;
+        this.mask = names.length - 1;
+    }
+
+    /**
+     * Creates a table that maps each of the {@code names}
+     * to its position in the list.
+     *
+     * @param names a list of distinct option names
+     * @return a name table
+     */
+    static NameTable create(List<String> names) {
+        int[] positions = new int[names.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        return create(names, positions);
+    }
+
+    /**
+     * Creates a table that maps each of the {@code names}
+     * to the value at the same position in {@code values}.
+     *
+     * @param names a list of distinct option names
+     * @param values non-negative values, one for each name
+     * @return a name table
+     */
+    static NameTable create(List<String> names, int[] values) {
+        int capacity = Integer.highestOneBit(Math.max(1, names.size()) * 2 - 1) << 1;
+        String[] keys = new String[capacity];
+        int[] slotValues = new int[capacity];
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            int slot = hash(name, name.length()) & (capacity - 1);
+            while (keys[slot] != null) {
+                if (keys[slot].equals(name)) {
+                    throw new IllegalArgumentException("duplicate option name: " + name);
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+            keys[slot] = name;
+            slotValues[slot] = values[i];
+        }
+        return new NameTable(keys, slotValues);
+    }
+
+    /**
+     * Finds the option name that is equal to the first {@code end}
+     * characters of {@code token}.
+     *
+     * @param token a token
+     * @param end length of the token prefix that is the option name
+     * @return value of the option name, or {@code -1} if there is no match
+     */
+    int get(String token, int end) {
+        int slot = hash(token, end) & mask;
+        String name;
+        while ((name = names[slot]) != null) {
+            if (name.length() == end && token.regionMatches(0, name, 0, end)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(String s, int end) {
+        int h = 0;
+        for (int i = 0; i < end; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+}
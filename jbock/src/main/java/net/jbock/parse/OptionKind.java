@@ -0,0 +1,31 @@
+package net.jbock.parse;
+
+/**
+ * The kind of a named option.
+ * It determines how the occurrences of the option are read and stored.
+ *
+ * @see ParserSpec
+ */
+public enum OptionKind {
+
+    /**
+     * A nullary option that may appear at most once.
+     *
+     * @see OptionStateModeFlag
+     */
+    MODE_FLAG,
+
+    /**
+     * A unary option that may appear at most once.
+     *
+     * @see OptionStateNonRepeatable
+     */
+    NON_REPEATABLE,
+
+    /**
+     * A unary option that may appear any number of times.
+     *
+     * @see OptionStateRepeatable
+     */
+    REPEATABLE
+}
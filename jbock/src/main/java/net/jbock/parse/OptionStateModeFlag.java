@@ -6,6 +6,8 @@ import net.jbock.util.ExToken;
 import java.util.Iterator;
 import java.util.stream.Stream;
 
+import static net.jbock.parse.OptionStateUtil.readModeFlag;
+
 /**
  * Detects and stores the presence of a mode flag.
  * The {@code read} method cannot be invoked more than once, otherwise
@@ -21,10 +23,7 @@ public final class OptionStateModeFlag implements OptionState {
             throw new ExToken(ErrTokenType.OPTION_REPETITION, token);
         }
         seen = true;
-        if (token.startsWith("--") || token.length() == 2) {
-            return null;
-        }
-        return '-' + token.substring(2);
+        return readModeFlag(token);
     }
 
     @Override
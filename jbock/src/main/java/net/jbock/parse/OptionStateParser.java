@@ -0,0 +1,55 @@
+package net.jbock.parse;
+
+import net.jbock.util.ExToken;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Abstract superclass of the parsers that store their results
+ * in {@link OptionState} instances, which are provided by the caller.
+ *
+ * @param <T> type of keys that identify named options
+ */
+abstract class OptionStateParser<T> extends AbstractParser<T> {
+
+    private final List<OptionState> statesByName;
+    private final Map<T, OptionState> optionStates;
+
+    OptionStateParser(
+            Map<String, T> optionNames,
+            Map<T, OptionState> optionStates,
+            int numParams) {
+        this(List.copyOf(optionNames.keySet()), optionNames, optionStates, numParams);
+    }
+
+    private OptionStateParser(
+            List<String> names,
+            Map<String, T> optionNames,
+            Map<T, OptionState> optionStates,
+            int numParams) {
+        super(NameTable.create(names), numParams);
+        this.statesByName = new ArrayList<>(names.size());
+        for (String name : names) {
+            statesByName.add(optionStates.get(optionNames.get(name)));
+        }
+        this.optionStates = optionStates;
+    }
+
+    @Override
+    final String read(int option, String token, Iterator<String> it) throws ExToken {
+        return statesByName.get(option).read(token, it);
+    }
+
+    @Override
+    public final Stream<String> option(T option) {
+        OptionState optionState = optionStates.get(option);
+        if (optionState == null) {
+            return Stream.empty();
+        }
+        return optionState.stream();
+    }
+}
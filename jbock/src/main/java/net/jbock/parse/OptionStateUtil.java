@@ -23,4 +23,11 @@ final class OptionStateUtil {
         }
         throw new ExToken(ErrTokenType.MISSING_ARGUMENT, token);
     }
+
+    static String readModeFlag(String token) {
+        if (token.startsWith("--") || token.length() == 2) {
+            return null;
+        }
+        return '-' + token.substring(2);
+    }
 }
@@ -1,6 +1,8 @@
 package net.jbock.parse;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -39,4 +41,50 @@ public interface ParseResult<T> {
      * @return remaining tokens
      */
     Stream<String> rest();
+
+    /**
+     * Get the first option value for the given option key.
+     * For a mode flag, the value is the empty string.
+     *
+     * @param optionKey a key that represents a named option
+     * @return the first value, or {@code null} if the option is absent
+     */
+    default String optionValue(T optionKey) {
+        return option(optionKey).findFirst().orElse(null);
+    }
+
+    /**
+     * Get all option values for the given option key,
+     * in the order in which they were passed on the command line.
+     * The returned list must not be modified.
+     *
+     * @param optionKey a key that represents a named option
+     * @return list of tokens
+     */
+    default List<String> optionValues(T optionKey) {
+        return option(optionKey).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the positional parameter at the given index.
+     *
+     * @param index a number
+     * @return the positional parameter at the given index,
+     *         or {@code null} if there is none
+     * @see #param(int)
+     */
+    default String paramValue(int index) {
+        return param(index).orElse(null);
+    }
+
+    /**
+     * Returns the remaining tokens after the last positional parameter.
+     * The returned list must not be modified.
+     *
+     * @return remaining tokens
+     * @see #rest()
+     */
+    default List<String> restValues() {
+        return rest().collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,185 @@
+package net.jbock.parse;
+
+import net.jbock.util.ErrTokenType;
+import net.jbock.util.ExToken;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static net.jbock.parse.OptionKind.MODE_FLAG;
+import static net.jbock.parse.OptionKind.NON_REPEATABLE;
+import static net.jbock.parse.OptionKind.REPEATABLE;
+import static net.jbock.parse.OptionStateUtil.readModeFlag;
+import static net.jbock.parse.OptionStateUtil.readOptionArgument;
+
+/**
+ * The mutable state of a single invocation of {@link ParserSpec#parse(List)}.
+ * The option values are stored in flat arrays, which are indexed by
+ * {@link ParserSpec#optionSlot(int) option slot}.
+ * Each array is only allocated when an option of the corresponding kind
+ * is present in the input.
+ *
+ * @param <T> type of keys that identify named options
+ */
+final class ParseState<T> extends AbstractParser<T> {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final ParserSpec<T> spec;
+    private long[] flags;
+    private String[] values;
+    private String[][] repeatedValues;
+    private int[] repetitions;
+    private List<String> rest;
+
+    ParseState(ParserSpec<T> spec) {
+        super(spec.optionNames(), spec.numParams());
+        this.spec = spec;
+    }
+
+    @Override
+    String read(int option, String token, Iterator<String> it) throws ExToken {
+        int slot = spec.optionSlot(option);
+        switch (spec.optionKind(option)) {
+            case MODE_FLAG:
+                return readFlag(slot, token);
+            case NON_REPEATABLE:
+                readValue(slot, token, it);
+                return null;
+            default:
+                readRepeatedValue(slot, token, it);
+                return null;
+        }
+    }
+
+    private String readFlag(int slot, String token) throws ExToken {
+        if (flags == null) {
+            flags = new long[(spec.numSlots(MODE_FLAG) + 63) >>> 6];
+        }
+        long bit = 1L << slot;
+        if ((flags[slot >>> 6] & bit) != 0) {
+            throw new ExToken(ErrTokenType.OPTION_REPETITION, token);
+        }
+        flags[slot >>> 6] |= bit;
+        return readModeFlag(token);
+    }
+
+    private void readValue(int slot, String token, Iterator<String> it) throws ExToken {
+        if (values == null) {
+            values = new String[spec.numSlots(NON_REPEATABLE)];
+        }
+        if (values[slot] != null) {
+            throw new ExToken(ErrTokenType.OPTION_REPETITION, token);
+        }
+        values[slot] = readOptionArgument(token, it);
+    }
+
+    private void readRepeatedValue(int slot, String token, Iterator<String> it) throws ExToken {
+        String value = readOptionArgument(token, it);
+        if (repeatedValues == null) {
+            repeatedValues = new String[spec.numSlots(REPEATABLE)][];
+            repetitions = new int[repeatedValues.length];
+        }
+        String[] array = repeatedValues[slot];
+        int size = repetitions[slot];
+        if (array == null) {
+            array = repeatedValues[slot] = new String[INITIAL_CAPACITY];
+        } else if (size == array.length) {
+            array = repeatedValues[slot] = Arrays.copyOf(array, size * 2);
+        }
+        array[size] = value;
+        repetitions[slot] = size + 1;
+    }
+
+    @Override
+    boolean hasOptionParsingEnded(int position) {
+        return spec.hasOptionParsingEnded(position);
+    }
+
+    @Override
+    boolean recognizesEscapeSequence() {
+        return spec.recognizesEscapeSequence();
+    }
+
+    @Override
+    void handleExcessParam(String token) throws ExToken {
+        if (!spec.acceptsExcessParams()) {
+            throw new ExToken(ErrTokenType.EXCESS_PARAM, token);
+        }
+        if (rest == null) {
+            rest = new ArrayList<>();
+        }
+        rest.add(token);
+    }
+
+    @Override
+    public Stream<String> option(T option) {
+        int index = spec.optionIndex(option);
+        if (index == -1) {
+            return Stream.empty();
+        }
+        int slot = spec.optionSlot(index);
+        switch (spec.optionKind(index)) {
+            case MODE_FLAG:
+                if (flags == null || (flags[slot >>> 6] & (1L << slot)) == 0) {
+                    return Stream.empty();
+                }
+                return Stream.of("");
+            case NON_REPEATABLE:
+                if (values == null || values[slot] == null) {
+                    return Stream.empty();
+                }
+                return Stream.of(values[slot]);
+            default:
+                if (repeatedValues == null || repeatedValues[slot] == null) {
+                    return Stream.empty();
+                }
+                return Arrays.stream(repeatedValues[slot], 0, repetitions[slot]);
+        }
+    }
+
+    @Override
+    public String optionValue(T option) {
+        int index = spec.optionIndex(option);
+        if (index == -1) {
+            return null;
+        }
+        int slot = spec.optionSlot(index);
+        switch (spec.optionKind(index)) {
+            case MODE_FLAG:
+                return flags == null || (flags[slot >>> 6] & (1L << slot)) == 0 ? null : "";
+            case NON_REPEATABLE:
+                return values == null ? null : values[slot];
+            default:
+                return repeatedValues == null || repeatedValues[slot] == null ? null : repeatedValues[slot][0];
+        }
+    }
+
+    @Override
+    public List<String> optionValues(T option) {
+        int index = spec.optionIndex(option);
+        if (index == -1 || spec.optionKind(index) != REPEATABLE) {
+            String value = optionValue(option);
+            return value == null ? List.of() : List.of(value);
+        }
+        int slot = spec.optionSlot(index);
+        if (repeatedValues == null || repeatedValues[slot] == null) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(repeatedValues[slot]).subList(0, repetitions[slot]));
+    }
+
+    @Override
+    public Stream<String> rest() {
+        return rest == null ? Stream.empty() : rest.stream();
+    }
+
+    @Override
+    public List<String> restValues() {
+        return rest == null ? List.of() : Collections.unmodifiableList(rest);
+    }
+}
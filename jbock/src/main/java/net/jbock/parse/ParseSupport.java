@@ -0,0 +1,353 @@
+package net.jbock.parse;
+
+import io.jbock.util.Either;
+import net.jbock.model.ItemType;
+import net.jbock.util.ConverterFailure;
+import net.jbock.util.ExConvert;
+import net.jbock.util.ExFailure;
+import net.jbock.util.ExMissingItem;
+import net.jbock.util.ExToken;
+import net.jbock.util.ExistingFileConverter;
+import net.jbock.util.NumberConverter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+/**
+ * Static helper methods for generated code.
+ * This class is internal API and should not be used in client code.
+ *
+ * <p>The token helpers are used by specialized parsers,
+ * which are generated instead of a {@link ParserSpec}
+ * when {@link net.jbock.Command#specializedParser()} or
+ * {@link net.jbock.Command#convertWhileParsing()} is set.
+ * The conversion helpers are used by the generated implementation
+ * of the command class.
+ */
+public final class ParseSupport {
+
+    private ParseSupport() {
+    }
+
+    /**
+     * Returns {@code true} if the token looks like an option group
+     * or a gnu option, like {@code "-abc"} or {@code "--alpha"}.
+     * Such a token is not a valid positional parameter,
+     * unless it is escaped.
+     *
+     * @param token a token
+     * @return {@code true} if the token must be escaped
+     *         to be used as a positional parameter
+     */
+    public static boolean isSuspicious(String token) {
+        return TokenType.classify(token) == TokenType.SUSPICIOUS;
+    }
+
+    /**
+     * Reads the argument of a unary option.
+     * The argument is either attached to the option name,
+     * like in {@code "-a1"} or {@code "--alpha=1"},
+     * or it is the next token.
+     *
+     * @param token an option name, or a combination of name and value
+     * @param it an iterator, which might contain the next token
+     * @return the argument of the option
+     * @throws ExToken if the argument is missing
+     */
+    public static String readOptionArgument(String token, Iterator<String> it) throws ExToken {
+        return OptionStateUtil.readOptionArgument(token, it);
+    }
+
+    /**
+     * Returns the rest of a unix option group like {@code "-abc"},
+     * after the leading mode flag has been read.
+     *
+     * @param token a mode flag, or a unix option group that starts with a mode flag
+     * @return {@code null}, or the reduced option group, like {@code "-bc"}
+     */
+    public static String readModeFlag(String token) {
+        return OptionStateUtil.readModeFlag(token);
+    }
+
+    /**
+     * Converts a single token.
+     *
+     * @param converter a converter
+     * @param token an option argument or positional parameter
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return the conversion result
+     * @throws ExConvert if the conversion fails
+     */
+    public static <T> T convert(
+            Function<String, Either<ConverterFailure, T>> converter,
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExConvert {
+        Either<ConverterFailure, T> result = converter.apply(token);
+        if (result.isLeft()) {
+            throw new ExConvert(result.getLeft().orElseThrow(), itemType, itemIndex);
+        }
+        return result.getRight().orElseThrow();
+    }
+
+    /**
+     * Converts the token of a required item.
+     *
+     * @param converter a converter
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return the conversion result
+     * @throws ExMissingItem if the token is {@code null}
+     * @throws ExConvert if the conversion fails
+     */
+    public static <T> T convertRequired(
+            Function<String, Either<ConverterFailure, T>> converter,
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExFailure {
+        if (token == null) {
+            throw new ExMissingItem(itemType, itemIndex);
+        }
+        return convert(converter, token, itemType, itemIndex);
+    }
+
+    /**
+     * Converts the token of an optional item.
+     *
+     * @param converter a converter
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return the conversion result, or an empty {@code Optional}
+     *         if the token is {@code null}
+     * @throws ExConvert if the conversion fails
+     */
+    public static <T> Optional<T> convertOptional(
+            Function<String, Either<ConverterFailure, T>> converter,
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExConvert {
+        if (token == null) {
+            return Optional.empty();
+        }
+        return Optional.of(convert(converter, token, itemType, itemIndex));
+    }
+
+    /**
+     * Converts the tokens of a repeatable item,
+     * and stops at the first conversion failure.
+     *
+     * @param converter a converter
+     * @param tokens the option arguments or positional parameters,
+     *               or {@code null} if there are none
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @param <T> output type of the conversion
+     * @return the conversion results
+     * @throws ExConvert if a conversion fails
+     */
+    public static <T> List<T> convertAll(
+            Function<String, Either<ConverterFailure, T>> converter,
+            List<String> tokens,
+            ItemType itemType,
+            int itemIndex) throws ExConvert {
+        if (tokens == null || tokens.isEmpty()) {
+            return List.of();
+        }
+        List<T> result = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            result.add(convert(converter, tokens.get(i), itemType, itemIndex));
+        }
+        return result;
+    }
+
+    /**
+     * Converts the tokens of a repeatable {@code File} item,
+     * and checks if the files exist.
+     * Unlike {@link #convertAll}, this method checks all tokens
+     * before it fails, and the failure contains all missing paths.
+     *
+     * @param tokens the option arguments or positional parameters,
+     *               or {@code null} if there are none
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the existing files
+     * @throws ExConvert if a file does not exist
+     * @see ExistingFileConverter#convertAll(List)
+     */
+    public static List<File> convertAllExistingFiles(
+            List<String> tokens,
+            ItemType itemType,
+            int itemIndex) throws ExConvert {
+        if (tokens == null || tokens.isEmpty()) {
+            return List.of();
+        }
+        Either<ConverterFailure, List<File>> result = ExistingFileConverter.convertAll(tokens);
+        if (result.isLeft()) {
+            throw new ExConvert(result.getLeft().orElseThrow(), itemType, itemIndex);
+        }
+        return result.getRight().orElseThrow();
+    }
+
+    /**
+     * Converts the token of a required {@code int} item, without boxing.
+     *
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result
+     * @throws ExMissingItem if the token is {@code null}
+     * @throws ExConvert if the conversion fails
+     */
+    public static int convertRequiredInt(
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExFailure {
+        if (token == null) {
+            throw new ExMissingItem(itemType, itemIndex);
+        }
+        return NumberConverter.parseInt(token, itemType, itemIndex);
+    }
+
+    /**
+     * Converts the token of a required {@code long} item, without boxing.
+     *
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result
+     * @throws ExMissingItem if the token is {@code null}
+     * @throws ExConvert if the conversion fails
+     */
+    public static long convertRequiredLong(
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExFailure {
+        if (token == null) {
+            throw new ExMissingItem(itemType, itemIndex);
+        }
+        return NumberConverter.parseLong(token, itemType, itemIndex);
+    }
+
+    /**
+     * Converts the token of a required {@code double} item, without boxing.
+     *
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result
+     * @throws ExMissingItem if the token is {@code null}
+     * @throws ExConvert if the conversion fails
+     */
+    public static double convertRequiredDouble(
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExFailure {
+        if (token == null) {
+            throw new ExMissingItem(itemType, itemIndex);
+        }
+        return NumberConverter.parseDouble(token, itemType, itemIndex);
+    }
+
+    /**
+     * Converts the token of an optional {@code int} item, without boxing.
+     *
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result, or an empty {@code OptionalInt}
+     *         if the token is {@code null}
+     * @throws ExConvert if the conversion fails
+     */
+    public static OptionalInt convertOptionalInt(
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExConvert {
+        if (token == null) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(NumberConverter.parseInt(token, itemType, itemIndex));
+    }
+
+    /**
+     * Converts the token of an optional {@code long} item, without boxing.
+     *
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result, or an empty {@code OptionalLong}
+     *         if the token is {@code null}
+     * @throws ExConvert if the conversion fails
+     */
+    public static OptionalLong convertOptionalLong(
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExConvert {
+        if (token == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(NumberConverter.parseLong(token, itemType, itemIndex));
+    }
+
+    /**
+     * Converts the token of an optional {@code double} item, without boxing.
+     *
+     * @param token an option argument or positional parameter, or {@code null}
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result, or an empty {@code OptionalDouble}
+     *         if the token is {@code null}
+     * @throws ExConvert if the conversion fails
+     */
+    public static OptionalDouble convertOptionalDouble(
+            String token,
+            ItemType itemType,
+            int itemIndex) throws ExConvert {
+        if (token == null) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(NumberConverter.parseDouble(token, itemType, itemIndex));
+    }
+
+    /**
+     * Converts the result of an optional {@code int} item.
+     *
+     * @param value a conversion result
+     * @return an {@code OptionalInt} that contains the same value
+     */
+    public static OptionalInt toOptionalInt(Optional<Integer> value) {
+        return value.isPresent() ? OptionalInt.of(value.get()) : OptionalInt.empty();
+    }
+
+    /**
+     * Converts the result of an optional {@code long} item.
+     *
+     * @param value a conversion result
+     * @return an {@code OptionalLong} that contains the same value
+     */
+    public static OptionalLong toOptionalLong(Optional<Long> value) {
+        return value.isPresent() ? OptionalLong.of(value.get()) : OptionalLong.empty();
+    }
+
+    /**
+     * Converts the result of an optional {@code double} item.
+     *
+     * @param value a conversion result
+     * @return an {@code OptionalDouble} that contains the same value
+     */
+    public static OptionalDouble toOptionalDouble(Optional<Double> value) {
+        return value.isPresent() ? OptionalDouble.of(value.get()) : OptionalDouble.empty();
+    }
+}
@@ -0,0 +1,233 @@
+package net.jbock.parse;
+
+import net.jbock.util.ExToken;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable description of a command line parser:
+ * the option names, the kind of each named option,
+ * and the number of positional parameters.
+ *
+ * <p>Unlike {@link StandardParser} and friends, a {@code ParserSpec} is
+ * thread safe and reusable. It can be created once per command class,
+ * and shared between threads. Each invocation of {@link #parse(List)}
+ * creates a small parse state, which is returned as the result.
+ *
+ * <p>The parse state does not contain an object per option.
+ * Instead, each option is assigned a slot in one of three flat arrays,
+ * depending on its {@link OptionKind kind}: a bit set for mode flags,
+ * a string array for non-repeatable options, and an array of
+ * growable string arrays for repeatable options.
+ * If the option keys are the constants of an enum, in ordinal order,
+ * the slot of an option key is found via its ordinal.
+ *
+ * @param <T> type of keys that identify named options
+ */
+public final class ParserSpec<T> {
+
+    private final Type type;
+    private final NameTable optionNames;
+    private final Map<T, Integer> optionIndexes;
+    private final boolean ordinalIndexes;
+    private final OptionKind[] optionKinds;
+    private final int[] optionSlots;
+    private final int[] numSlots;
+    private final int numParams;
+
+    private ParserSpec(
+            Type type,
+            NameTable optionNames,
+            Map<T, Integer> optionIndexes,
+            boolean ordinalIndexes,
+            OptionKind[] optionKinds,
+            int numParams) {
+        this.type = type;
+        this.optionNames = optionNames;
+        this.optionIndexes = optionIndexes;
+        this.ordinalIndexes = ordinalIndexes;
+        this.optionKinds = optionKinds;
+        this.optionSlots = new int[optionKinds.length];
+        this.numSlots = new int[OptionKind.values().length];
+        for (int i = 0; i < optionKinds.length; i++) {
+            optionSlots[i] = numSlots[optionKinds[i].ordinal()]++;
+        }
+        this.numParams = numParams;
+    }
+
+    /**
+     * Creates the specification of a parser that accepts a fixed number
+     * of positional parameters, and rejects any excess non-option
+     * parameters after that.
+     * The parser recognizes the standard escape sequence.
+     *
+     * @param optionNames maps option names to option keys
+     * @param optionKinds maps option keys to option kinds
+     * @param numParams number of positional parameters
+     * @param <T> type of keys that identify named options
+     * @return a parser specification
+     * @see StandardParser
+     */
+    public static <T> ParserSpec<T> standard(
+            Map<String, T> optionNames,
+            Map<T, OptionKind> optionKinds,
+            int numParams) {
+        return create(Type.STANDARD, optionNames, optionKinds, numParams);
+    }
+
+    /**
+     * Creates the specification of a parser that accepts a fixed number
+     * of positional parameters, and any number of <em>arbitrary</em>
+     * excess tokens.
+     * The parser does not recognize the standard escape sequence.
+     *
+     * @param optionNames maps option names to option keys
+     * @param optionKinds maps option keys to option kinds
+     * @param numParams number of positional parameters
+     * @param <T> type of keys that identify named options
+     * @return a parser specification
+     * @see SuperParser
+     */
+    public static <T> ParserSpec<T> superCommand(
+            Map<String, T> optionNames,
+            Map<T, OptionKind> optionKinds,
+            int numParams) {
+        return create(Type.SUPER_COMMAND, optionNames, optionKinds, numParams);
+    }
+
+    /**
+     * Creates the specification of a parser that accepts a fixed number
+     * of positional parameters, and any number of <em>non-option</em>
+     * excess tokens.
+     * The parser recognizes the standard escape sequence.
+     *
+     * @param optionNames maps option names to option keys
+     * @param optionKinds maps option keys to option kinds
+     * @param numParams number of non-repeatable positional parameters
+     * @param <T> type of keys that identify named options
+     * @return a parser specification
+     * @see VarargsParameterParser
+     */
+    public static <T> ParserSpec<T> varargsParameter(
+            Map<String, T> optionNames,
+            Map<T, OptionKind> optionKinds,
+            int numParams) {
+        return create(Type.VARARGS_PARAMETER, optionNames, optionKinds, numParams);
+    }
+
+    private static <T> ParserSpec<T> create(
+            Type type,
+            Map<String, T> optionNames,
+            Map<T, OptionKind> optionKinds,
+            int numParams) {
+        Map<T, Integer> optionIndexes = new HashMap<>(optionKinds.size() * 2);
+        OptionKind[] kinds = new OptionKind[optionKinds.size()];
+        boolean ordinalIndexes = true;
+        for (Map.Entry<T, OptionKind> entry : optionKinds.entrySet()) {
+            T key = entry.getKey();
+            int index = optionIndexes.size();
+            if (!(key instanceof Enum) || ((Enum<?>) key).ordinal() != index) {
+                ordinalIndexes = false;
+            }
+            kinds[index] = Objects.requireNonNull(entry.getValue());
+            optionIndexes.put(key, index);
+        }
+        List<String> names = new ArrayList<>(optionNames.keySet());
+        int[] values = new int[names.size()];
+        for (int i = 0; i < values.length; i++) {
+            Integer index = optionIndexes.get(optionNames.get(names.get(i)));
+            if (index == null) {
+                throw new IllegalArgumentException("unknown option kind: " + names.get(i));
+            }
+            values[i] = index;
+        }
+        return new ParserSpec<>(type, NameTable.create(names, values), optionIndexes,
+                ordinalIndexes, kinds, numParams);
+    }
+
+    /**
+     * Parses the given input.
+     * This method is thread safe.
+     *
+     * @param tokens command line input
+     * @return the result of parsing
+     * @throws ExToken if the input is not valid command line syntax
+     */
+    public ParseResult<T> parse(List<String> tokens) throws ExToken {
+        return parse(tokens.iterator());
+    }
+
+    /**
+     * Parses the given input.
+     * This method is thread safe.
+     *
+     * @param tokens command line input
+     * @return the result of parsing
+     * @throws ExToken if the input is not valid command line syntax
+     */
+    public ParseResult<T> parse(Iterator<String> tokens) throws ExToken {
+        ParseState<T> state = new ParseState<>(this);
+        state.parse(tokens);
+        return state;
+    }
+
+    NameTable optionNames() {
+        return optionNames;
+    }
+
+    int numParams() {
+        return numParams;
+    }
+
+    OptionKind optionKind(int index) {
+        return optionKinds[index];
+    }
+
+    /**
+     * Returns the position of the option in the flat array
+     * of its option kind.
+     */
+    int optionSlot(int index) {
+        return optionSlots[index];
+    }
+
+    /**
+     * Returns the number of options of the given kind.
+     */
+    int numSlots(OptionKind kind) {
+        return numSlots[kind.ordinal()];
+    }
+
+    /**
+     * Returns the index of the option key, or {@code -1} if it is unknown.
+     */
+    int optionIndex(T key) {
+        if (ordinalIndexes) {
+            int ordinal = ((Enum<?>) key).ordinal();
+            return ordinal < optionKinds.length ? ordinal : -1;
+        }
+        Integer index = optionIndexes.get(key);
+        return index == null ? -1 : index;
+    }
+
+    boolean hasOptionParsingEnded(int position) {
+        return type == Type.SUPER_COMMAND && position >= numParams;
+    }
+
+    boolean recognizesEscapeSequence() {
+        return type != Type.SUPER_COMMAND;
+    }
+
+    boolean acceptsExcessParams() {
+        return type != Type.STANDARD;
+    }
+
+    private enum Type {
+        STANDARD, SUPER_COMMAND, VARARGS_PARAMETER
+    }
+}
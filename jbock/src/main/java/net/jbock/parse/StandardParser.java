@@ -14,7 +14,7 @@ import java.util.stream.Stream;
  *
  * @param <T> type of keys that identify named options
  */
-public final class StandardParser<T> extends AbstractParser<T> {
+public final class StandardParser<T> extends OptionStateParser<T> {
 
     private StandardParser(
             Map<String, T> optionNames,
@@ -47,8 +47,8 @@ public final class StandardParser<T> extends AbstractParser<T> {
 
 
     @Override
-    boolean isEscapeSequence(String token) {
-        return "--".equals(token);
+    boolean recognizesEscapeSequence() {
+        return true;
     }
 
     @Override
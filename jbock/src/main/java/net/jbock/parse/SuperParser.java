@@ -13,7 +13,7 @@ import java.util.stream.Stream;
  *
  * @param <T> type of keys that identify named options
  */
-public final class SuperParser<T> extends AbstractParser<T> {
+public final class SuperParser<T> extends OptionStateParser<T> {
 
     private final List<String> rest = new ArrayList<>();
 
@@ -47,7 +47,7 @@ public final class SuperParser<T> extends AbstractParser<T> {
     }
 
     @Override
-    boolean isEscapeSequence(String token) {
+    boolean recognizesEscapeSequence() {
         return false;
     }
 
@@ -0,0 +1,80 @@
+package net.jbock.parse;
+
+/**
+ * Classification of a command line token, as seen by the parser
+ * before any option names are looked up.
+ */
+enum TokenType {
+
+    /**
+     * A token that cannot be an option: It is shorter than two characters,
+     * or does not start with a dash character.
+     */
+    PLAIN,
+
+    /**
+     * The standard escape sequence {@code "--"}.
+     */
+    ESCAPE,
+
+    /**
+     * A token that starts with a single dash character,
+     * but contains characters that are not letters or digits,
+     * like {@code "-a=1"} or {@code "-1.5"}.
+     * It is either a unix option with an attached argument,
+     * or a positional parameter.
+     */
+    UNIX_OPTION,
+
+    /**
+     * A token that starts with two dash characters,
+     * but contains characters that are not letters, digits or dashes,
+     * like {@code "--alpha=1"}.
+     * It is either a gnu option with an attached argument,
+     * or a positional parameter.
+     */
+    GNU_OPTION,
+
+    /**
+     * A token like {@code "-abc"} or {@code "--alpha"}.
+     * If it does not start with a known option name, it is not
+     * a valid positional parameter either.
+     * These tokens must be escaped to be used as positional parameters.
+     */
+    SUSPICIOUS;
+
+    /**
+     * Classifies the token in a single pass, without allocating.
+     *
+     * @param token a token
+     * @return the type of the token
+     */
+    static TokenType classify(String token) {
+        int length = token.length();
+        if (length < 2 || token.charAt(0) != '-') {
+            return PLAIN;
+        }
+        if (token.charAt(1) != '-') {
+            for (int i = 1; i < length; i++) {
+                if (!isAsciiLetterOrDigit(token.charAt(i))) {
+                    return UNIX_OPTION;
+                }
+            }
+            return SUSPICIOUS;
+        }
+        if (length == 2) {
+            return ESCAPE;
+        }
+        for (int i = 2; i < length; i++) {
+            char c = token.charAt(i);
+            if (c != '-' && !isAsciiLetterOrDigit(c)) {
+                return GNU_OPTION;
+            }
+        }
+        return SUSPICIOUS;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
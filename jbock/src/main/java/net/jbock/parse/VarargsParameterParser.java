@@ -13,7 +13,7 @@ import java.util.stream.Stream;
  *
  * @param <T> type of keys that identify named options
  */
-public final class VarargsParameterParser<T> extends AbstractParser<T> {
+public final class VarargsParameterParser<T> extends OptionStateParser<T> {
 
     private final List<String> rest = new ArrayList<>();
 
@@ -47,8 +47,8 @@ public final class VarargsParameterParser<T> extends AbstractParser<T> {
     }
 
     @Override
-    boolean isEscapeSequence(String token) {
-        return "--".equals(token);
+    boolean recognizesEscapeSequence() {
+        return true;
     }
 
     @Override
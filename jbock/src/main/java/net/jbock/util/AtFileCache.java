@@ -0,0 +1,161 @@
+package net.jbock.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A binary file that contains the tokens of an {@code @-file},
+ * so that quotes and escapes do not have to be processed again.
+ *
+ * <p>The cache file starts with a header that contains
+ * the absolute path, size and modification time of the {@code @-file}.
+ * It is only used if these match the current attributes of the {@code @-file}.
+ * The header is followed by the number of tokens, and then
+ * each token as its length in bytes, followed by its UTF-8 encoding.
+ *
+ * <p>Errors while reading or writing the cache file are ignored.
+ */
+final class AtFileCache {
+
+    private static final int MAGIC = 0x6a626b31; // "jbk1"
+
+    private static final String SUFFIX = ".jbock";
+
+    private final Path atFile;
+    private final Path cacheFile;
+
+    private AtFileCache(Path atFile, Path cacheFile) {
+        this.atFile = atFile;
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Creates a cache file that is stored next to the {@code @-file}.
+     */
+    static AtFileCache nextTo(Path atFile) {
+        return new AtFileCache(atFile, atFile.resolveSibling(atFile.getFileName() + SUFFIX));
+    }
+
+    /**
+     * Creates a cache file in the given directory.
+     * The name of the cache file is derived from the absolute path
+     * of the {@code @-file}. In the unlikely case of a hash collision,
+     * the path in the header does not match, and the cache file is overwritten.
+     */
+    static AtFileCache inDirectory(Path directory, Path atFile) {
+        String key = atFile.toAbsolutePath().normalize().toString();
+        String name = atFile.getFileName() + "-" + Integer.toHexString(key.hashCode()) + SUFFIX;
+        return new AtFileCache(atFile, directory.resolve(name));
+    }
+
+    Path cacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Reads the tokens from the cache file, if it is up to date.
+     *
+     * @param attributes current attributes of the {@code @-file}
+     * @param rest the remaining command line arguments, which are appended
+     * @return the tokens, or an empty {@code Optional}
+     */
+    Optional<List<String>> read(BasicFileAttributes attributes, List<String> rest) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cacheFile));
+            if (buffer.getInt() != MAGIC
+                    || buffer.getLong() != attributes.size()
+                    || buffer.getLong() != modified(attributes)
+                    || !readString(buffer).equals(key())) {
+                return Optional.empty();
+            }
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining() / Integer.BYTES) {
+                return Optional.empty();
+            }
+            List<String> tokens = new ArrayList<>(count + rest.size());
+            for (int i = 0; i < count; i++) {
+                tokens.add(readString(buffer));
+            }
+            if (buffer.hasRemaining()) {
+                return Optional.empty();
+            }
+            tokens.addAll(rest);
+            return Optional.of(tokens);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the cache file.
+     * A temporary file is written first and then moved,
+     * so that concurrent readers never see a partial cache file.
+     *
+     * @param attributes attributes of the {@code @-file}, from before it was read
+     * @param tokens the tokens of the {@code @-file}
+     */
+    void write(BasicFileAttributes attributes, List<String> tokens) {
+        Path tmp = null;
+        try {
+            Path directory = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeLong(attributes.size());
+                out.writeLong(modified(attributes));
+                writeString(out, key());
+                out.writeInt(tokens.size());
+                for (String token : tokens) {
+                    writeString(out, token);
+                }
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            deleteQuietly(tmp);
+        }
+    }
+
+    private String key() {
+        return atFile.toAbsolutePath().normalize().toString();
+    }
+
+    private static long modified(BasicFileAttributes attributes) {
+        return attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String result = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return result;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // best effort
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package net.jbock.util;
+
+/**
+ * Thrown from a method of a command instance if
+ * {@link net.jbock.Command#lazyConversion()} is set,
+ * and the conversion of the option argument
+ * or positional parameter has failed.
+ */
+public final class ConversionFailedException extends RuntimeException {
+
+    private final ParsingFailed failure;
+
+    /**
+     * Public constructor.
+     *
+     * @param failure the failure object, which describes
+     *                the item and the converter failure
+     */
+    public ConversionFailedException(ParsingFailed failure) {
+        super(failure.message());
+        this.failure = failure;
+    }
+
+    /**
+     * Returns the failure object, which can be handled
+     * like any other parsing failure, for example by
+     * {@link net.jbock.contrib.StandardErrorHandler StandardErrorHandler}.
+     *
+     * @return the failure object
+     */
+    public ParsingFailed failure() {
+        return failure;
+    }
+}
@@ -1,27 +1,46 @@
 package net.jbock.util;
 
+import java.util.function.Function;
+
 /**
  * Indicates that an exception was thrown from a converter.
  */
 public final class ConverterThrewException extends ConverterFailure {
 
-    private final Exception exception;
+    private final String message;
+    private final Function<String, ? extends Exception> createException;
+    private Exception exception;
 
     ConverterThrewException(Exception exception) {
+        this.message = null;
+        this.createException = null;
         this.exception = exception;
     }
 
+    /**
+     * Creates the exception only when it is requested.
+     * This is used by converters that detect invalid input
+     * without throwing an exception.
+     */
+    ConverterThrewException(String message, Function<String, ? extends Exception> createException) {
+        this.message = message;
+        this.createException = createException;
+    }
+
     /**
      * Returns the exception that was thrown from the converter.
      *
      * @return the exception
      */
     public Exception exception() {
+        if (exception == null) {
+            exception = createException.apply(message);
+        }
         return exception;
     }
 
     @Override
     String converterMessage() {
-        return exception.getMessage();
+        return exception != null ? exception.getMessage() : message;
     }
 }
@@ -0,0 +1,221 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.jbock.util.Either.left;
+import static io.jbock.util.Either.right;
+
+/**
+ * A converter that checks if a file exists, without throwing an exception
+ * if it does not.
+ * The exception is only created if {@link ConverterThrewException#exception()}
+ * is invoked.
+ *
+ * <p>The tokens of a repeatable item can be checked together,
+ * see {@link #convertAll(List)}.
+ *
+ * <p>This class is internal API and should not be used
+ * in client code.
+ */
+public final class ExistingFileConverter extends StringConverter<File> {
+
+    /**
+     * Minimum number of tokens in the same directory,
+     * before the directory is listed instead of checking
+     * each file separately.
+     */
+    private static final int MIN_LISTING = 16;
+
+    /**
+     * Maximum number of directory entries that are read
+     * per requested file.
+     */
+    private static final int MAX_SCAN = 2;
+
+    private ExistingFileConverter() {
+    }
+
+    /**
+     * Creates a converter that accepts a token if
+     * {@link File#exists()} returns {@code true}.
+     *
+     * @return a converter
+     */
+    public static ExistingFileConverter create() {
+        return new ExistingFileConverter();
+    }
+
+    @Override
+    protected File convert(String token) {
+        File file = new File(token);
+        if (!file.exists()) {
+            throw new IllegalStateException(message(List.of(token)));
+        }
+        return file;
+    }
+
+    @Override
+    Either<ConverterFailure, File> tryConvert(String token) {
+        File file = new File(token);
+        if (!file.exists()) {
+            return left(failure(List.of(token)));
+        }
+        return right(file);
+    }
+
+    /**
+     * Converts all tokens of a repeatable item.
+     * The tokens are grouped by their parent directory.
+     * If there are many tokens in the same directory,
+     * the directory is listed once, instead of checking each file.
+     * A file that is in the listing is accepted without a further check.
+     * Only a file that is not in the listing is checked with {@link File#exists()},
+     * so a file is never reported as missing if {@link File#exists()}
+     * returns {@code true}.
+     *
+     * <p>Unlike {@link #create()}, this method accepts a broken symbolic link
+     * if it is in the listing, because the listing does not follow links.
+     *
+     * @param tokens the tokens of a repeatable item
+     * @return the files, or a failure that contains all missing paths
+     */
+    public static Either<ConverterFailure, List<File>> convertAll(List<String> tokens) {
+        File[] files = new File[tokens.size()];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new File(tokens.get(i));
+        }
+        boolean[] missing = new boolean[files.length];
+        int missingCount = 0;
+        for (Group group : groupByParent(files)) {
+            Set<String> names = listing(group, files);
+            for (int j = 0; j < group.size; j++) {
+                int i = group.indexes[j];
+                File file = files[i];
+                if (names.contains(file.getName()) || file.exists()) {
+                    continue;
+                }
+                missing[i] = true;
+                missingCount++;
+            }
+        }
+        if (missingCount != 0) {
+            List<String> missingTokens = new ArrayList<>(missingCount);
+            for (int i = 0; i < files.length; i++) {
+                if (missing[i]) {
+                    missingTokens.add(tokens.get(i));
+                }
+            }
+            return left(failure(missingTokens));
+        }
+        return right(new ArrayList<>(Arrays.asList(files)));
+    }
+
+    /**
+     * Groups the files by their parent directory.
+     * If there are too few files for a listing, all files are in one group.
+     */
+    private static Collection<Group> groupByParent(File[] files) {
+        if (files.length < MIN_LISTING) {
+            Group all = new Group(null, files.length);
+            for (int i = 0; i < files.length; i++) {
+                all.add(i);
+            }
+            return List.of(all);
+        }
+        Map<String, Group> byParent = new LinkedHashMap<>();
+        for (int i = 0; i < files.length; i++) {
+            String parent = files[i].getParent();
+            String key = parent == null ? "" : parent;
+            Group group = byParent.get(key);
+            if (group == null) {
+                group = new Group(key, 4);
+                byParent.put(key, group);
+            }
+            group.add(i);
+        }
+        return byParent.values();
+    }
+
+    /**
+     * Returns the names of the requested files that are entries of the given directory.
+     * The listing stops when all names were found,
+     * or after {@link #MAX_SCAN} entries per requested name,
+     * so that a few tokens in a huge directory do not read the entire directory.
+     */
+    private static Set<String> listing(Group group, File[] files) {
+        if (group.parent == null || group.size < MIN_LISTING) {
+            return Set.of();
+        }
+        Set<String> requested = new HashSet<>(2 * group.size);
+        for (int j = 0; j < group.size; j++) {
+            requested.add(files[group.indexes[j]].getName());
+        }
+        Set<String> result = new HashSet<>(2 * requested.size());
+        long budget = (long) MAX_SCAN * requested.size();
+        Path directory = Paths.get(group.parent.isEmpty() ? "." : group.parent);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (requested.contains(name) && result.add(name) && result.size() == requested.size()) {
+                    break;
+                }
+                if (--budget == 0) {
+                    break;
+                }
+            }
+        } catch (IOException | DirectoryIteratorException | InvalidPathException e) {
+            return Set.of(); // not a readable directory, check each file
+        }
+        return result;
+    }
+
+    /**
+     * The indexes of the files in the same directory.
+     */
+    private static final class Group {
+
+        final String parent;
+        int[] indexes;
+        int size;
+
+        Group(String parent, int capacity) {
+            this.parent = parent;
+            this.indexes = new int[Math.max(capacity, 1)];
+        }
+
+        void add(int i) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, 2 * size);
+            }
+            indexes[size++] = i;
+        }
+    }
+
+    private static ConverterFailure failure(List<String> missingTokens) {
+        return new ConverterThrewException(message(missingTokens), IllegalStateException::new);
+    }
+
+    private static String message(List<String> missingTokens) {
+        if (missingTokens.size() == 1) {
+            return "Path does not exist: " + missingTokens.get(0);
+        }
+        return "Paths do not exist: " + String.join(", ", missingTokens);
+    }
+}
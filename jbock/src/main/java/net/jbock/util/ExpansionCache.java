@@ -0,0 +1,227 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+import static io.jbock.util.Either.left;
+import static io.jbock.util.Either.right;
+
+/**
+ * An in-memory cache for the results of {@code @-file} expansion,
+ * for programs that parse many command lines, like a daemon.
+ *
+ * <p>Entries are keyed by the real path of the {@code @-file},
+ * and are only used if the size, modification time and file key
+ * of the {@code @-file} have not changed.
+ * The size of the cache is bounded by the total number of cached tokens.
+ * When this bound is exceeded, the least recently used entries are evicted.
+ *
+ * <p>This class is thread safe. The token lists that it returns
+ * are immutable, and may be shared between threads.
+ *
+ * @see ParseRequest#expandCached(ExpansionCache)
+ */
+public final class ExpansionCache {
+
+    private final long maxTokens;
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long tokens;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private ExpansionCache(long maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxTokens maximum total number of tokens in all cached {@code @-files}
+     * @return a cache
+     */
+    public static ExpansionCache create(long maxTokens) {
+        if (maxTokens < 0) {
+            throw new IllegalArgumentException("maxTokens must not be negative: " + maxTokens);
+        }
+        return new ExpansionCache(maxTokens);
+    }
+
+    Either<? extends AtFileError, List<String>> expand(
+            Path path,
+            List<String> rest,
+            Supplier<Either<? extends AtFileError, List<String>>> tokenize) {
+        Path realPath;
+        BasicFileAttributes attributes;
+        try {
+            realPath = path.toRealPath();
+            attributes = Files.readAttributes(realPath, BasicFileAttributes.class);
+        } catch (Exception e) {
+            return left(new AtFileReadError(e, path));
+        }
+        List<String> atLines = get(realPath, attributes);
+        if (atLines == null) {
+            Either<? extends AtFileError, List<String>> result = tokenize.get();
+            if (result.isLeft()) {
+                return result;
+            }
+            atLines = Collections.unmodifiableList(result.getRight().orElseThrow());
+            put(realPath, new Entry(attributes, atLines));
+        }
+        return right(concat(atLines, rest));
+    }
+
+    private synchronized List<String> get(Path realPath, BasicFileAttributes attributes) {
+        Entry entry = entries.get(realPath);
+        if (entry != null && entry.isValid(attributes)) {
+            hitCount++;
+            return entry.atLines;
+        }
+        missCount++;
+        return null;
+    }
+
+    private synchronized void put(Path realPath, Entry entry) {
+        Entry previous = entries.remove(realPath);
+        if (previous != null) {
+            tokens -= previous.atLines.size();
+        }
+        if (entry.atLines.size() > maxTokens) {
+            return;
+        }
+        entries.put(realPath, entry);
+        tokens += entry.atLines.size();
+        Iterator<Entry> it = entries.values().iterator();
+        while (tokens > maxTokens) {
+            tokens -= it.next().atLines.size();
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Returns the number of times an {@code @-file}
+     * was found in this cache, and was up to date.
+     *
+     * @return number of cache hits
+     */
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of times an {@code @-file}
+     * was not found in this cache, or was outdated.
+     *
+     * @return number of cache misses
+     */
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries that were removed from this cache
+     * to make room for other entries.
+     *
+     * @return number of evictions
+     */
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of {@code @-files} in this cache.
+     *
+     * @return number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all entries from this cache.
+     * The statistics are not reset.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        tokens = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ExpansionCache{size=" + entries.size()
+                + ", tokens=" + tokens
+                + ", hits=" + hitCount
+                + ", misses=" + missCount
+                + ", evictions=" + evictionCount + "}";
+    }
+
+    private static List<String> concat(List<String> atLines, List<String> rest) {
+        if (rest.isEmpty()) {
+            return atLines;
+        }
+        return new Concat(atLines, List.copyOf(rest));
+    }
+
+    private static final class Entry {
+
+        final long size;
+        final FileTime modified;
+        final Object fileKey;
+        final List<String> atLines;
+
+        Entry(BasicFileAttributes attributes, List<String> atLines) {
+            this.size = attributes.size();
+            this.modified = attributes.lastModifiedTime();
+            this.fileKey = attributes.fileKey();
+            this.atLines = atLines;
+        }
+
+        boolean isValid(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && modified.equals(attributes.lastModifiedTime())
+                    && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+
+    /**
+     * An immutable view of the cached tokens, followed by the remaining arguments.
+     */
+    private static final class Concat extends AbstractList<String> implements RandomAccess {
+
+        private final List<String> head;
+        private final List<String> tail;
+
+        Concat(List<String> head, List<String> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        @Override
+        public String get(int index) {
+            int headSize = head.size();
+            if (index < headSize) {
+                return head.get(index);
+            }
+            return tail.get(index - headSize);
+        }
+
+        @Override
+        public int size() {
+            return head.size() + tail.size();
+        }
+    }
+}
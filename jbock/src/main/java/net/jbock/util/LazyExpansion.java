@@ -0,0 +1,150 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+import net.jbock.model.CommandModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The command line input after lazy {@code @-file} expansion.
+ * The {@code @-file} is read and tokenized while this iterator
+ * is being consumed, so it is never held in memory as a whole.
+ *
+ * <p>If an error occurs while the {@code @-file} is read,
+ * the iteration ends, and the error is returned by {@link #finish()}.
+ * This iterator should be closed after use, to release the file handle
+ * in case the parser stops reading early.
+ *
+ * @see ParseRequest#expandLazily()
+ */
+public final class LazyExpansion implements Iterator<String>, AutoCloseable {
+
+    private final Path path;
+    private final BufferedReader reader;
+    private final Iterator<String> rest;
+    private ParseRequestExpand.Tokenizer tokenizer;
+    private AtFileError error;
+
+    private LazyExpansion(
+            Path path,
+            BufferedReader reader,
+            ParseRequestExpand.Tokenizer tokenizer,
+            Iterator<String> rest,
+            AtFileError error) {
+        this.path = path;
+        this.reader = reader;
+        this.tokenizer = tokenizer;
+        this.rest = rest;
+        this.error = error;
+    }
+
+    static LazyExpansion of(List<String> args) {
+        return new LazyExpansion(null, null, null, args.iterator(), null);
+    }
+
+    static LazyExpansion open(Path path, List<String> rest) {
+        try {
+            BufferedReader reader = Files.newBufferedReader(path);
+            ParseRequestExpand.Tokenizer tokenizer = new ParseRequestExpand.Tokenizer(
+                    new ParseRequestExpand.LineIterator(reader));
+            return new LazyExpansion(path, reader, tokenizer, rest.iterator(), null);
+        } catch (Exception e) {
+            return new LazyExpansion(path, null, null, rest.iterator(), new AtFileReadError(e, path));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (error != null) {
+            return false;
+        }
+        if (tokenizer != null) {
+            try {
+                if (tokenizer.hasNext()) {
+                    return true;
+                }
+                ParseRequestExpand.NumberedLineResult syntaxError = tokenizer.error();
+                if (syntaxError != null) {
+                    error = ParseRequestExpand.syntaxError(path, syntaxError);
+                }
+            } catch (Exception e) {
+                error = new AtFileReadError(ParseRequestExpand.unwrap(e), path);
+            }
+            tokenizer = null;
+            close();
+            if (error != null) {
+                return false;
+            }
+        }
+        return rest.hasNext();
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return tokenizer != null ? tokenizer.next() : rest.next();
+    }
+
+    /**
+     * Reads the rest of the {@code @-file}, if the parser has stopped early,
+     * and closes it.
+     * This way, a syntax error in the {@code @-file} is reported
+     * even if parsing has failed before the line of the error was reached,
+     * just like in {@link ParseRequest#expand()}.
+     *
+     * @return the error that occurred while the {@code @-file} was read,
+     *         or an empty {@code Optional}
+     */
+    public Optional<AtFileError> finish() {
+        while (tokenizer != null && hasNext()) {
+            next();
+        }
+        close();
+        return Optional.ofNullable(error);
+    }
+
+    /**
+     * Returns the parsing result, unless an error occurred
+     * while the {@code @-file} was read.
+     *
+     * @param result the result of parsing the tokens of this iterator
+     * @param createModel creates the command model, in case of an {@code @-file} error
+     * @param <R> type of the parsing result
+     * @return the parsing result, or a failure
+     * @see #finish()
+     */
+    public <R> Either<ParsingFailed, R> finish(
+            Either<ParsingFailed, R> result,
+            Supplier<CommandModel> createModel) {
+        Optional<AtFileError> atFileError = finish();
+        if (atFileError.isPresent()) {
+            return Either.left(atFileError.get().addModel(createModel.get()));
+        }
+        return result;
+    }
+
+    /**
+     * Closes the {@code @-file}.
+     */
+    @Override
+    public void close() {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            // the file was only read
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static io.jbock.util.Either.left;
+import static io.jbock.util.Either.right;
+
+/**
+ * Splits a command line into tokens, like a shell,
+ * using the quoting and escaping rules of {@code @-files}.
+ *
+ * <ul>
+ *   <li>Inside of single quotes, all characters are literal.</li>
+ *   <li>Outside of single quotes, a backslash escapes the next character.
+ *       The escape sequences {@code \n}, {@code \r} and {@code \t}
+ *       stand for newline, carriage return and tab.
+ *       Any other escaped character stands for itself.</li>
+ *   <li>Outside of quotes, an escaped single quote also escapes
+ *       the character after it, so {@code \'n} stands for a single quote
+ *       followed by a newline.</li>
+ *   <li>Inside of double quotes, a backslash still escapes the next character.</li>
+ * </ul>
+ *
+ * <p>Within a line, a token has the same value as a line of an {@code @-file}
+ * with the same content, or the same error.
+ * These are the deviations from {@code @-files}, where each line is one token:
+ *
+ * <ul>
+ *   <li>Tokens are separated by unquoted, unescaped whitespace.</li>
+ *   <li>Quotes may contain line terminators.</li>
+ *   <li>A backslash before a line terminator is removed,
+ *       together with the line terminator, also between tokens.</li>
+ *   <li>Empty lines are not skipped inside of quotes.</li>
+ * </ul>
+ *
+ * <p>The tokenizer is a cursor: each call to {@link #next()}
+ * advances it to the next token.
+ * The position of the current token in the source is available
+ * via {@link #start()} and {@link #end()}.
+ * If the token contains no quotes or backslashes, it is
+ * {@link #isVerbatim() verbatim}, and {@link #value()} is a
+ * subsequence of the source, which avoids a copy if the source
+ * is, for example, a {@link java.nio.CharBuffer}.
+ *
+ * <p>Instances of this class are not thread safe.
+ */
+public final class LineTokenizer {
+
+    private final CharSequence source;
+    private final int limit;
+    private final StringBuilder sb = new StringBuilder();
+    private int pos;
+    private int start = -1;
+    private int end = -1;
+    private boolean verbatim;
+    private String error;
+
+    private LineTokenizer(CharSequence source, int start, int limit) {
+        this.source = source;
+        this.pos = start;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a tokenizer for the given input.
+     *
+     * @param source a command line
+     * @return a tokenizer
+     */
+    public static LineTokenizer of(CharSequence source) {
+        return new LineTokenizer(source, 0, source.length());
+    }
+
+    /**
+     * Creates a tokenizer for a region of the given input.
+     *
+     * @param source a command line
+     * @param start index of the first character of the region
+     * @param end index after the last character of the region
+     * @return a tokenizer
+     */
+    public static LineTokenizer of(CharSequence source, int start, int end) {
+        if (start < 0 || end > source.length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + source.length());
+        }
+        return new LineTokenizer(source, start, end);
+    }
+
+    /**
+     * Splits the input into tokens.
+     *
+     * @param source a command line
+     * @return the tokens, or a Left containing an error message
+     */
+    public static Either<String, List<String>> split(CharSequence source) {
+        LineTokenizer tokenizer = of(source);
+        List<String> tokens = new ArrayList<>();
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.token());
+        }
+        if (tokenizer.error != null) {
+            return left(tokenizer.error);
+        }
+        return right(tokens);
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return {@code true} if there is a next token,
+     *         {@code false} if the end of the input was reached,
+     *         or a syntax error occurred
+     */
+    public boolean next() {
+        start = end = -1;
+        if (error != null) {
+            return false;
+        }
+        skipSeparators();
+        if (pos >= limit) {
+            return false;
+        }
+        start = pos;
+        verbatim = true;
+        while (pos < limit) {
+            char c = source.charAt(pos);
+            if (isWhitespace(c)) {
+                break;
+            }
+            if (c == '\'' || c == '"' || c == '\\') {
+                sb.setLength(0);
+                sb.append(source, start, pos);
+                verbatim = false;
+                return readEscaped();
+            }
+            pos++;
+        }
+        end = pos;
+        return true;
+    }
+
+    private boolean readEscaped() {
+        boolean esc = false;
+        char quote = 0; // the current quote character, or 0
+        for (; pos < limit; pos++) {
+            char c = source.charAt(pos);
+            if (esc) {
+                if (c == '\r' || c == '\n') {
+                    esc = false;
+                    skipLineTerminator(c);
+                    continue;
+                }
+                // like ParseRequestExpand.readLine, an escaped single quote
+                // outside of double quotes also escapes the next character
+                esc = c == '\'' && quote == 0;
+                sb.append(ParseRequestExpand.escapeValue(c));
+            } else if (quote == '\'') {
+                if (c == '\'') {
+                    quote = 0;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '\\') {
+                esc = true;
+            } else if (c == quote) {
+                quote = 0;
+            } else if (quote == 0 && (c == '\'' || c == '"')) {
+                quote = c;
+            } else if (quote == 0 && isWhitespace(c)) {
+                break;
+            } else {
+                sb.append(c);
+            }
+        }
+        if (quote != 0) {
+            return fail("unmatched quote");
+        }
+        if (esc) {
+            return fail("backslash at end of input");
+        }
+        end = pos;
+        return true;
+    }
+
+    /**
+     * Skips whitespace, and escaped line terminators.
+     */
+    private void skipSeparators() {
+        while (pos < limit) {
+            char c = source.charAt(pos);
+            if (isWhitespace(c)) {
+                pos++;
+            } else if (c == '\\' && pos + 1 < limit && isLineTerminator(source.charAt(pos + 1))) {
+                pos++;
+                skipLineTerminator(source.charAt(pos));
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips the second character of a {@code "\r\n"} sequence.
+     */
+    private void skipLineTerminator(char c) {
+        if (c == '\r' && pos + 1 < limit && source.charAt(pos + 1) == '\n') {
+            pos++;
+        }
+    }
+
+    private boolean fail(String message) {
+        error = "at index " + start + ": " + message;
+        start = end = -1;
+        return false;
+    }
+
+    /**
+     * Returns the index of the first character of the current token in the source,
+     * including any quotes.
+     *
+     * @return start index of the current token
+     * @throws NoSuchElementException if there is no current token
+     */
+    public int start() {
+        checkToken();
+        return start;
+    }
+
+    /**
+     * Returns the index after the last character of the current token in the source,
+     * including any quotes.
+     *
+     * @return end index of the current token
+     * @throws NoSuchElementException if there is no current token
+     */
+    public int end() {
+        checkToken();
+        return end;
+    }
+
+    /**
+     * Returns {@code true} if the current token contains no quotes or backslashes,
+     * so that its value is the same as the region
+     * from {@link #start()} to {@link #end()} of the source.
+     *
+     * @return {@code true} if the current token is verbatim
+     * @throws NoSuchElementException if there is no current token
+     */
+    public boolean isVerbatim() {
+        checkToken();
+        return verbatim;
+    }
+
+    /**
+     * Returns the value of the current token, after quotes and escapes
+     * have been processed.
+     * The returned sequence may be reused by the next call to {@link #next()}.
+     *
+     * @return value of the current token
+     * @throws NoSuchElementException if there is no current token
+     */
+    public CharSequence value() {
+        checkToken();
+        return verbatim ? source.subSequence(start, end) : sb;
+    }
+
+    /**
+     * Returns the value of the current token as a string.
+     *
+     * @return value of the current token
+     * @throws NoSuchElementException if there is no current token
+     */
+    public String token() {
+        return value().toString();
+    }
+
+    /**
+     * Returns the syntax error that ended the tokenization, if any.
+     * The error message contains the index of the token in the source.
+     *
+     * @return an error message, or an empty {@code Optional}
+     */
+    public Optional<String> error() {
+        return Optional.ofNullable(error);
+    }
+
+    private void checkToken() {
+        if (start < 0) {
+            throw new NoSuchElementException("no current token");
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || isLineTerminator(c) || c == '\f';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r';
+    }
+}
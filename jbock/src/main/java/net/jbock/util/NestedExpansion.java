@@ -0,0 +1,118 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+
+import java.io.BufferedReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.jbock.util.Either.left;
+import static io.jbock.util.Either.right;
+
+/**
+ * Expands {@code @-file} references at any position,
+ * including references inside of {@code @-files}.
+ *
+ * <p>A token that starts with {@code "@"} and has at least 2 characters
+ * is a reference, unless its second character is also {@code "@"}.
+ * In this case, the first {@code "@"} is removed, and the token
+ * is not expanded.
+ * A relative path in the command line input is resolved against
+ * the working directory, and a relative path in an {@code @-file}
+ * is resolved against the directory of that {@code @-file}.
+ *
+ * <p>Each distinct {@code @-file} is read only once.
+ * If it is referenced again, the tokens of its first expansion are reused.
+ * If an {@code @-file} references itself, directly or indirectly,
+ * expansion fails.
+ *
+ * <p>An instance of this class should be used for one expansion only.
+ */
+final class NestedExpansion {
+
+    private final Map<Path, List<String>> expanded = new HashMap<>();
+    private final Set<Path> active = new HashSet<>(); // files that are currently being expanded
+
+    Either<? extends AtFileError, List<String>> expand(List<String> args) {
+        List<String> result = new ArrayList<>(args.size());
+        for (String arg : args) {
+            if (!isReference(arg)) {
+                result.add(unescape(arg));
+                continue;
+            }
+            Path file = Paths.get(arg.substring(1));
+            Either<AtFileError, List<String>> tokens = realPath(file).flatMap(realPath -> expandFile(file, realPath));
+            if (tokens.isLeft()) {
+                return tokens;
+            }
+            result.addAll(tokens.getRight().orElseThrow());
+        }
+        return right(result);
+    }
+
+    private Either<AtFileError, List<String>> expandFile(Path file, Path realPath) {
+        List<String> previous = expanded.get(realPath);
+        if (previous != null) {
+            return right(previous);
+        }
+        active.add(realPath);
+        try (BufferedReader reader = Files.newBufferedReader(realPath)) {
+            ParseRequestExpand.Tokenizer tokenizer = new ParseRequestExpand.Tokenizer(
+                    new ParseRequestExpand.LineIterator(reader));
+            List<String> result = new ArrayList<>();
+            while (tokenizer.hasNext()) {
+                String token = tokenizer.next();
+                if (!isReference(token)) {
+                    result.add(unescape(token));
+                    continue;
+                }
+                Path nestedFile = file.resolveSibling(token.substring(1));
+                Either<AtFileError, Path> nestedRealPath = realPath(nestedFile);
+                if (nestedRealPath.isLeft()) {
+                    return left(nestedRealPath.getLeft().orElseThrow());
+                }
+                if (active.contains(nestedRealPath.getRight().orElseThrow())) {
+                    return left(new AtFileSyntaxError(file, tokenizer.lineNumber(), "cyclic reference: " + token));
+                }
+                Either<AtFileError, List<String>> nested = expandFile(nestedFile, nestedRealPath.getRight().orElseThrow());
+                if (nested.isLeft()) {
+                    return nested;
+                }
+                result.addAll(nested.getRight().orElseThrow());
+            }
+            ParseRequestExpand.NumberedLineResult error = tokenizer.error();
+            if (error != null) {
+                return left(ParseRequestExpand.syntaxError(file, error));
+            }
+            expanded.put(realPath, result);
+            return right(result);
+        } catch (Exception e) {
+            return left(new AtFileReadError(ParseRequestExpand.unwrap(e), file));
+        } finally {
+            active.remove(realPath);
+        }
+    }
+
+    private static Either<AtFileError, Path> realPath(Path file) {
+        try {
+            return right(file.toRealPath());
+        } catch (Exception e) {
+            return left(new AtFileReadError(e, file));
+        }
+    }
+
+    private static boolean isReference(String token) {
+        return token.length() >= 2 && token.charAt(0) == '@' && token.charAt(1) != '@';
+    }
+
+    private static String unescape(String token) {
+        return token.startsWith("@@") ? token.substring(1) : token;
+    }
+}
@@ -0,0 +1,383 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+import net.jbock.model.ItemType;
+
+import static io.jbock.util.Either.left;
+import static io.jbock.util.Either.right;
+
+/**
+ * A converter for a primitive number type that does not throw
+ * an exception if the token is not a valid number.
+ * Instead, the input is checked while it is converted.
+ * The error message is the same as the message of the
+ * {@link NumberFormatException} that the corresponding {@code valueOf}
+ * method would throw, and the exception is only created
+ * if {@link ConverterThrewException#exception()} is invoked.
+ *
+ * <p>This class is internal API and should not be used
+ * in client code.
+ *
+ * @param <T> the type of the conversion result
+ */
+public final class NumberConverter<T> extends StringConverter<T> {
+
+    private static final int RADIX = 10;
+
+    /**
+     * Returned by {@link #scanInteger(String, long, long)} if the token is invalid.
+     * A valid result is never positive.
+     */
+    private static final long INVALID = 1;
+
+    private enum Kind {
+        INTEGER, LONG, SHORT, BYTE, FLOAT, DOUBLE
+    }
+
+    private final Kind kind;
+
+    private NumberConverter(Kind kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * Creates a converter that behaves like {@link Integer#valueOf(String)}.
+     *
+     * @return a converter
+     */
+    public static NumberConverter<Integer> ofInteger() {
+        return new NumberConverter<>(Kind.INTEGER);
+    }
+
+    /**
+     * Creates a converter that behaves like {@link Long#valueOf(String)}.
+     *
+     * @return a converter
+     */
+    public static NumberConverter<Long> ofLong() {
+        return new NumberConverter<>(Kind.LONG);
+    }
+
+    /**
+     * Creates a converter that behaves like {@link Short#valueOf(String)}.
+     *
+     * @return a converter
+     */
+    public static NumberConverter<Short> ofShort() {
+        return new NumberConverter<>(Kind.SHORT);
+    }
+
+    /**
+     * Creates a converter that behaves like {@link Byte#valueOf(String)}.
+     *
+     * @return a converter
+     */
+    public static NumberConverter<Byte> ofByte() {
+        return new NumberConverter<>(Kind.BYTE);
+    }
+
+    /**
+     * Creates a converter that behaves like {@link Float#valueOf(String)}.
+     *
+     * @return a converter
+     */
+    public static NumberConverter<Float> ofFloat() {
+        return new NumberConverter<>(Kind.FLOAT);
+    }
+
+    /**
+     * Creates a converter that behaves like {@link Double#valueOf(String)}.
+     *
+     * @return a converter
+     */
+    public static NumberConverter<Double> ofDouble() {
+        return new NumberConverter<>(Kind.DOUBLE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T convert(String token) {
+        switch (kind) {
+            case INTEGER:
+                return (T) Integer.valueOf(token);
+            case LONG:
+                return (T) Long.valueOf(token);
+            case SHORT:
+                return (T) Short.valueOf(token);
+            case BYTE:
+                return (T) Byte.valueOf(token);
+            case FLOAT:
+                return (T) Float.valueOf(token);
+            default:
+                return (T) Double.valueOf(token);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Either<ConverterFailure, T> tryConvert(String token) {
+        switch (kind) {
+            case INTEGER:
+            case SHORT:
+            case BYTE: {
+                long scanned = scanInteger(token, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                if (scanned == INVALID) {
+                    return left(failure(forInputString(token)));
+                }
+                int value = (int) valueOf(token, scanned);
+                if (kind == Kind.INTEGER) {
+                    return right((T) Integer.valueOf(value));
+                }
+                // same as Short.parseShort and Byte.parseByte, which parse an int first
+                int min = kind == Kind.SHORT ? Short.MIN_VALUE : Byte.MIN_VALUE;
+                int max = kind == Kind.SHORT ? Short.MAX_VALUE : Byte.MAX_VALUE;
+                if (value < min || value > max) {
+                    return left(failure("Value out of range. Value:\"" + token + "\" Radix:" + RADIX));
+                }
+                return right((T) (kind == Kind.SHORT ? (Object) (short) value : (Object) (byte) value));
+            }
+            case LONG: {
+                long scanned = scanInteger(token, Long.MIN_VALUE, Long.MAX_VALUE);
+                if (scanned == INVALID) {
+                    return left(failure(forInputString(token)));
+                }
+                return right((T) Long.valueOf(valueOf(token, scanned)));
+            }
+            default: {
+                String message = checkFloatingPoint(token);
+                if (message != null) {
+                    return left(failure(message));
+                }
+                return right(kind == Kind.FLOAT ? (T) Float.valueOf(token) : (T) Double.valueOf(token));
+            }
+        }
+    }
+
+    /**
+     * Same as {@link Integer#parseInt(String)}, but throws
+     * {@link ExConvert} if the token is not a valid number.
+     * The token is scanned only once.
+     *
+     * @param token a non-null string
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result
+     * @throws ExConvert if the token is not valid
+     */
+    public static int parseInt(String token, ItemType itemType, int itemIndex) throws ExConvert {
+        long scanned = scanInteger(token, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        if (scanned == INVALID) {
+            throw new ExConvert(failure(forInputString(token)), itemType, itemIndex);
+        }
+        return (int) valueOf(token, scanned);
+    }
+
+    /**
+     * Same as {@link Long#parseLong(String)}, but throws
+     * {@link ExConvert} if the token is not a valid number.
+     * The token is scanned only once.
+     *
+     * @param token a non-null string
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result
+     * @throws ExConvert if the token is not valid
+     */
+    public static long parseLong(String token, ItemType itemType, int itemIndex) throws ExConvert {
+        long scanned = scanInteger(token, Long.MIN_VALUE, Long.MAX_VALUE);
+        if (scanned == INVALID) {
+            throw new ExConvert(failure(forInputString(token)), itemType, itemIndex);
+        }
+        return valueOf(token, scanned);
+    }
+
+    /**
+     * Same as {@link Double#parseDouble(String)}, but throws
+     * {@link ExConvert} if the token is not a valid number.
+     * The grammar is checked before the token is parsed,
+     * so that no {@link NumberFormatException} is thrown.
+     *
+     * @param token a non-null string
+     * @param itemType the type of the item that is being converted
+     * @param itemIndex the index of the item that is being converted
+     * @return the conversion result
+     * @throws ExConvert if the token is not valid
+     */
+    public static double parseDouble(String token, ItemType itemType, int itemIndex) throws ExConvert {
+        String message = checkFloatingPoint(token);
+        if (message != null) {
+            throw new ExConvert(failure(message), itemType, itemIndex);
+        }
+        return Double.parseDouble(token);
+    }
+
+    private static ConverterFailure failure(String message) {
+        return new ConverterThrewException(message, NumberFormatException::new);
+    }
+
+    /**
+     * Scans a signed decimal integer, accumulating negatively
+     * like {@link Long#parseLong(String, int)}.
+     *
+     * @return {@link #INVALID}, or the accumulated value,
+     *         which is never positive, see {@link #valueOf(String, long)}
+     */
+    private static long scanInteger(String s, long minValue, long maxValue) {
+        int len = s.length();
+        if (len == 0) {
+            return INVALID;
+        }
+        int i = 0;
+        long limit = -maxValue;
+        char firstChar = s.charAt(0);
+        if (firstChar < '0') { // Possible leading "+" or "-"
+            if (firstChar == '-') {
+                limit = minValue;
+            } else if (firstChar != '+') {
+                return INVALID;
+            }
+            if (len == 1) { // Cannot have lone "+" or "-"
+                return INVALID;
+            }
+            i++;
+        }
+        long multmin = limit / RADIX;
+        long result = 0;
+        while (i < len) {
+            int digit = Character.digit(s.charAt(i++), RADIX);
+            if (digit < 0 || result < multmin) {
+                return INVALID;
+            }
+            result *= RADIX;
+            if (result < limit + digit) {
+                return INVALID;
+            }
+            result -= digit;
+        }
+        return result;
+    }
+
+    /**
+     * Applies the sign to the result of a successful {@link #scanInteger(String, long, long)}.
+     */
+    private static long valueOf(String s, long scanned) {
+        return s.charAt(0) == '-' ? scanned : -scanned;
+    }
+
+    /**
+     * Same grammar as {@link Double#parseDouble(String)} and
+     * {@link Float#parseFloat(String)}, including leading and trailing
+     * whitespace, {@code NaN}, {@code Infinity}, hexadecimal notation
+     * and a type suffix.
+     *
+     * @return an error message, or {@code null} if the token is valid
+     */
+    static String checkFloatingPoint(String s) {
+        int start = 0;
+        int len = s.length();
+        while (start < len && s.charAt(start) <= ' ') {
+            start++;
+        }
+        while (len > start && s.charAt(len - 1) <= ' ') {
+            len--;
+        }
+        if (start == len) {
+            return "empty String";
+        }
+        int i = start;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            i++;
+        }
+        if (i == len) {
+            return forInputString(s.substring(start, len));
+        }
+        c = s.charAt(i);
+        if (c == 'N') {
+            return s.startsWith("NaN", i) && i + 3 == len ? null : forInputString(s.substring(start, len));
+        }
+        if (c == 'I') {
+            return s.startsWith("Infinity", i) && i + 8 == len ? null : forInputString(s.substring(start, len));
+        }
+        if (c == '0' && i + 1 < len && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+            return isHexFloatingPoint(s, i + 2, len) ? null : forInputString(s.substring(start, len));
+        }
+        boolean decSeen = false;
+        boolean digitSeen = false;
+        for (; i < len; i++) {
+            c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitSeen = true;
+            } else if (c == '.') {
+                if (decSeen) {
+                    return "multiple points";
+                }
+                decSeen = true;
+            } else {
+                break;
+            }
+        }
+        if (!digitSeen) {
+            return forInputString(s.substring(start, len));
+        }
+        if (i < len && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < len && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                i++;
+            }
+            int expAt = i;
+            while (i < len && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+                i++;
+            }
+            if (i == expAt) {
+                return forInputString(s.substring(start, len));
+            }
+        }
+        if (i < len && (i != len - 1 || !isTypeSuffix(s.charAt(i)))) {
+            return forInputString(s.substring(start, len));
+        }
+        return null;
+    }
+
+    /**
+     * Checks the part after the {@code "0x"} prefix:
+     * {@code (hex+ .? | hex* . hex+) [pP] [-+]? digit+ [fFdD]?}
+     */
+    private static boolean isHexFloatingPoint(String s, int i, int len) {
+        boolean digitSeen = false;
+        boolean decSeen = false;
+        for (; i < len; i++) {
+            char c = s.charAt(i);
+            if (Character.digit(c, 16) >= 0 && c < 128) {
+                digitSeen = true;
+            } else if (c == '.' && !decSeen) {
+                decSeen = true;
+            } else {
+                break;
+            }
+        }
+        if (!digitSeen || i == len || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+            return false;
+        }
+        i++;
+        if (i < len && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+        int expAt = i;
+        while (i < len && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        if (i == expAt) {
+            return false;
+        }
+        return i == len || (i == len - 1 && isTypeSuffix(s.charAt(i)));
+    }
+
+    private static boolean isTypeSuffix(char c) {
+        return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+    }
+
+    private static String forInputString(String s) {
+        return "For input string: \"" + s + "\"";
+    }
+}
@@ -0,0 +1,244 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static io.jbock.util.Either.left;
+import static io.jbock.util.Either.right;
+import static net.jbock.util.ParseRequestExpand.LineResult.BACKSLASH_BEFORE_EOF;
+import static net.jbock.util.ParseRequestExpand.LineResult.CONTINUE;
+
+/**
+ * Reads an {@code @-file} by memory-mapping it and tokenizing
+ * chunks of it in parallel.
+ *
+ * <p>The chunks are split at line boundaries.
+ * Because a quote can not span multiple lines,
+ * the only state that is carried over from one line to the next
+ * is a trailing backslash. A token that is continued in this way
+ * is joined with the first token of the next chunk.
+ * Line numbers in syntax errors are the same as in
+ * {@link ParseRequest#expand()}.
+ */
+final class ParallelExpansion {
+
+    static final int CHUNK_SIZE = 1 << 20;
+
+    private static final int SCAN_SIZE = 8192;
+
+    private final Path path;
+    private final List<String> rest;
+    private final int chunkSize;
+
+    ParallelExpansion(Path path, List<String> rest, int chunkSize) {
+        this.path = path;
+        this.rest = rest;
+        this.chunkSize = chunkSize;
+    }
+
+    Either<? extends AtFileError, List<String>> expand(ForkJoinPool pool) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<Long> bounds = chunkBounds(channel);
+            List<ChunkTask> tasks = new ArrayList<>(bounds.size() - 1);
+            for (int i = 1; i < bounds.size(); i++) {
+                tasks.add(new ChunkTask(channel, bounds.get(i - 1), bounds.get(i)));
+            }
+            List<Chunk> chunks = pool.invoke(new RecursiveTask<List<Chunk>>() {
+                @Override
+                protected List<Chunk> compute() {
+                    List<Chunk> result = new ArrayList<>(tasks.size());
+                    for (ChunkTask task : invokeAll(tasks)) {
+                        result.add(task.join());
+                    }
+                    return result;
+                }
+            });
+            return merge(chunks);
+        } catch (Exception e) {
+            return left(new AtFileReadError(ParseRequestExpand.unwrap(e), path));
+        }
+    }
+
+    private Either<AtFileSyntaxError, List<String>> merge(List<Chunk> chunks) {
+        int size = rest.size();
+        for (Chunk chunk : chunks) {
+            size += chunk.tokens.size();
+        }
+        List<String> result = new ArrayList<>(size);
+        int lines = 0;
+        String pending = null; // a token that ends with a backslash
+        for (Chunk chunk : chunks) {
+            if (chunk.error != null) {
+                return left(ParseRequestExpand.syntaxError(path, new ParseRequestExpand.NumberedLineResult(
+                        lines + chunk.error.number(), chunk.error.lineResult())));
+            }
+            List<String> tokens = chunk.tokens;
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = i == 0 && pending != null ? pending + tokens.get(0) : tokens.get(i);
+                pending = null;
+                if (i == tokens.size() - 1 && chunk.open) {
+                    pending = token;
+                } else {
+                    result.add(token);
+                }
+            }
+            lines += chunk.lines;
+        }
+        if (pending != null) {
+            return left(ParseRequestExpand.syntaxError(path,
+                    new ParseRequestExpand.NumberedLineResult(lines, BACKSLASH_BEFORE_EOF)));
+        }
+        result.addAll(rest);
+        return right(result);
+    }
+
+    /**
+     * Returns the start of each chunk, followed by the file size.
+     * Each chunk except the first starts at the beginning of a line.
+     */
+    private List<Long> chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long pos = chunkSize;
+        while (pos < size) {
+            long start = nextLineStart(channel, pos, size);
+            if (start >= size) {
+                break;
+            }
+            bounds.add(start);
+            pos = start + chunkSize;
+        }
+        bounds.add(size);
+        return bounds;
+    }
+
+    /**
+     * Returns the position after the first line terminator
+     * at or after {@code pos}, or {@code size} if there is none.
+     * In UTF-8, the bytes {@code '\n'} and {@code '\r'}
+     * are not part of any multibyte character.
+     */
+    private static long nextLineStart(FileChannel channel, long pos, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        while (pos < size) {
+            buffer.clear();
+            int n = channel.read(buffer, pos);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    return pos + i + 1;
+                }
+                // do not split "\r\n", if the '\n' is in the next buffer, split there
+                if (b == '\r' && i + 1 < n && buffer.get(i + 1) != '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    /**
+     * The tokens of a chunk.
+     * Line numbers are relative to the start of the chunk.
+     */
+    private static final class Chunk {
+
+        final List<String> tokens;
+        final int lines; // number of nonempty lines
+        final boolean open; // last token ends with a backslash
+        final ParseRequestExpand.NumberedLineResult error;
+
+        Chunk(List<String> tokens, int lines, boolean open, ParseRequestExpand.NumberedLineResult error) {
+            this.tokens = tokens;
+            this.lines = lines;
+            this.open = open;
+            this.error = error;
+        }
+    }
+
+    private static final class ChunkTask extends RecursiveTask<Chunk> {
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        ChunkTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Chunk compute() {
+            try {
+                CharBuffer chars = StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT)
+                        .decode(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+                return tokenize(chars);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static Chunk tokenize(CharBuffer chars) {
+            List<String> tokens = new ArrayList<>();
+            int lines = 0;
+            StringBuilder sb = null; // the current token, if it is continued
+            int length = chars.length();
+            int pos = 0;
+            while (pos < length) {
+                int end = pos;
+                while (end < length && chars.charAt(end) != '\n' && chars.charAt(end) != '\r') {
+                    end++;
+                }
+                int lineStart = pos;
+                pos = end + 1;
+                if (end < length - 1 && chars.charAt(end) == '\r' && chars.charAt(end + 1) == '\n') {
+                    pos++;
+                }
+                if (end == lineStart) {
+                    continue;
+                }
+                lines++;
+                if (sb == null && ParseRequestExpand.isPlain(chars, lineStart, end)) {
+                    tokens.add(chars.subSequence(lineStart, end).toString());
+                    continue;
+                }
+                if (sb == null) {
+                    sb = new StringBuilder();
+                }
+                ParseRequestExpand.LineResult result = ParseRequestExpand.readLine(chars, lineStart, end, sb);
+                if (result.isError()) {
+                    return new Chunk(tokens, lines, false, new ParseRequestExpand.NumberedLineResult(lines, result));
+                }
+                if (result != CONTINUE) {
+                    tokens.add(sb.toString());
+                    sb = null;
+                }
+            }
+            if (sb != null) {
+                tokens.add(sb.toString());
+            }
+            return new Chunk(tokens, lines, sb != null, null);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package net.jbock.util;
 
 import io.jbock.util.Either;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A convenience class that performs {@code @-file} expansion,
@@ -51,4 +53,85 @@ public abstract class ParseRequest {
      * @return the result of {@code @-file} expansion
      */
     public abstract Either<? extends AtFileError, List<String>> expand();
-}
\ No newline at end of file
+
+    /**
+     * Returns an iterator over the result of {@code @-file} expansion.
+     * Unlike {@link #expand()}, this method does not read the
+     * {@code @-file} up front. Instead, it is read line by line
+     * while the iterator is being consumed,
+     * so that memory usage does not depend on the size of the file.
+     * The iterator can be passed directly to the parser.
+     *
+     * @return the tokens of the command line input
+     */
+    public abstract LazyExpansion expandLazily();
+
+    /**
+     * Returns the same result as {@link #expand()}, but reads the
+     * {@code @-file} by memory-mapping it and tokenizing
+     * chunks of it in parallel, in the common pool.
+     * This is faster than {@link #expand()} if the {@code @-file} is very large.
+     *
+     * @return the result of {@code @-file} expansion
+     */
+    public final Either<? extends AtFileError, List<String>> expandParallel() {
+        return expandParallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the same result as {@link #expand()}, but reads the
+     * {@code @-file} by memory-mapping it and tokenizing
+     * chunks of it in parallel, in the given pool.
+     *
+     * @param pool the pool that tokenizes the chunks
+     * @return the result of {@code @-file} expansion
+     */
+    public abstract Either<? extends AtFileError, List<String>> expandParallel(ForkJoinPool pool);
+
+    /**
+     * Returns the same result as {@link #expand()}, but stores the tokens
+     * of the {@code @-file} in a binary cache file next to the {@code @-file}.
+     * If the cache file exists, and the size and modification time
+     * of the {@code @-file} have not changed since it was written,
+     * the tokens are read from the cache file instead.
+     * The name of the cache file is the name of the {@code @-file},
+     * followed by {@code ".jbock"}.
+     *
+     * @return the result of {@code @-file} expansion
+     */
+    public abstract Either<? extends AtFileError, List<String>> expandCached();
+
+    /**
+     * Returns the same result as {@link #expandCached()}, but the cache file
+     * is stored in the given directory, which is created if necessary.
+     *
+     * @param cacheDirectory directory for cache files
+     * @return the result of {@code @-file} expansion
+     */
+    public abstract Either<? extends AtFileError, List<String>> expandCached(Path cacheDirectory);
+
+    /**
+     * Returns the same result as {@link #expand()}, but looks up
+     * the tokens of the {@code @-file} in the given in-memory cache first.
+     * The returned list is immutable.
+     *
+     * @param cache a cache, which may be shared between threads
+     * @return the result of {@code @-file} expansion
+     */
+    public abstract Either<? extends AtFileError, List<String>> expandCached(ExpansionCache cache);
+
+    /**
+     * Expands {@code @-file} references at any position in the command line input,
+     * and also references inside of {@code @-files}.
+     * A relative path inside of an {@code @-file} is resolved against the
+     * directory of that {@code @-file}.
+     * Each distinct {@code @-file} is read at most once per invocation.
+     * A token that starts with {@code "@@"} is not expanded;
+     * instead, the first {@code "@"} is removed.
+     * If an {@code @-file} references itself, directly or indirectly,
+     * a Left is returned.
+     *
+     * @return the result of {@code @-file} expansion
+     */
+    public abstract Either<? extends AtFileError, List<String>> expandNested();
+}
@@ -2,15 +2,27 @@ package net.jbock.util;
 
 import io.jbock.util.Either;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import static io.jbock.util.Either.left;
 import static io.jbock.util.Either.right;
-import static io.jbock.util.Eithers.firstFailure;
 
 final class ParseRequestExpand extends ParseRequest {
 
@@ -24,56 +36,483 @@ final class ParseRequestExpand extends ParseRequest {
 
     @Override
     public Either<? extends AtFileError, List<String>> expand() {
+        return expand(args);
+    }
+
+    private Either<? extends AtFileError, List<String>> expand(List<String> rest) {
         try {
-            List<String> lines = Files.readAllLines(path);
-            return readAtLines(lines)
-                    .mapLeft(r -> new AtFileSyntaxError(path, r.number, r.lineResult.message()))
-                    .map(atLines -> {
-                        List<String> atLinesWithRest = new ArrayList<>(atLines);
-                        atLinesWithRest.addAll(args);
-                        return atLinesWithRest;
-                    });
+            byte[] bytes = Files.readAllBytes(path);
+            ByteTokenizer tokenizer = new ByteTokenizer(bytes);
+            List<String> atLinesWithRest = tokenizer.tokenize();
+            if (atLinesWithRest == null) {
+                return left(new AtFileReadError(malformedInput(bytes), path));
+            }
+            NumberedLineResult error = tokenizer.error();
+            if (error != null) {
+                return left(syntaxError(path, error));
+            }
+            atLinesWithRest.addAll(rest);
+            return right(atLinesWithRest);
         } catch (Exception e) {
             return left(new AtFileReadError(e, path));
         }
     }
 
+    /**
+     * Returns the exception that a {@link BufferedReader} would throw
+     * when reading the {@code @-file}, if its bytes are not well-formed UTF-8.
+     * The file is never read partially, so a malformed byte is reported
+     * even if it comes after a syntax error.
+     */
+    private static CharacterCodingException malformedInput(byte[] bytes) {
+        try {
+            StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes));
+        } catch (CharacterCodingException e) {
+            return e;
+        }
+        return new MalformedInputException(1); // not reached, the tokenizer found malformed input
+    }
+
+    @Override
+    public LazyExpansion expandLazily() {
+        return LazyExpansion.open(path, args);
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandParallel(ForkJoinPool pool) {
+        return new ParallelExpansion(path, args, ParallelExpansion.CHUNK_SIZE).expand(pool);
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandNested() {
+        List<String> allArgs = new ArrayList<>(args.size() + 1);
+        allArgs.add("@" + path);
+        allArgs.addAll(args);
+        return new NestedExpansion().expand(allArgs);
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandCached() {
+        return expandCached(AtFileCache.nextTo(path));
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandCached(Path cacheDirectory) {
+        return expandCached(AtFileCache.inDirectory(cacheDirectory, path));
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandCached(ExpansionCache cache) {
+        return cache.expand(path, args, () -> expand(List.of()));
+    }
+
+    private Either<? extends AtFileError, List<String>> expandCached(AtFileCache cache) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (Exception e) {
+            return left(new AtFileReadError(e, path));
+        }
+        Optional<List<String>> cached = cache.read(attributes, args);
+        if (cached.isPresent()) {
+            return right(cached.get());
+        }
+        Either<? extends AtFileError, List<String>> result = expand();
+        result.getRight().ifPresent(tokens ->
+                cache.write(attributes, tokens.subList(0, tokens.size() - args.size())));
+        return result;
+    }
+
     Either<NumberedLineResult, List<String>> readAtLines(List<String> lines) {
-        int[] counter = {1};
-        Iterator<NumberedLine> it = lines.stream()
-                .filter(line -> !line.isEmpty())
-                .map(line -> new NumberedLine(counter[0]++, line))
-                .iterator();
-        List<Either<NumberedLineResult, String>> tokens = new ArrayList<>(lines.size());
-        while (it.hasNext()) {
-            tokens.add(readTokenFromAtFile(it));
+        Tokenizer tokenizer = new Tokenizer(lines.iterator());
+        List<String> tokens = new ArrayList<>(lines.size());
+        while (tokenizer.hasNext()) {
+            tokens.add(tokenizer.next());
+        }
+        NumberedLineResult error = tokenizer.error();
+        return error != null ? left(error) : right(tokens);
+    }
+
+    static AtFileSyntaxError syntaxError(Path path, NumberedLineResult error) {
+        return new AtFileSyntaxError(path, error.number, error.lineResult.message());
+    }
+
+    static Exception unwrap(Exception e) {
+        return e instanceof UncheckedIOException ? ((UncheckedIOException) e).getCause() : e;
+    }
+
+    /**
+     * Reads the tokens of an {@code @-file} one at a time,
+     * so that only the current line and token are held in memory.
+     * Empty lines are skipped and do not count as lines.
+     * Iteration stops at the first syntax error,
+     * which is then available via {@link #error()}.
+     * The remaining lines are still read, so that malformed input
+     * after a syntax error is reported, like by {@link ByteTokenizer}.
+     */
+    static final class Tokenizer implements Iterator<String> {
+
+        private final Iterator<String> lines;
+        private int number; // number of nonempty lines read so far
+        private String next;
+        private NumberedLineResult error;
+
+        Tokenizer(Iterator<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && error == null) {
+                next = readToken();
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String result = next;
+            next = null;
+            return result;
+        }
+
+        /**
+         * Returns the number of the line where the most recent token ended.
+         * Empty lines are not counted.
+         *
+         * @return a line number
+         */
+        int lineNumber() {
+            return number;
+        }
+
+        /**
+         * Returns the syntax error that ended the iteration.
+         *
+         * @return a syntax error, or {@code null}
+         */
+        NumberedLineResult error() {
+            return error;
+        }
+
+        private String readToken() {
+            String line = nextLine();
+            if (line == null) {
+                return null;
+            }
+            if (isPlain(line, 0, line.length())) {
+                return line;
+            }
+            StringBuilder sb = new StringBuilder();
+            LineResult esc;
+            do {
+                esc = readLine(line, sb);
+            } while (esc == LineResult.CONTINUE && (line = nextLine()) != null);
+            if (esc.isError()) {
+                error = new NumberedLineResult(number, esc);
+                skipRemainingLines();
+                return null;
+            }
+            if (esc == LineResult.CONTINUE) {
+                error = new NumberedLineResult(number, LineResult.BACKSLASH_BEFORE_EOF);
+                return null;
+            }
+            return sb.toString();
+        }
+
+        private void skipRemainingLines() {
+            while (lines.hasNext()) {
+                lines.next();
+            }
+        }
+
+        private String nextLine() {
+            while (lines.hasNext()) {
+                String line = lines.next();
+                if (!line.isEmpty()) {
+                    number++;
+                    return line;
+                }
+            }
+            return null;
         }
-        return tokens.stream().collect(firstFailure());
     }
 
-    private Either<NumberedLineResult, String> readTokenFromAtFile(Iterator<NumberedLine> it) {
-        StringBuilder sb = new StringBuilder();
-        NumberedLine current;
-        LineResult esc;
-        do {
-            current = it.next();
-            esc = readLine(current.line, sb);
-        } while (esc == LineResult.CONTINUE && it.hasNext());
-        if (esc.isError()) {
-            return left(new NumberedLineResult(current.number, esc));
+    /**
+     * Reads the tokens of an UTF-8 encoded {@code @-file} directly from its bytes.
+     * Line terminators, quotes and backslashes are ASCII characters,
+     * and no byte of a multibyte UTF-8 sequence is an ASCII character,
+     * so the bytes can be scanned without decoding them first.
+     * Each token is decoded once; a token that contains only
+     * ASCII characters is decoded by copying.
+     * The result is the same as with {@link Tokenizer}.
+     */
+    static final class ByteTokenizer {
+
+        private final byte[] bytes;
+        private byte[] token = new byte[64]; // the current token, if it contains quotes or backslashes
+        private int tokenLength;
+        private boolean tokenAscii;
+        private NumberedLineResult error;
+
+        ByteTokenizer(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the tokens, up to the first syntax error,
+         * which is then available via {@link #error()}.
+         *
+         * @return the tokens, or {@code null} if the input is not well-formed UTF-8
+         */
+        List<String> tokenize() {
+            List<String> tokens = new ArrayList<>();
+            int length = bytes.length;
+            int number = 0; // number of nonempty lines read so far
+            boolean continued = false;
+            int pos = 0;
+            while (pos < length) {
+                int start = pos;
+                int end = pos;
+                boolean plain = true;
+                boolean ascii = true;
+                for (; end < length; end++) {
+                    byte b = bytes[end];
+                    if (b == '\n' || b == '\r') {
+                        break;
+                    }
+                    if (b < 0) {
+                        ascii = false;
+                    } else if (b == '\'' || b == '"' || b == '\\') {
+                        plain = false;
+                    }
+                }
+                pos = end;
+                if (pos < length) {
+                    pos++;
+                    if (bytes[end] == '\r' && pos < length && bytes[pos] == '\n') {
+                        pos++;
+                    }
+                }
+                if (end == start) {
+                    continue;
+                }
+                number++;
+                if (!ascii && !isWellFormed(bytes, start, end)) {
+                    return null;
+                }
+                if (plain && !continued) {
+                    tokens.add(decode(bytes, start, end - start, ascii));
+                    continue;
+                }
+                if (!continued) {
+                    tokenLength = 0;
+                    tokenAscii = true;
+                }
+                tokenAscii &= ascii;
+                LineResult result = readLine(start, end);
+                if (result.isError()) {
+                    // malformed input is reported even after a syntax error
+                    if (!isWellFormed(bytes, pos, length)) {
+                        return null;
+                    }
+                    error = new NumberedLineResult(number, result);
+                    return tokens;
+                }
+                continued = result == LineResult.CONTINUE;
+                if (!continued) {
+                    tokens.add(decode(token, 0, tokenLength, tokenAscii));
+                }
+            }
+            if (continued) {
+                error = new NumberedLineResult(number, LineResult.BACKSLASH_BEFORE_EOF);
+            }
+            return tokens;
+        }
+
+        /**
+         * Returns the syntax error that ended the tokenization.
+         *
+         * @return a syntax error, or {@code null}
+         */
+        NumberedLineResult error() {
+            return error;
+        }
+
+        /**
+         * Same as {@link ParseRequestExpand#readLine(CharSequence, int, int, StringBuilder)},
+         * but appends to {@link #token}.
+         */
+        private LineResult readLine(int start, int end) {
+            boolean esc = false;
+            Mode mode = Mode.PLAIN;
+            for (int i = start; i < end; i++) {
+                byte c = bytes[i];
+                if (c == '\'' && mode != Mode.DOUBLE_QUOTE) {
+                    if (esc) {
+                        append((byte) '\'');
+                    } else {
+                        mode = mode.toggle(Mode.SINGLE_QUOTE);
+                    }
+                } else if (mode != Mode.SINGLE_QUOTE && c == '\\') {
+                    if (esc) {
+                        append((byte) '\\');
+                        esc = false;
+                    } else {
+                        esc = true;
+                    }
+                } else if (mode != Mode.SINGLE_QUOTE && !esc && c == '\"') {
+                    mode = mode.toggle(Mode.DOUBLE_QUOTE);
+                } else if (esc) {
+                    append(c >= 0 ? (byte) escapeValue((char) c) : c);
+                    esc = false;
+                } else { // either quoted or not escaped
+                    append(c);
+                }
+            }
+            if (mode != Mode.PLAIN) {
+                return LineResult.UNMATCHED_QUOTE;
+            }
+            return esc ? LineResult.CONTINUE : LineResult.END;
+        }
+
+        private void append(byte b) {
+            if (tokenLength == token.length) {
+                token = Arrays.copyOf(token, 2 * tokenLength);
+            }
+            token[tokenLength++] = b;
         }
-        if (esc == LineResult.CONTINUE && !it.hasNext()) {
-            return left(new NumberedLineResult(current.number, LineResult.BACKSLASH_BEFORE_EOF));
+
+        private static String decode(byte[] bytes, int offset, int length, boolean ascii) {
+            return new String(bytes, offset, length, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns {@code true} if the bytes are well-formed UTF-8,
+         * in the sense of {@link java.nio.charset.CharsetDecoder}:
+         * there are no overlong encodings, no surrogates,
+         * and no code points above {@code U+10FFFF}.
+         */
+        static boolean isWellFormed(byte[] bytes, int start, int end) {
+            int i = start;
+            while (i < end) {
+                int c = bytes[i] & 0xff;
+                if (c < 0x80) {
+                    i++;
+                    continue;
+                }
+                int n; // number of continuation bytes
+                int min = 0x80; // range of the first continuation byte
+                int max = 0xbf;
+                if (c >= 0xc2 && c <= 0xdf) {
+                    n = 1;
+                } else if (c >= 0xe0 && c <= 0xef) {
+                    n = 2;
+                    if (c == 0xe0) {
+                        min = 0xa0;
+                    } else if (c == 0xed) {
+                        max = 0x9f;
+                    }
+                } else if (c >= 0xf0 && c <= 0xf4) {
+                    n = 3;
+                    if (c == 0xf0) {
+                        min = 0x90;
+                    } else if (c == 0xf4) {
+                        max = 0x8f;
+                    }
+                } else {
+                    return false;
+                }
+                if (i + n >= end) {
+                    return false;
+                }
+                int c1 = bytes[i + 1] & 0xff;
+                if (c1 < min || c1 > max) {
+                    return false;
+                }
+                for (int k = 2; k <= n; k++) {
+                    if ((bytes[i + k] & 0xc0) != 0x80) {
+                        return false;
+                    }
+                }
+                i += n + 1;
+            }
+            return true;
         }
-        return right(sb.toString());
     }
 
-    private LineResult readLine(String line, StringBuilder sb) {
+    /**
+     * The lines of a reader.
+     * An {@link IOException} is rethrown as {@link UncheckedIOException}.
+     */
+    static final class LineIterator implements Iterator<String> {
+
+        private final BufferedReader reader;
+        private String next;
+        private boolean done;
+
+        LineIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = reader.readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String result = next;
+            next = null;
+            return result;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the line does not contain quotes
+     * or backslashes, so that it is a token by itself.
+     */
+    static boolean isPlain(CharSequence line, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '\'' || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LineResult readLine(String line, StringBuilder sb) {
+        return readLine(line, 0, line.length(), sb);
+    }
+
+    /**
+     * Appends the unescaped characters of the line to {@code sb}.
+     * The line consists of the characters of {@code chars}
+     * from index {@code start} (inclusive) to {@code end} (exclusive).
+     */
+    static LineResult readLine(CharSequence chars, int start, int end, StringBuilder sb) {
         boolean esc = false;
         Mode mode = Mode.PLAIN;
-        int length = line.length();
-        for (int i = 0; i < length; i++) {
-            char c = line.charAt(i);
+        for (int i = start; i < end; i++) {
+            char c = chars.charAt(i);
             if (c == '\'' && mode != Mode.DOUBLE_QUOTE) {
                 if (esc) {
                     sb.append('\'');
@@ -110,22 +549,12 @@ final class ParseRequestExpand extends ParseRequest {
         }
     }
 
-    private static class NumberedLine {
-        final int number;
-        final String line;
-
-        NumberedLine(int number, String line) {
-            this.number = number;
-            this.line = line;
-        }
-    }
-
     // visible for testing
     static final class NumberedLineResult {
         private final int number;
         private final LineResult lineResult;
 
-        private NumberedLineResult(int number, LineResult lineResult) {
+        NumberedLineResult(int number, LineResult lineResult) {
             this.number = number;
             this.lineResult = lineResult;
         }
@@ -174,7 +603,7 @@ final class ParseRequestExpand extends ParseRequest {
         }
     }
 
-    private char escapeValue(char c) {
+    static char escapeValue(char c) {
         switch (c) {
             case 'n':
                 return '\n';
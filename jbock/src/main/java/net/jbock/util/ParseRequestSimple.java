@@ -2,7 +2,9 @@ package net.jbock.util;
 
 import io.jbock.util.Either;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static io.jbock.util.Either.right;
 
@@ -18,4 +20,34 @@ final class ParseRequestSimple extends ParseRequest {
     public Either<? extends AtFileError, List<String>> expand() {
         return right(args);
     }
+
+    @Override
+    public LazyExpansion expandLazily() {
+        return LazyExpansion.of(args);
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandParallel(ForkJoinPool pool) {
+        return right(args);
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandCached() {
+        return right(args);
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandCached(Path cacheDirectory) {
+        return right(args);
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandCached(ExpansionCache cache) {
+        return right(args);
+    }
+
+    @Override
+    public Either<? extends AtFileError, List<String>> expandNested() {
+        return new NestedExpansion().expand(args);
+    }
 }
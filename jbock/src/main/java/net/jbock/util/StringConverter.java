@@ -60,6 +60,18 @@ public abstract class StringConverter<T> implements Function<String, Either<Conv
      */
     @Override
     public final Either<ConverterFailure, T> apply(String token) {
+        return tryConvert(token);
+    }
+
+    /**
+     * Converts a token, and returns a failure instead of throwing an exception.
+     * This method is overridden by converters that can detect
+     * invalid input without creating an exception.
+     *
+     * @param token a non-null string
+     * @return conversion result
+     */
+    Either<ConverterFailure, T> tryConvert(String token) {
         try {
             T result = convert(token);
             if (result == null) {
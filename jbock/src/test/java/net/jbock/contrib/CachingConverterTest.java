@@ -0,0 +1,119 @@
+package net.jbock.contrib;
+
+import net.jbock.util.ConverterFailure;
+import net.jbock.util.ConverterThrewException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CachingConverterTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Function<String, Pattern> compile = token -> {
+        calls.incrementAndGet();
+        return Pattern.compile(token);
+    };
+
+    @Test
+    void testHit() {
+        CachingConverter<Pattern> converter = CachingConverter.create(compile, 10);
+        Pattern first = convert(converter, "a+");
+        assertSame(first, convert(converter, "a+"));
+        assertEquals(1, calls.get());
+        assertEquals(1, converter.hitCount());
+        assertEquals(1, converter.missCount());
+        assertEquals(0.5, converter.hitRate());
+        assertEquals(1, converter.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsed() {
+        CachingConverter<Pattern> converter = CachingConverter.create(compile, 2);
+        Pattern a = convert(converter, "a");
+        convert(converter, "b");
+        convert(converter, "a");
+        convert(converter, "c"); // evicts b
+        assertSame(a, convert(converter, "a"));
+        convert(converter, "b");
+        assertEquals(4, calls.get());
+        assertEquals(2, converter.evictionCount());
+        assertEquals(2, converter.size());
+    }
+
+    @Test
+    void testFirstInFirstOut() {
+        CachingConverter<Pattern> converter = CachingConverter.create(compile, 2,
+                CachingConverter.Eviction.FIRST_IN_FIRST_OUT);
+        Pattern a = convert(converter, "a");
+        convert(converter, "b");
+        convert(converter, "a");
+        convert(converter, "c"); // evicts a
+        assertNotSame(a, convert(converter, "a"));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void testFailureNotCached() {
+        CachingConverter<Pattern> converter = CachingConverter.create(compile, 10);
+        for (int i = 0; i < 2; i++) {
+            ConverterFailure failure = converter.apply("(").getLeft().orElseThrow();
+            ConverterThrewException e = assertInstanceOf(ConverterThrewException.class, failure);
+            assertInstanceOf(PatternSyntaxException.class, e.exception());
+        }
+        assertEquals(2, calls.get());
+        assertEquals(0, converter.size());
+    }
+
+    @Test
+    void testZeroSize() {
+        CachingConverter<Pattern> converter = CachingConverter.create(compile, 0);
+        convert(converter, "a");
+        convert(converter, "a");
+        assertEquals(2, calls.get());
+        assertEquals(0, converter.size());
+        assertEquals(0, converter.evictionCount());
+    }
+
+    @Test
+    void testConcurrent() throws Exception {
+        CachingConverter<Pattern> converter = CachingConverter.create(compile, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        String token = "x" + (i % 16);
+                        assertEquals(token, convert(converter, token).pattern());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(40_000, converter.hitCount() + converter.missCount());
+        assertEquals(8, converter.size());
+    }
+
+    private static Pattern convert(CachingConverter<Pattern> converter, String token) {
+        return converter.apply(token).getRight().orElseThrow();
+    }
+}
@@ -0,0 +1,78 @@
+package net.jbock.contrib;
+
+import net.jbock.util.ConverterFailure;
+import net.jbock.util.ConverterThrewException;
+import net.jbock.util.StringConverter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EnumConverterTest {
+
+    enum Color {
+        RED, GREEN, Blue
+    }
+
+    enum Size {
+        SMALL("s"), LARGE("L"), HUGE("l");
+
+        private final String label;
+
+        Size(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    @Test
+    void testName() {
+        StringConverter<Color> converter = EnumConverter.create(Color.values());
+        assertSame(Color.RED, convert(converter, "RED"));
+        assertSame(Color.Blue, convert(converter, "Blue"));
+    }
+
+    @Test
+    void testIgnoreCase() {
+        StringConverter<Color> converter = EnumConverter.create(Color::valueOf, Color::values);
+        assertSame(Color.RED, convert(converter, "red"));
+        assertSame(Color.GREEN, convert(converter, "gReEn"));
+        assertSame(Color.Blue, convert(converter, "BLUE"));
+    }
+
+    @Test
+    void testCustomValueOf() {
+        StringConverter<Color> converter = EnumConverter.create(
+                token -> "R".equals(token) ? Color.RED : Color.valueOf(token), Color::values);
+        assertSame(Color.RED, convert(converter, "R"));
+        assertSame(Color.GREEN, convert(converter, "GREEN"));
+        assertSame(Color.Blue, convert(converter, "blue"));
+    }
+
+    @Test
+    void testToString() {
+        StringConverter<Size> converter = EnumConverter.create(Size.values());
+        assertSame(Size.SMALL, convert(converter, "SMALL"));
+        assertSame(Size.SMALL, convert(converter, "S"));
+        assertSame(Size.LARGE, convert(converter, "l")); // first match wins
+        assertSame(Size.HUGE, convert(converter, "HUGE"));
+    }
+
+    @Test
+    void testNoSuchConstant() {
+        StringConverter<Color> converter = EnumConverter.create(Color.values());
+        ConverterFailure failure = converter.apply("yellow").getLeft().orElseThrow();
+        ConverterThrewException e = assertInstanceOf(ConverterThrewException.class, failure);
+        assertEquals("No such constant: YELLOW\nPossible values (ignoring case):\n  RED\n  GREEN\n  BLUE\n",
+                e.exception().getMessage());
+    }
+
+    private static <E> E convert(StringConverter<E> converter, String token) {
+        return converter.apply(token).getRight().orElseThrow();
+    }
+}
@@ -5,8 +5,22 @@ import net.jbock.util.ConverterFailure;
 import net.jbock.util.StringConverter;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StandardConvertersTest {
 
@@ -17,10 +31,49 @@ class StandardConvertersTest {
         assertSame(conv1, conv2);
     }
 
+    @Test
+    void converterInstancesAreReusedConcurrently() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(threads);
+            List<Future<Set<StringConverter<?>>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    Set<StringConverter<?>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+                    for (int j = 0; j < 10_000; j++) {
+                        seen.add(StandardConverters.asInteger());
+                        seen.add(StandardConverters.asLong());
+                        seen.add(StandardConverters.asPath());
+                    }
+                    return seen;
+                }));
+            }
+            Set<StringConverter<?>> all = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<Set<StringConverter<?>>> future : futures) {
+                all.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            assertEquals(3, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void intConverterWorksAsExpected() {
         StringConverter<Integer> conv = StandardConverters.asInteger();
         Either<ConverterFailure, Integer> result = conv.apply("3");
         assertEquals(Either.right(3), result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void simpleConvertersWorkAsExpected() {
+        assertEquals("a", StandardConverters.asString().apply("a").getRight().orElseThrow());
+        assertEquals(Character.valueOf('b'), StandardConverters.asCharacter().apply("b").getRight().orElseThrow());
+        assertEquals(Paths.get("c"), StandardConverters.asPath().apply("c").getRight().orElseThrow());
+        assertEquals(new BigDecimal("1.5"), StandardConverters.asBigDecimal().apply("1.5").getRight().orElseThrow());
+        assertTrue(StandardConverters.asCharacter().apply("de").isLeft());
+        assertTrue(StandardConverters.asBigInteger().apply("1.5").isLeft());
+    }
+}
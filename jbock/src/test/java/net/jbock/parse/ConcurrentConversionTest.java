@@ -0,0 +1,133 @@
+package net.jbock.parse;
+
+import net.jbock.model.CommandModel;
+import net.jbock.model.ItemType;
+import net.jbock.model.Multiplicity;
+import net.jbock.model.Option;
+import net.jbock.model.Parameter;
+import net.jbock.util.ErrConvert;
+import net.jbock.util.ExConvert;
+import net.jbock.util.ExFailure;
+import net.jbock.util.ExMissingItem;
+import net.jbock.util.StringConverter;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrentConversionTest {
+
+    private final StringConverter<Integer> converter = StringConverter.create(Integer::valueOf);
+
+    @Test
+    void testValues() throws ExFailure {
+        ConcurrentConversion conversion = ConcurrentConversion.create(ConcurrentConversion.defaultExecutor());
+        ConcurrentConversion.Value<Integer> required = conversion.convertRequired(converter, "1", ItemType.OPTION, 0);
+        ConcurrentConversion.Value<Optional<Integer>> optional = conversion.convertOptional(converter, "2", ItemType.OPTION, 1);
+        ConcurrentConversion.Value<Optional<Integer>> empty = conversion.convertOptional(converter, null, ItemType.OPTION, 2);
+        ConcurrentConversion.Value<List<Integer>> all = conversion.convertAll(converter, List.of("3", "4"), ItemType.PARAMETER, 0);
+        ConcurrentConversion.Value<List<Integer>> none = conversion.convertAll(converter, null, ItemType.PARAMETER, 1);
+        conversion.await();
+        assertEquals(1, required.get());
+        assertEquals(Optional.of(2), optional.get());
+        assertEquals(Optional.empty(), empty.get());
+        assertEquals(List.of(3, 4), all.get());
+        assertEquals(List.of(), none.get());
+    }
+
+    @Test
+    void testMissingItem() {
+        ConcurrentConversion conversion = ConcurrentConversion.create(Runnable::run);
+        conversion.convertOptional(converter, "1", ItemType.OPTION, 0);
+        conversion.convertRequired(converter, null, ItemType.OPTION, 1);
+        conversion.convertRequired(converter, "x", ItemType.OPTION, 2);
+        assertThrows(ExMissingItem.class, conversion::await);
+    }
+
+    @Test
+    void testFirstFailureInItemOrder() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<String> converted = Collections.synchronizedList(new ArrayList<>());
+            StringConverter<Integer> slow = StringConverter.create(token -> {
+                try {
+                    latch.await(10, TimeUnit.SECONDS); // finishes after the other items
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                converted.add(token);
+                return Integer.valueOf(token);
+            });
+            StringConverter<Integer> fast = StringConverter.create(token -> {
+                converted.add(token);
+                if (converted.size() == 2) {
+                    latch.countDown();
+                }
+                return Integer.valueOf(token);
+            });
+            ConcurrentConversion conversion = ConcurrentConversion.create(executor);
+            conversion.convertRequired(slow, "slow", ItemType.OPTION, 0);
+            conversion.convertAll(fast, List.of("1", "fast"), ItemType.PARAMETER, 0);
+            ExConvert e = assertThrows(ExConvert.class, conversion::await);
+            assertEquals(3, converted.size());
+            assertEquals("slow", converted.get(2));
+            CommandModel model = CommandModel.builder()
+                    .withProgramName("test")
+                    .addOption(Option.unary(Multiplicity.REQUIRED).withParamLabel("SLOW").withNames(List.of("--slow")).build())
+                    .addParameter(Parameter.builder(Multiplicity.REPEATABLE).withParamLabel("FAST").build())
+                    .build();
+            ErrConvert error = assertInstanceOf(ErrConvert.class, e.toError(model));
+            assertEquals(List.of("--slow"), ((Option) error.item()).names());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExistingFiles() throws ExFailure {
+        ConcurrentConversion conversion = ConcurrentConversion.create(ConcurrentConversion.defaultExecutor());
+        ConcurrentConversion.Value<List<File>> all = conversion.convertAllExistingFiles(
+                List.of("/etc/hosts", "/etc"), ItemType.OPTION, 0);
+        ConcurrentConversion.Value<List<File>> none = conversion.convertAllExistingFiles(null, ItemType.OPTION, 1);
+        conversion.await();
+        assertEquals(List.of(new File("/etc/hosts"), new File("/etc")), all.get());
+        assertEquals(List.of(), none.get());
+    }
+
+    @Test
+    void testAllMissingFilesReported() {
+        ConcurrentConversion conversion = ConcurrentConversion.create(Runnable::run);
+        conversion.convertAllExistingFiles(List.of("/nonexistent/a", "/etc", "/nonexistent/b"), ItemType.PARAMETER, 0);
+        ExConvert e = assertThrows(ExConvert.class, conversion::await);
+        CommandModel model = CommandModel.builder()
+                .withProgramName("test")
+                .addParameter(Parameter.builder(Multiplicity.REPEATABLE).withParamLabel("FILES").build())
+                .build();
+        ErrConvert error = assertInstanceOf(ErrConvert.class, e.toError(model));
+        assertEquals("while converting parameter FILES: Paths do not exist: /nonexistent/a, /nonexistent/b",
+                error.message());
+    }
+
+    @Test
+    void testRuntimeException() {
+        StringConverter<Integer> ok = StringConverter.create(Integer::valueOf);
+        ConcurrentConversion conversion = ConcurrentConversion.create(Runnable::run);
+        conversion.convertRequired(ok, "1", ItemType.OPTION, 0);
+        conversion.convertRequired(token -> {
+            throw new IllegalStateException(token);
+        }, "1", ItemType.OPTION, 1);
+        assertThrows(IllegalStateException.class, conversion::await);
+    }
+}
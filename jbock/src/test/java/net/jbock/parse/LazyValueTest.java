@@ -0,0 +1,91 @@
+package net.jbock.parse;
+
+import net.jbock.model.ItemType;
+import net.jbock.util.ExConvert;
+import net.jbock.util.ExMissingItem;
+import net.jbock.util.StringConverter;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LazyValueTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final StringConverter<Integer> converter = StringConverter.create(token -> {
+        calls.incrementAndGet();
+        return Integer.valueOf(token);
+    });
+
+    @Test
+    void testConvertOnce() throws Exception {
+        LazyValue<Integer> required = LazyValue.required(converter, "1", ItemType.OPTION, 0);
+        LazyValue<Optional<Integer>> optional = LazyValue.optional(converter, "2", ItemType.OPTION, 1);
+        LazyValue<Optional<Integer>> empty = LazyValue.optional(converter, null, ItemType.OPTION, 2);
+        LazyValue<List<Integer>> all = LazyValue.all(converter, List.of("3", "4"), ItemType.PARAMETER, 0);
+        LazyValue<List<Integer>> none = LazyValue.all(converter, null, ItemType.PARAMETER, 1);
+        assertEquals(0, calls.get());
+        assertEquals(1, required.get());
+        assertEquals(Optional.of(2), optional.get());
+        assertEquals(Optional.empty(), empty.get());
+        assertEquals(List.of(3, 4), all.get());
+        assertEquals(List.of(), none.get());
+        assertEquals(4, calls.get());
+        assertSame(all.get(), all.get());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void testExistingFiles() throws ExConvert {
+        LazyValue<List<File>> all = LazyValue.convertAllExistingFiles(List.of("/etc/hosts", "/etc"), ItemType.OPTION, 0);
+        LazyValue<List<File>> none = LazyValue.convertAllExistingFiles(null, ItemType.OPTION, 1);
+        LazyValue<List<File>> missing = LazyValue.convertAllExistingFiles(
+                List.of("/nonexistent/a", "/nonexistent/b"), ItemType.OPTION, 2);
+        assertEquals(List.of(new File("/etc/hosts"), new File("/etc")), all.get());
+        assertEquals(List.of(), none.get());
+        assertThrows(ExConvert.class, missing::get);
+    }
+
+    @Test
+    void testMissingItem() {
+        assertThrows(ExMissingItem.class, () -> LazyValue.required(converter, null, ItemType.OPTION, 0));
+    }
+
+    @Test
+    void testFailureNotStored() {
+        LazyValue<List<Integer>> all = LazyValue.all(converter, List.of("1", "x"), ItemType.PARAMETER, 0);
+        assertThrows(ExConvert.class, all::get);
+        assertThrows(ExConvert.class, all::get);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void testConcurrent() throws Exception {
+        LazyValue<Integer> required = LazyValue.required(converter, "1", ItemType.OPTION, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(required::get));
+            }
+            for (Future<Integer> future : futures) {
+                assertEquals(1, future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+}
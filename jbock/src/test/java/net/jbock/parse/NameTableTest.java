@@ -0,0 +1,54 @@
+package net.jbock.parse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NameTableTest {
+
+    @Test
+    void testEmpty() {
+        NameTable table = NameTable.create(List.of());
+        assertEquals(-1, table.get("-a", 2));
+        assertEquals(-1, table.get("", 0));
+    }
+
+    @Test
+    void testUnixPrefix() {
+        NameTable table = NameTable.create(List.of("-a", "-b"));
+        assertEquals(0, table.get("-a", 2));
+        assertEquals(0, table.get("-abc", 2));
+        assertEquals(1, table.get("-b1", 2));
+        assertEquals(-1, table.get("-c", 2));
+    }
+
+    @Test
+    void testGnuPrefix() {
+        NameTable table = NameTable.create(List.of("--alpha", "--alphabet", "-a"));
+        assertEquals(0, table.get("--alpha=1", 7));
+        assertEquals(1, table.get("--alphabet", 10));
+        assertEquals(-1, table.get("--alphab", 8));
+        assertEquals(-1, table.get("--alpha", 6));
+    }
+
+    @Test
+    void testManyNames() {
+        String[] names = new String[100];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "--option" + i;
+        }
+        NameTable table = NameTable.create(List.of(names));
+        for (int i = 0; i < names.length; i++) {
+            String token = names[i] + "=value";
+            assertEquals(i, table.get(token, names[i].length()));
+        }
+    }
+
+    @Test
+    void testDuplicateName() {
+        assertThrows(IllegalArgumentException.class, () -> NameTable.create(List.of("-a", "-a")));
+    }
+}
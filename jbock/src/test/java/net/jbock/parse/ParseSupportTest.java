@@ -0,0 +1,93 @@
+package net.jbock.parse;
+
+import net.jbock.model.ItemType;
+import net.jbock.util.ExConvert;
+import net.jbock.util.ExFailure;
+import net.jbock.util.ExMissingItem;
+import net.jbock.util.StringConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseSupportTest {
+
+    private final StringConverter<Integer> converter = StringConverter.create(Integer::valueOf);
+
+    @Test
+    void testConvertRequired() throws ExFailure {
+        assertEquals(1, ParseSupport.convertRequired(converter, "1", ItemType.OPTION, 0));
+        assertThrows(ExMissingItem.class, () ->
+                ParseSupport.convertRequired(converter, null, ItemType.OPTION, 0));
+        assertThrows(ExConvert.class, () ->
+                ParseSupport.convertRequired(converter, "x", ItemType.OPTION, 0));
+    }
+
+    @Test
+    void testConvertOptional() throws ExFailure {
+        assertEquals(Optional.of(1), ParseSupport.convertOptional(converter, "1", ItemType.PARAMETER, 0));
+        assertEquals(Optional.empty(), ParseSupport.convertOptional(converter, null, ItemType.PARAMETER, 0));
+        assertThrows(ExConvert.class, () ->
+                ParseSupport.convertOptional(converter, "x", ItemType.PARAMETER, 0));
+    }
+
+    @Test
+    void testConvertRequiredPrimitive() throws ExFailure {
+        assertEquals(-1, ParseSupport.convertRequiredInt("-1", ItemType.OPTION, 0));
+        assertEquals(Long.MAX_VALUE, ParseSupport.convertRequiredLong("9223372036854775807", ItemType.OPTION, 0));
+        assertEquals(1.5, ParseSupport.convertRequiredDouble("1.5", ItemType.OPTION, 0));
+        assertThrows(ExMissingItem.class, () ->
+                ParseSupport.convertRequiredInt(null, ItemType.OPTION, 0));
+        assertThrows(ExConvert.class, () ->
+                ParseSupport.convertRequiredInt("2147483648", ItemType.OPTION, 0));
+        assertThrows(ExConvert.class, () ->
+                ParseSupport.convertRequiredLong("1L", ItemType.OPTION, 0));
+        assertThrows(ExConvert.class, () ->
+                ParseSupport.convertRequiredDouble("1.5.", ItemType.OPTION, 0));
+    }
+
+    @Test
+    void testConvertOptionalPrimitive() throws ExFailure {
+        assertEquals(OptionalInt.of(1), ParseSupport.convertOptionalInt("1", ItemType.PARAMETER, 0));
+        assertEquals(OptionalInt.empty(), ParseSupport.convertOptionalInt(null, ItemType.PARAMETER, 0));
+        assertEquals(OptionalLong.of(1), ParseSupport.convertOptionalLong("1", ItemType.PARAMETER, 0));
+        assertEquals(OptionalLong.empty(), ParseSupport.convertOptionalLong(null, ItemType.PARAMETER, 0));
+        assertEquals(OptionalDouble.of(1), ParseSupport.convertOptionalDouble("1", ItemType.PARAMETER, 0));
+        assertEquals(OptionalDouble.empty(), ParseSupport.convertOptionalDouble(null, ItemType.PARAMETER, 0));
+        assertThrows(ExConvert.class, () ->
+                ParseSupport.convertOptionalInt("x", ItemType.PARAMETER, 0));
+    }
+
+    @Test
+    void testConvertAll() throws ExFailure {
+        assertEquals(List.of(1, 2), ParseSupport.convertAll(converter, List.of("1", "2"), ItemType.OPTION, 0));
+        assertEquals(List.of(), ParseSupport.convertAll(converter, List.of(), ItemType.OPTION, 0));
+        assertEquals(List.of(), ParseSupport.convertAll(converter, null, ItemType.OPTION, 0));
+        List<String> converted = new ArrayList<>();
+        StringConverter<String> recording = StringConverter.create(token -> {
+            converted.add(token);
+            return Integer.valueOf(token).toString();
+        });
+        assertThrows(ExConvert.class, () ->
+                ParseSupport.convertAll(recording, List.of("1", "x", "3"), ItemType.OPTION, 0));
+        assertEquals(List.of("1", "x"), converted);
+    }
+
+    @Test
+    void testIsSuspicious() {
+        assertTrue(ParseSupport.isSuspicious("-abc"));
+        assertTrue(ParseSupport.isSuspicious("--alpha"));
+        assertFalse(ParseSupport.isSuspicious("--alpha=1"));
+        assertFalse(ParseSupport.isSuspicious("--"));
+        assertFalse(ParseSupport.isSuspicious("a"));
+    }
+}
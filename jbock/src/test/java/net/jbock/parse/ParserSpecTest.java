@@ -0,0 +1,169 @@
+package net.jbock.parse;
+
+import net.jbock.util.ExToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParserSpecTest {
+
+    private static final Map<String, String> OPTION_NAMES = Map.of(
+            "-a", "A", "--alpha", "A",
+            "-b", "B",
+            "-c", "C", "--charlie", "C");
+
+    private static final Map<String, OptionKind> OPTION_KINDS = Map.of(
+            "A", OptionKind.MODE_FLAG,
+            "B", OptionKind.NON_REPEATABLE,
+            "C", OptionKind.REPEATABLE);
+
+    @Test
+    void testStandard() throws ExToken {
+        ParserSpec<String> spec = ParserSpec.standard(OPTION_NAMES, OPTION_KINDS, 1);
+        ParseResult<String> result = spec.parse(List.of("-ab1", "--charlie=2", "-c3", "x"));
+        assertTrue(result.option("A").findAny().isPresent());
+        assertEquals(List.of("1"), result.option("B").toList());
+        assertEquals(List.of("2", "3"), result.option("C").toList());
+        assertEquals(Optional.of("x"), result.param(0));
+        assertTrue(result.rest().findAny().isEmpty());
+        assertEquals("", result.optionValue("A"));
+        assertEquals("1", result.optionValue("B"));
+        assertEquals("2", result.optionValue("C"));
+        assertEquals(List.of("2", "3"), result.optionValues("C"));
+        assertEquals("x", result.paramValue(0));
+        assertNull(result.paramValue(1));
+        assertEquals(List.of(), result.restValues());
+        assertThrows(ExToken.class, () -> spec.parse(List.of("x", "y")));
+        assertThrows(ExToken.class, () -> spec.parse(List.of("-d")));
+        assertThrows(ExToken.class, () -> spec.parse(List.of("-a", "--alpha")));
+    }
+
+    @Test
+    void testAbsentOptions() throws ExToken {
+        ParserSpec<String> spec = ParserSpec.standard(OPTION_NAMES, OPTION_KINDS, 0);
+        ParseResult<String> result = spec.parse(List.of());
+        assertTrue(result.option("A").findAny().isEmpty());
+        assertTrue(result.option("B").findAny().isEmpty());
+        assertTrue(result.option("C").findAny().isEmpty());
+        assertTrue(result.option("D").findAny().isEmpty());
+        assertNull(result.optionValue("A"));
+        assertNull(result.optionValue("B"));
+        assertNull(result.optionValue("C"));
+        assertEquals(List.of(), result.optionValues("C"));
+        assertEquals(List.of(), result.optionValues("D"));
+    }
+
+    @Test
+    void testVarargsParameter() throws ExToken {
+        ParserSpec<String> spec = ParserSpec.varargsParameter(OPTION_NAMES, OPTION_KINDS, 1);
+        ParseResult<String> result = spec.parse(List.of("x", "y", "--", "-a"));
+        assertTrue(result.option("A").findAny().isEmpty());
+        assertEquals(Optional.of("x"), result.param(0));
+        assertEquals(List.of("y", "-a"), result.rest().toList());
+        assertEquals(List.of("y", "-a"), result.restValues());
+    }
+
+    @Test
+    void testSuperCommand() throws ExToken {
+        ParserSpec<String> spec = ParserSpec.superCommand(OPTION_NAMES, OPTION_KINDS, 1);
+        ParseResult<String> result = spec.parse(List.of("-a", "x", "-b1", "--"));
+        assertTrue(result.option("A").findAny().isPresent());
+        assertTrue(result.option("B").findAny().isEmpty());
+        assertEquals(Optional.of("x"), result.param(0));
+        assertEquals(List.of("-b1", "--"), result.rest().toList());
+    }
+
+    @Test
+    void testManyOptions() throws ExToken {
+        Map<String, Integer> optionNames = new LinkedHashMap<>();
+        Map<Integer, OptionKind> optionKinds = new LinkedHashMap<>();
+        for (int i = 0; i < 150; i++) {
+            optionNames.put("--f" + i, i);
+            optionKinds.put(i, i % 3 == 0 ? OptionKind.REPEATABLE : OptionKind.MODE_FLAG);
+        }
+        ParserSpec<Integer> spec = ParserSpec.standard(optionNames, optionKinds, 0);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 150; i += 2) {
+            if (i % 3 != 0) {
+                tokens.add("--f" + i);
+                continue;
+            }
+            for (int j = 0; j < 10; j++) {
+                tokens.add("--f" + i + "=" + j);
+            }
+        }
+        ParseResult<Integer> result = spec.parse(tokens);
+        for (int i = 0; i < 150; i++) {
+            if (i % 3 == 0) {
+                assertEquals(i % 2 == 0 ? 10 : 0, result.option(i).count());
+            } else {
+                assertEquals(i % 2 == 0 ? 1 : 0, result.option(i).count());
+            }
+        }
+        assertThrows(ExToken.class, () -> spec.parse(List.of("--f149", "--f1", "--f149")));
+    }
+
+    @Test
+    void testEnumKeys() throws ExToken {
+        Map<Kind, OptionKind> optionKinds = new EnumMap<>(Kind.class);
+        optionKinds.put(Kind.FLAG, OptionKind.MODE_FLAG);
+        optionKinds.put(Kind.VALUE, OptionKind.NON_REPEATABLE);
+        optionKinds.put(Kind.VALUES, OptionKind.REPEATABLE);
+        ParserSpec<Kind> spec = ParserSpec.standard(
+                Map.of("-f", Kind.FLAG, "-v", Kind.VALUE, "-w", Kind.VALUES),
+                optionKinds, 0);
+        ParseResult<Kind> result = spec.parse(List.of("-fv1", "-w2", "-w", "3"));
+        assertEquals(List.of(""), result.option(Kind.FLAG).toList());
+        assertEquals(List.of("1"), result.option(Kind.VALUE).toList());
+        assertEquals(List.of("2", "3"), result.option(Kind.VALUES).toList());
+        assertThrows(ExToken.class, () -> spec.parse(List.of("-v1", "-v2")));
+        assertThrows(ExToken.class, () -> spec.parse(List.of("-w")));
+    }
+
+    @Test
+    void testUnknownOptionKind() {
+        assertThrows(IllegalArgumentException.class, () ->
+                ParserSpec.standard(Map.of("-a", "A"), Map.of(), 0));
+    }
+
+    private enum Kind {
+        FLAG, VALUE, VALUES
+    }
+
+    @Test
+    void testConcurrentParsing() throws Exception {
+        ParserSpec<String> spec = ParserSpec.varargsParameter(OPTION_NAMES, OPTION_KINDS, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String n = Integer.toString(i);
+                tasks.add(() -> {
+                    ParseResult<String> result = spec.parse(List.of("-b" + n, "-c", n, "--charlie=" + n, n));
+                    return result.option("B").toList().equals(List.of(n))
+                            && result.option("C").toList().equals(List.of(n, n))
+                            && result.rest().toList().equals(List.of(n));
+                });
+            }
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package net.jbock.parse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static net.jbock.parse.TokenType.ESCAPE;
+import static net.jbock.parse.TokenType.GNU_OPTION;
+import static net.jbock.parse.TokenType.PLAIN;
+import static net.jbock.parse.TokenType.SUSPICIOUS;
+import static net.jbock.parse.TokenType.UNIX_OPTION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenTypeTest {
+
+    private static final Pattern SUSPICIOUS_PATTERN = Pattern.compile("-[a-zA-Z0-9]+|--[a-zA-Z0-9-]+");
+
+    @Test
+    void testClassify() {
+        assertEquals(PLAIN, TokenType.classify(""));
+        assertEquals(PLAIN, TokenType.classify("-"));
+        assertEquals(PLAIN, TokenType.classify("a"));
+        assertEquals(PLAIN, TokenType.classify("a-b"));
+        assertEquals(PLAIN, TokenType.classify("/tmp/-a"));
+        assertEquals(ESCAPE, TokenType.classify("--"));
+        assertEquals(SUSPICIOUS, TokenType.classify("-a"));
+        assertEquals(SUSPICIOUS, TokenType.classify("-abc1"));
+        assertEquals(SUSPICIOUS, TokenType.classify("-1"));
+        assertEquals(SUSPICIOUS, TokenType.classify("--alpha"));
+        assertEquals(SUSPICIOUS, TokenType.classify("--alpha-beta"));
+        assertEquals(SUSPICIOUS, TokenType.classify("---"));
+        assertEquals(UNIX_OPTION, TokenType.classify("-a=1"));
+        assertEquals(UNIX_OPTION, TokenType.classify("-1.5"));
+        assertEquals(UNIX_OPTION, TokenType.classify("-a-"));
+        assertEquals(UNIX_OPTION, TokenType.classify("-\u00e4"));
+        assertEquals(GNU_OPTION, TokenType.classify("--alpha=1"));
+        assertEquals(GNU_OPTION, TokenType.classify("--alpha="));
+        assertEquals(GNU_OPTION, TokenType.classify("--\u00e4"));
+    }
+
+    @Test
+    void testSuspiciousAgreesWithPattern() {
+        List<String> tokens = List.of("", "-", "--", "---", "-a", "-ab", "-a1", "-a.",
+                "-_", "--a", "--a-", "--a_", "--a=b", "-a=b", "a", "-Z9", "-9Z", "--9-Z", "-\u00e4");
+        for (String token : tokens) {
+            assertEquals(SUSPICIOUS_PATTERN.matcher(token).matches(),
+                    TokenType.classify(token) == SUSPICIOUS, token);
+        }
+    }
+}
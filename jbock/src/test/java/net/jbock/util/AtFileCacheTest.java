@@ -0,0 +1,73 @@
+package net.jbock.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtFileCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testWriteAndRead() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("'a b'", "c\\", "d", "\u00fc"));
+        ParseRequest request = ParseRequest.from(List.of("@" + file, "x"));
+        List<String> expected = List.of("a b", "cd", "\u00fc", "x");
+        assertEquals(expected, request.expandCached().getRight().orElseThrow());
+        assertTrue(Files.exists(dir.resolve("args.jbock")));
+        assertEquals(expected, request.expandCached().getRight().orElseThrow());
+    }
+
+    @Test
+    void testCacheIsUsed() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("a"));
+        ParseRequest request = ParseRequest.from(List.of("@" + file, "x"));
+        request.expandCached(dir.resolve("cache"));
+        AtFileCache cache = AtFileCache.inDirectory(dir.resolve("cache"), file);
+        assertTrue(Files.exists(cache.cacheFile()));
+        cache.write(attributes(file), List.of("from cache"));
+        assertEquals(List.of("from cache", "x"), request.expandCached(dir.resolve("cache")).getRight().orElseThrow());
+    }
+
+    @Test
+    void testInvalidatedByModification() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("a"));
+        ParseRequest request = ParseRequest.from(List.of("@" + file));
+        assertEquals(List.of("a"), request.expandCached().getRight().orElseThrow());
+        Files.write(file, List.of("b"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        assertEquals(List.of("b"), request.expandCached().getRight().orElseThrow());
+    }
+
+    @Test
+    void testCorruptCacheFile() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("a"));
+        AtFileCache cache = AtFileCache.nextTo(file);
+        Files.write(cache.cacheFile(), new byte[]{0x6a, 0x62, 0x6b, 0x31, 1, 2});
+        assertFalse(cache.read(attributes(file), List.of()).isPresent());
+        assertEquals(List.of("a"), ParseRequest.from(List.of("@" + file)).expandCached().getRight().orElseThrow());
+        assertEquals(List.of("a"), cache.read(attributes(file), List.of()).orElseThrow());
+    }
+
+    @Test
+    void testSyntaxErrorIsNotCached() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("'a"));
+        assertTrue(ParseRequest.from(List.of("@" + file)).expandCached().isLeft());
+        assertFalse(Files.exists(AtFileCache.nextTo(file).cacheFile()));
+    }
+
+    private static BasicFileAttributes attributes(Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+}
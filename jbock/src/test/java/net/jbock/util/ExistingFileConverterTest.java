@@ -0,0 +1,119 @@
+package net.jbock.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExistingFileConverterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSingle() throws IOException {
+        Path file = Files.createFile(dir.resolve("a"));
+        ExistingFileConverter converter = ExistingFileConverter.create();
+        assertEquals(file.toFile(), converter.apply(file.toString()).getRight().orElseThrow());
+        String missing = dir.resolve("b").toString();
+        ConverterFailure failure = converter.apply(missing).getLeft().orElseThrow();
+        assertEquals("Path does not exist: " + missing, failure.converterMessage());
+        ConverterThrewException e = assertInstanceOf(ConverterThrewException.class, failure);
+        assertInstanceOf(IllegalStateException.class, e.exception());
+    }
+
+    @Test
+    void testAllExist() throws IOException {
+        Path sub = Files.createDirectory(dir.resolve("sub"));
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            tokens.add(Files.createFile(dir.resolve("f" + i)).toString());
+        }
+        tokens.add(Files.createFile(sub.resolve("g")).toString());
+        tokens.add(sub.toString());
+        tokens.add(sub + File.separator + ".");
+        tokens.add(sub + File.separator + "..");
+        List<File> files = ExistingFileConverter.convertAll(tokens).getRight().orElseThrow();
+        assertEquals(tokens.size(), files.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            assertEquals(new File(tokens.get(i)), files.get(i));
+        }
+    }
+
+    @Test
+    void testAllMissingReported() throws IOException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tokens.add(Files.createFile(dir.resolve("f" + i)).toString());
+        }
+        String missing1 = dir.resolve("x").toString();
+        String missing2 = dir.resolve("nodir").resolve("y").toString();
+        String missing3 = dir.resolve("f0").resolve("z").toString(); // parent is not a directory
+        tokens.add(3, missing1);
+        tokens.add(missing2);
+        tokens.add(missing3);
+        ConverterFailure failure = ExistingFileConverter.convertAll(tokens).getLeft().orElseThrow();
+        assertEquals("Paths do not exist: " + missing1 + ", " + missing2 + ", " + missing3,
+                failure.converterMessage());
+    }
+
+    @Test
+    void testSymbolicLinksInListing() throws IOException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tokens.add(Files.createFile(dir.resolve("f" + i)).toString());
+        }
+        String link = Files.createSymbolicLink(dir.resolve("link"), dir.resolve("f0")).toString();
+        String dangling = Files.createSymbolicLink(dir.resolve("dangling"), dir.resolve("nothing")).toString();
+        tokens.add(link);
+        tokens.add(dangling);
+        // the listing does not follow links, so a broken link is accepted
+        assertEquals(tokens.size(), ExistingFileConverter.convertAll(tokens).getRight().orElseThrow().size());
+        assertTrue(ExistingFileConverter.create().apply(dangling).isLeft());
+        // without the listing, the broken link is rejected
+        ConverterFailure failure = ExistingFileConverter.convertAll(List.of(link, dangling)).getLeft().orElseThrow();
+        assertEquals("Path does not exist: " + dangling, failure.converterMessage());
+    }
+
+    @Test
+    void testLargeDirectory() throws IOException {
+        for (int i = 0; i < 5000; i++) {
+            Files.createFile(dir.resolve("e" + i));
+        }
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tokens.add(dir.resolve("e" + (i * 241)).toString());
+        }
+        String missing = dir.resolve("x").toString();
+        tokens.add(missing);
+        ConverterFailure failure = ExistingFileConverter.convertAll(tokens).getLeft().orElseThrow();
+        assertEquals("Path does not exist: " + missing, failure.converterMessage());
+        tokens.remove(missing);
+        assertEquals(tokens.size(), ExistingFileConverter.convertAll(tokens).getRight().orElseThrow().size());
+    }
+
+    @Test
+    void testMutableResult() throws IOException {
+        List<String> tokens = List.of(Files.createFile(dir.resolve("a")).toString());
+        List<File> files = ExistingFileConverter.convertAll(tokens).getRight().orElseThrow();
+        files.add(new File("b"));
+        assertEquals(2, files.size());
+    }
+
+    @Test
+    void testOneMissing() {
+        String missing = dir.resolve("x").toString();
+        ConverterFailure failure = ExistingFileConverter.convertAll(List.of(dir.toString(), missing))
+                .getLeft().orElseThrow();
+        assertEquals("Path does not exist: " + missing, failure.converterMessage());
+    }
+}
@@ -0,0 +1,84 @@
+package net.jbock.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpansionCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testHitAndMiss() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("'a b'", "c"));
+        ExpansionCache cache = ExpansionCache.create(100);
+        List<String> first = ParseRequest.from(List.of("@" + file, "x")).expandCached(cache).getRight().orElseThrow();
+        List<String> second = ParseRequest.from(List.of("@" + dir.resolve(".").resolve("args"), "y"))
+                .expandCached(cache).getRight().orElseThrow();
+        assertEquals(List.of("a b", "c", "x"), first);
+        assertEquals(List.of("a b", "c", "y"), second);
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testImmutable() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("a"));
+        ExpansionCache cache = ExpansionCache.create(100);
+        List<String> tokens = ParseRequest.from(List.of("@" + file)).expandCached(cache).getRight().orElseThrow();
+        assertThrows(UnsupportedOperationException.class, () -> tokens.add("b"));
+        assertSame(tokens, ParseRequest.from(List.of("@" + file)).expandCached(cache).getRight().orElseThrow());
+    }
+
+    @Test
+    void testInvalidatedByModification() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("a"));
+        ExpansionCache cache = ExpansionCache.create(100);
+        ParseRequest request = ParseRequest.from(List.of("@" + file));
+        assertEquals(List.of("a"), request.expandCached(cache).getRight().orElseThrow());
+        Files.write(file, List.of("bb"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        assertEquals(List.of("bb"), request.expandCached(cache).getRight().orElseThrow());
+        assertEquals(2, cache.missCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testEviction() throws IOException {
+        Path a = Files.write(dir.resolve("a"), List.of("1", "2"));
+        Path b = Files.write(dir.resolve("b"), List.of("3", "4"));
+        Path c = Files.write(dir.resolve("c"), List.of("5", "6"));
+        ExpansionCache cache = ExpansionCache.create(4);
+        ParseRequest.from(List.of("@" + a)).expandCached(cache);
+        ParseRequest.from(List.of("@" + b)).expandCached(cache);
+        ParseRequest.from(List.of("@" + a)).expandCached(cache); // b is now least recently used
+        ParseRequest.from(List.of("@" + c)).expandCached(cache);
+        assertEquals(1, cache.evictionCount());
+        assertEquals(2, cache.size());
+        ParseRequest.from(List.of("@" + a)).expandCached(cache);
+        assertEquals(2, cache.hitCount());
+        ParseRequest.from(List.of("@" + b)).expandCached(cache);
+        assertEquals(4, cache.missCount());
+    }
+
+    @Test
+    void testErrorsAreNotCached() throws IOException {
+        Path file = Files.write(dir.resolve("args"), List.of("'a"));
+        ExpansionCache cache = ExpansionCache.create(100);
+        assertTrue(ParseRequest.from(List.of("@" + file)).expandCached(cache).isLeft());
+        assertTrue(ParseRequest.from(List.of("@" + dir.resolve("missing"))).expandCached(cache).isLeft());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,133 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+import net.jbock.model.CommandModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyExpansionTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSameAsExpand() throws IOException {
+        Path file = write("", "1", "", "2\\\"\\ \\\\3\\", "  4 ", "'a b'", "\"\\n\"", "");
+        List<String> args = List.of("@" + file, "x", "y");
+        List<String> expected = ParseRequest.from(args).expand().getRight().orElseThrow();
+        assertEquals(List.of("1", "2\" \\3  4 ", "a b", "\n", "x", "y"), expected);
+        try (LazyExpansion tokens = ParseRequest.from(args).expandLazily()) {
+            assertEquals(expected, drain(tokens));
+            assertTrue(tokens.finish().isEmpty());
+        }
+    }
+
+    @Test
+    void testNoAtFile() {
+        try (LazyExpansion tokens = ParseRequest.from(List.of("a", "@b")).expandLazily()) {
+            assertEquals(List.of("a", "@b"), drain(tokens));
+            assertTrue(tokens.finish().isEmpty());
+        }
+    }
+
+    @Test
+    void testSyntaxError() throws IOException {
+        Path file = write("1", "", "'2", "3");
+        try (LazyExpansion tokens = ParseRequest.from(List.of("@" + file, "x")).expandLazily()) {
+            assertEquals(List.of("1"), drain(tokens));
+            AtFileError error = tokens.finish().orElseThrow();
+            assertEquals("while reading " + file + ": at line 2: unmatched quote", message(error));
+        }
+    }
+
+    @Test
+    void testSyntaxErrorAfterEarlyStop() throws IOException {
+        Path file = write("1", "2", "3\\");
+        try (LazyExpansion tokens = ParseRequest.from(List.of("@" + file)).expandLazily()) {
+            assertEquals("1", tokens.next());
+            AtFileError error = tokens.finish().orElseThrow();
+            assertEquals("while reading " + file + ": at line 3: backslash at end of file", message(error));
+            assertFalse(tokens.hasNext());
+        }
+    }
+
+    @Test
+    void testMalformedAfterSyntaxError() throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.writeBytes("1\n'unmatched\n".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 2000; i++) {
+            content.writeBytes("line\n".getBytes(StandardCharsets.UTF_8));
+        }
+        content.write(0x80);
+        Path file = Files.write(dir.resolve("args"), content.toByteArray());
+        List<String> args = List.of("@" + file);
+        AtFileError expected = ParseRequest.from(args).expand().getLeft().orElseThrow();
+        assertInstanceOf(AtFileReadError.class, expected);
+        try (LazyExpansion tokens = ParseRequest.from(args).expandLazily()) {
+            assertEquals(List.of("1"), drain(tokens));
+            assertEquals(message(expected), message(tokens.finish().orElseThrow()));
+        }
+        try (LazyExpansion tokens = ParseRequest.from(args).expandLazily()) {
+            assertEquals("1", tokens.next());
+            assertEquals(message(expected), message(tokens.finish().orElseThrow()));
+        }
+        assertEquals(message(expected), message(ParseRequest.from(args).expandNested().getLeft().orElseThrow()));
+    }
+
+    @Test
+    void testMissingFile() {
+        Path file = dir.resolve("missing");
+        try (LazyExpansion tokens = ParseRequest.from(List.of("@" + file, "x")).expandLazily()) {
+            assertFalse(tokens.hasNext());
+            AtFileError error = tokens.finish().orElseThrow();
+            assertInstanceOf(AtFileReadError.class, error);
+        }
+    }
+
+    @Test
+    void testFinishWithResult() throws IOException {
+        Path file = write("'1");
+        try (LazyExpansion tokens = ParseRequest.from(List.of("@" + file)).expandLazily()) {
+            Either<ParsingFailed, String> result = tokens.finish(Either.right("ok"), this::model);
+            assertTrue(result.isLeft());
+            assertInstanceOf(ErrAtFile.class, result.getLeft().orElseThrow());
+        }
+        try (LazyExpansion tokens = ParseRequest.from(List.of("1")).expandLazily()) {
+            Either<ParsingFailed, String> result = tokens.finish(Either.right("ok"), this::model);
+            assertEquals("ok", result.getRight().orElseThrow());
+        }
+    }
+
+    private String message(AtFileError error) {
+        return error.addModel(model()).message();
+    }
+
+    private CommandModel model() {
+        return CommandModel.builder().withProgramName("test").build();
+    }
+
+    private Path write(String... lines) throws IOException {
+        return Files.write(dir.resolve("args"), List.of(lines));
+    }
+
+    private static List<String> drain(LazyExpansion tokens) {
+        List<String> result = new ArrayList<>();
+        while (tokens.hasNext()) {
+            result.add(tokens.next());
+        }
+        return result;
+    }
+}
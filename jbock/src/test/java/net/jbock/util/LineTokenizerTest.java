@@ -0,0 +1,113 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineTokenizerTest {
+
+    @Test
+    void testPlain() {
+        assertEquals(List.of("git", "commit", "-m", "x"), split("  git commit\t-m x \n"));
+        assertEquals(List.of(), split(" \t "));
+        assertEquals(List.of(), split(""));
+    }
+
+    @Test
+    void testQuotes() {
+        assertEquals(List.of("a b", "c\\n", "d\"e", "", ""), split("'a b' 'c\\n' \"d\\\"e\" '' \"\""));
+        assertEquals(List.of("ab c'd"), split("a\"b c'\"d"));
+        assertEquals(List.of("a\nb"), split("'a\nb'"));
+    }
+
+    @Test
+    void testEscapes() {
+        assertEquals(List.of("a b", "\t", "\\", "x"), split("a\\ b \\t \\\\ \\x"));
+    }
+
+    @Test
+    void testContinuation() {
+        assertEquals(List.of("ab", "c"), split("a\\\nb \\\r\n c"));
+        assertEquals(List.of("a", "b"), split("a \\\n\\\nb"));
+    }
+
+    @Test
+    void testErrors() {
+        assertEquals("at index 2: unmatched quote", LineTokenizer.split("a 'b").getLeft().orElseThrow());
+        assertEquals("at index 2: unmatched quote", LineTokenizer.split("a \"b\\\"").getLeft().orElseThrow());
+        assertEquals("at index 2: backslash at end of input", LineTokenizer.split("a b\\").getLeft().orElseThrow());
+    }
+
+    @Test
+    void testOffsets() {
+        String source = " ab 'c d'  e";
+        LineTokenizer tokenizer = LineTokenizer.of(source);
+        assertTrue(tokenizer.next());
+        assertEquals(1, tokenizer.start());
+        assertEquals(3, tokenizer.end());
+        assertTrue(tokenizer.isVerbatim());
+        assertTrue(tokenizer.next());
+        assertEquals(4, tokenizer.start());
+        assertEquals(9, tokenizer.end());
+        assertFalse(tokenizer.isVerbatim());
+        assertEquals("c d", tokenizer.token());
+        assertTrue(tokenizer.next());
+        assertEquals("e", tokenizer.token());
+        assertFalse(tokenizer.next());
+        assertTrue(tokenizer.error().isEmpty());
+        assertThrows(NoSuchElementException.class, tokenizer::start);
+    }
+
+    @Test
+    void testRegion() {
+        CharBuffer source = CharBuffer.wrap("xx a 'b' yy");
+        LineTokenizer tokenizer = LineTokenizer.of(source, 2, 8);
+        assertTrue(tokenizer.next());
+        assertEquals("a", tokenizer.value().toString());
+        assertTrue(tokenizer.next());
+        assertEquals("b", tokenizer.value().toString());
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    void testEscapedSingleQuote() {
+        assertEquals(List.of("'\n", "'\t", "'"), split("\\'n \\'t \"\\'\""));
+        assertEquals("at index 0: backslash at end of input", LineTokenizer.split("\\'").getLeft().orElseThrow());
+    }
+
+    @Test
+    void testSameAsAtFileLine() {
+        Random random = new Random(1);
+        char[] alphabet = {'a', 'n', '\\', '\\', '\'', '"'};
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder line = new StringBuilder();
+            int length = 1 + random.nextInt(10);
+            for (int j = 0; j < length; j++) {
+                line.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            StringBuilder expected = new StringBuilder();
+            ParseRequestExpand.LineResult result = ParseRequestExpand.readLine(line, 0, line.length(), expected);
+            Either<String, List<String>> actual = LineTokenizer.split(line);
+            if (result == ParseRequestExpand.LineResult.END) {
+                assertEquals(List.of(expected.toString()), actual.getRight().orElseThrow(), line.toString());
+            } else if (result == ParseRequestExpand.LineResult.CONTINUE) {
+                assertEquals("at index 0: backslash at end of input", actual.getLeft().orElseThrow(), line.toString());
+            } else {
+                assertEquals("at index 0: " + result.message(), actual.getLeft().orElseThrow(), line.toString());
+            }
+        }
+    }
+
+    private static List<String> split(String source) {
+        return LineTokenizer.split(source).getRight().orElseThrow();
+    }
+}
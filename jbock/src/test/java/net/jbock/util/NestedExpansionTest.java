@@ -0,0 +1,91 @@
+package net.jbock.util;
+
+import net.jbock.model.CommandModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class NestedExpansionTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testNested() throws IOException {
+        Files.createDirectories(dir.resolve("common"));
+        write("common/base", "-v", "'a b'");
+        write("common/more", "@base", "c");
+        write("top", "1", "@common/more", "2", "@common/base");
+        List<String> tokens = ParseRequest.from(List.of("x", "@" + dir.resolve("top"), "y")).expandNested()
+                .getRight().orElseThrow();
+        assertEquals(List.of("x", "1", "-v", "a b", "c", "2", "-v", "a b", "y"), tokens);
+    }
+
+    @Test
+    void testFirstToken() throws IOException {
+        write("a", "1", "@b");
+        write("b", "2");
+        List<String> tokens = ParseRequest.from(List.of("@" + dir.resolve("a"), "3")).expandNested()
+                .getRight().orElseThrow();
+        assertEquals(List.of("1", "2", "3"), tokens);
+    }
+
+    @Test
+    void testEscape() throws IOException {
+        write("a", "@@b", "@");
+        List<String> tokens = ParseRequest.from(List.of("@" + dir.resolve("a"), "@@c")).expandNested()
+                .getRight().orElseThrow();
+        assertEquals(List.of("@b", "@", "@c"), tokens);
+    }
+
+    @Test
+    void testCycle() throws IOException {
+        write("a", "1", "", "@b");
+        write("b", "@c");
+        write("c", "2", "@a");
+        AtFileError error = ParseRequest.from(List.of("@" + dir.resolve("a"))).expandNested()
+                .getLeft().orElseThrow();
+        assertEquals("while reading " + dir.resolve("c") + ": at line 2: cyclic reference: @a", message(error));
+    }
+
+    @Test
+    void testSelfReference() throws IOException {
+        write("a", "@a");
+        AtFileError error = ParseRequest.from(List.of("@" + dir.resolve("a"))).expandNested()
+                .getLeft().orElseThrow();
+        assertEquals("while reading " + dir.resolve("a") + ": at line 1: cyclic reference: @a", message(error));
+    }
+
+    @Test
+    void testNestedSyntaxError() throws IOException {
+        write("a", "@b");
+        write("b", "1", "'2");
+        AtFileError error = ParseRequest.from(List.of("@" + dir.resolve("a"))).expandNested()
+                .getLeft().orElseThrow();
+        assertEquals("while reading " + dir.resolve("b") + ": at line 2: unmatched quote", message(error));
+    }
+
+    @Test
+    void testMissingNestedFile() throws IOException {
+        write("a", "@b");
+        AtFileError error = ParseRequest.from(List.of("@" + dir.resolve("a"))).expandNested()
+                .getLeft().orElseThrow();
+        assertInstanceOf(AtFileReadError.class, error);
+        assertEquals(dir.resolve("b"), error.file());
+    }
+
+    private String message(AtFileError error) {
+        return error.addModel(CommandModel.builder().withProgramName("test").build()).message();
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(dir.resolve(name), List.of(lines));
+    }
+}
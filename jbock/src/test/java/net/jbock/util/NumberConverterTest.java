@@ -0,0 +1,83 @@
+package net.jbock.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class NumberConverterTest {
+
+    private static final List<String> INTEGERS = List.of(
+            "0", "1", "-1", "+1", "007", "-0", "", "+", "-", "--1", "+-1", "1-", "12a", " 1", "1 ",
+            "127", "128", "-128", "-129", "32767", "32768", "-32768", "-32769",
+            "2147483647", "2147483648", "-2147483648", "-2147483649", "99999999999",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "١٢", "1.0", "0x10");
+
+    private static final List<String> FLOATING_POINT = List.of(
+            "0", "1", "-1", "+1", "1.5", " 1.5 ", "\t1.5\n", ".5", "5.", ".", "-.", "1.2.3", "..",
+            "1e3", "1E-3", "1e+3", "1e", "1e+", "e3", "1.5f", "1.5F", "1.5d", "1.5D", "1.5x", "1.5ff",
+            "", "   ", "+", "-", "NaN", "-NaN", "NaNx", "Nan", "Infinity", "-Infinity", "+Infinity",
+            "Infinityx", "Inf", "0x1p3", "0x1.8p1", "0X.8P-1d", "0x1", "0xp3", "0x.p3", "0x1p", "0x1p3x",
+            "0xg", "1e400", "-1e-400", "١", "1_000");
+
+    @Test
+    void testInteger() {
+        for (String token : INTEGERS) {
+            check(token, NumberConverter.ofInteger(), Integer::valueOf);
+        }
+    }
+
+    @Test
+    void testLong() {
+        for (String token : INTEGERS) {
+            check(token, NumberConverter.ofLong(), Long::valueOf);
+        }
+    }
+
+    @Test
+    void testShort() {
+        for (String token : INTEGERS) {
+            check(token, NumberConverter.ofShort(), Short::valueOf);
+        }
+    }
+
+    @Test
+    void testByte() {
+        for (String token : INTEGERS) {
+            check(token, NumberConverter.ofByte(), Byte::valueOf);
+        }
+    }
+
+    @Test
+    void testFloat() {
+        for (String token : FLOATING_POINT) {
+            check(token, NumberConverter.ofFloat(), Float::valueOf);
+        }
+    }
+
+    @Test
+    void testDouble() {
+        for (String token : FLOATING_POINT) {
+            check(token, NumberConverter.ofDouble(), Double::valueOf);
+        }
+    }
+
+    private static <T> void check(String token, NumberConverter<T> converter, Function<String, T> valueOf) {
+        T expected;
+        try {
+            expected = valueOf.apply(token);
+        } catch (NumberFormatException e) {
+            ConverterFailure failure = converter.apply(token).getLeft().orElseThrow();
+            ConverterThrewException threw = assertInstanceOf(ConverterThrewException.class, failure);
+            assertEquals(e.getMessage(), threw.converterMessage(), token);
+            Exception exception = assertInstanceOf(NumberFormatException.class, threw.exception());
+            assertEquals(e.getMessage(), exception.getMessage(), token);
+            return;
+        }
+        assertEquals(expected, converter.apply(token).getRight().orElseThrow(), token);
+    }
+}
@@ -0,0 +1,106 @@
+package net.jbock.util;
+
+import io.jbock.util.Either;
+import net.jbock.model.CommandModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelExpansionTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSameAsExpand() throws IOException {
+        Path file = write("\n1\n\n2\\\"\\ \\\\3\\\n  4 \n'a b'\n\"\\n\"\n\n");
+        List<String> expected = List.of("1", "2\" \\3  4 ", "a b", "\n", "x");
+        for (int chunkSize = 1; chunkSize <= 40; chunkSize++) {
+            assertEquals(expected, expand(file, chunkSize).getRight().orElseThrow());
+        }
+        assertEquals(expected, ParseRequest.from(List.of("@" + file, "x")).expandParallel().getRight().orElseThrow());
+    }
+
+    @Test
+    void testContinuationAcrossChunks() throws IOException {
+        Path file = write("a\\\n\nb\\\nc\r\nd\\\r\n\r\ne\rf");
+        for (int chunkSize = 1; chunkSize <= 20; chunkSize++) {
+            assertEquals(List.of("abc", "de", "f", "x"), expand(file, chunkSize).getRight().orElseThrow());
+        }
+    }
+
+    @Test
+    void testSyntaxError() throws IOException {
+        Path file = write("1\n\n2\n'3\n4");
+        for (int chunkSize = 1; chunkSize <= 12; chunkSize++) {
+            AtFileError error = expand(file, chunkSize).getLeft().orElseThrow();
+            assertEquals("while reading " + file + ": at line 3: unmatched quote", message(error));
+        }
+    }
+
+    @Test
+    void testBackslashBeforeEof() throws IOException {
+        Path file = write("1\n2\\\n\n3\\\n\n");
+        for (int chunkSize = 1; chunkSize <= 12; chunkSize++) {
+            AtFileError error = expand(file, chunkSize).getLeft().orElseThrow();
+            assertEquals("while reading " + file + ": at line 3: backslash at end of file", message(error));
+        }
+    }
+
+    @Test
+    void testRandom() throws IOException {
+        Random random = new Random(1);
+        char[] alphabet = {'a', 'b', ' ', '\\', '\\', '\'', '"', '\n', '\n', '\r', 'n'};
+        for (int i = 0; i < 200; i++) {
+            StringBuilder content = new StringBuilder();
+            int length = random.nextInt(60);
+            for (int j = 0; j < length; j++) {
+                content.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            Path file = write(content.toString());
+            Either<? extends AtFileError, List<String>> expected = ParseRequest.from(List.of("@" + file, "x")).expand();
+            for (int chunkSize = 1; chunkSize <= 16; chunkSize *= 2) {
+                Either<? extends AtFileError, List<String>> actual = expand(file, chunkSize);
+                assertEquals(expected.getRight(), actual.getRight());
+                assertEquals(expected.getLeft().map(this::message), actual.getLeft().map(this::message));
+            }
+        }
+    }
+
+    @Test
+    void testMissingFile() {
+        Path file = dir.resolve("missing");
+        AtFileError error = expand(file, 4).getLeft().orElseThrow();
+        assertInstanceOf(AtFileReadError.class, error);
+    }
+
+    @Test
+    void testNoAtFile() {
+        Either<? extends AtFileError, List<String>> result = ParseRequest.from(List.of("a", "@b")).expandParallel();
+        assertTrue(result.isRight());
+        assertEquals(List.of("a", "@b"), result.getRight().orElseThrow());
+    }
+
+    private Either<? extends AtFileError, List<String>> expand(Path file, int chunkSize) {
+        return new ParallelExpansion(file, List.of("x"), chunkSize).expand(ForkJoinPool.commonPool());
+    }
+
+    private String message(AtFileError error) {
+        return error.addModel(CommandModel.builder().withProgramName("test").build()).message();
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(dir.resolve("args"), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
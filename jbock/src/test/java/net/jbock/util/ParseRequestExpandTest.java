@@ -2,8 +2,13 @@ package net.jbock.util;
 
 import io.jbock.util.Either;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.function.Function;
@@ -11,10 +16,16 @@ import java.util.function.Function;
 import static net.jbock.util.ParseRequestExpand.LineResult.BACKSLASH_BEFORE_EOF;
 import static net.jbock.util.ParseRequestExpand.LineResult.UNMATCHED_QUOTE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ParseRequestExpandTest {
 
+    @TempDir
+    Path dir;
+
     @Test
     void testAtFileSyntax() {
         List<String> lines = List.of(
@@ -143,14 +154,48 @@ class ParseRequestExpandTest {
         assertEquals(List.of("a\"\\n\"bcd"), read(List.of("'a\"\\n\"'b'c'\"\\d\"")));
     }
 
+    @Test
+    void testBytesLineTerminators() {
+        assertEquals(List.of("a", "bc", "d", "e"), readBytes("a\r\nb\\\r\rc\rd\n\ne\r\n"));
+    }
+
+    @Test
+    void testBytesNonAscii() {
+        assertEquals(List.of("\u00fc", "\u20ac \u00fc", "\ud83d\ude00\u00fc"),
+                readBytes("\u00fc\n'\u20ac \u00fc'\n\\\ud83d\ude00\\\n\u00fc"));
+    }
+
+    @Test
+    void testBytesMalformed() {
+        assertNull(new ParseRequestExpand.ByteTokenizer(new byte[]{'a', (byte) 0xc3}).tokenize());
+        assertNull(new ParseRequestExpand.ByteTokenizer(new byte[]{(byte) 0xc0, (byte) 0x80}).tokenize());
+        assertNull(new ParseRequestExpand.ByteTokenizer(new byte[]{(byte) 0xed, (byte) 0xa0, (byte) 0x80}).tokenize());
+        assertNull(new ParseRequestExpand.ByteTokenizer(new byte[]{'\'', '\n', (byte) 0x80}).tokenize());
+    }
+
+    @Test
+    void testMalformedAfterSyntaxError() throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.writeBytes("'unmatched\n".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 2000; i++) {
+            content.writeBytes("line\n".getBytes(StandardCharsets.UTF_8));
+        }
+        content.write(0x80);
+        Path file = Files.write(dir.resolve("args"), content.toByteArray());
+        AtFileError error = ParseRequest.from(List.of("@" + file)).expand().getLeft().orElseThrow();
+        assertInstanceOf(AtFileReadError.class, error);
+    }
+
     private List<String> read(List<String> lines) {
         Path path = Mockito.mock(Path.class);
         Either<ParseRequestExpand.NumberedLineResult, List<String>> either = new ParseRequestExpand(path, List.of())
                 .readAtLines(lines);
         assertTrue(either.isRight());
-        return either.fold(l -> {
+        List<String> tokens = either.fold(l -> {
             throw new RuntimeException("expecting Right");
         }, Function.identity());
+        assertEquals(tokens, readBytes(String.join("\n", lines)));
+        return tokens;
     }
 
     private ParseRequestExpand.NumberedLineResult expectError(List<String> lines) {
@@ -158,8 +203,22 @@ class ParseRequestExpandTest {
         Either<ParseRequestExpand.NumberedLineResult, List<String>> either = new ParseRequestExpand(path, List.of())
                 .readAtLines(lines);
         assertTrue(either.isLeft());
-        return either.fold(Function.identity(), l -> {
+        ParseRequestExpand.NumberedLineResult error = either.fold(Function.identity(), l -> {
             throw new RuntimeException("expecting Left");
         });
+        ParseRequestExpand.ByteTokenizer tokenizer = new ParseRequestExpand.ByteTokenizer(
+                String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        assertNotNull(tokenizer.tokenize());
+        assertEquals(error.number(), tokenizer.error().number());
+        assertEquals(error.lineResult(), tokenizer.error().lineResult());
+        return error;
+    }
+
+    private List<String> readBytes(String content) {
+        ParseRequestExpand.ByteTokenizer tokenizer = new ParseRequestExpand.ByteTokenizer(
+                content.getBytes(StandardCharsets.UTF_8));
+        List<String> tokens = tokenizer.tokenize();
+        assertNull(tokenizer.error());
+        return tokens;
     }
 }